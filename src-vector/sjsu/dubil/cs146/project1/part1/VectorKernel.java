@@ -0,0 +1,174 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Class that implements the matrix kernels with the Vector API, so that the JIT emits AVX2 or AVX-512 instructions
+ * with fused multiply-adds. The micro-kernel computes a block of four rows by two vectors of C, keeping its eight
+ * vector accumulators in registers. This class is only loaded by {@link MatrixKernel#getDefault()} once it has checked
+ * that the jdk.incubator.vector module is present, which needs --add-modules jdk.incubator.vector at run time. It is
+ * kept in its own source root, src-vector, which is compiled with the same option on top of the classes in src, so that
+ * the rest of the project builds without it.
+ */
+class VectorKernel implements MatrixKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int MICRO_ROWS = 4;
+    private static final int MICRO_COLS = 2 * LANES;
+
+    /**
+     * Multiplies one tile, handing every full block of C to the micro-kernel, the columns to the right of the last
+     * full block to a loop over single vectors, and whatever is left to scalar code.
+     */
+    @Override
+    public void multiplyTile(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff, int bStride,
+                             double[] c, int cOff, int cStride) {
+        int mMain = m - (m % MICRO_ROWS);
+        int nMain = n - (n % MICRO_COLS);
+
+        for (int i = 0; i < mMain; i += MICRO_ROWS) {
+            for (int j = 0; j < nMain; j += MICRO_COLS) {
+                microKernel(k, a, aOff + i * aStride, aStride, b, bOff + j, bStride, c, cOff + i * cStride + j, cStride);
+            }
+        }
+
+        if (nMain < n) { // Columns to the right of the last full block
+            multiplyRows(mMain, n - nMain, k, a, aOff, aStride, b, bOff + nMain, bStride, c, cOff + nMain, cStride);
+        }
+        if (mMain < m) { // Rows below the last full block, across the whole width
+            multiplyRows(m - mMain, n, k, a, aOff + mMain * aStride, aStride, b, bOff, bStride,
+                    c, cOff + mMain * cStride, cStride);
+        }
+    }
+
+    /**
+     * Computes a 4 x (2 * LANES) block of C += A * B, broadcasting one element of A at a time and multiplying it into
+     * two vectors loaded from a row of B.
+     */
+    private static void microKernel(int k, double[] a, int aOff, int aStride, double[] b, int bOff, int bStride,
+                                    double[] c, int cOff, int cStride) {
+        DoubleVector c00 = DoubleVector.zero(SPECIES);
+        DoubleVector c01 = DoubleVector.zero(SPECIES);
+        DoubleVector c10 = DoubleVector.zero(SPECIES);
+        DoubleVector c11 = DoubleVector.zero(SPECIES);
+        DoubleVector c20 = DoubleVector.zero(SPECIES);
+        DoubleVector c21 = DoubleVector.zero(SPECIES);
+        DoubleVector c30 = DoubleVector.zero(SPECIES);
+        DoubleVector c31 = DoubleVector.zero(SPECIES);
+
+        int a0 = aOff;
+        int a1 = a0 + aStride;
+        int a2 = a1 + aStride;
+        int a3 = a2 + aStride;
+        int bRow = bOff;
+        for (int p = 0; p < k; p++) {
+            DoubleVector b0 = DoubleVector.fromArray(SPECIES, b, bRow);
+            DoubleVector b1 = DoubleVector.fromArray(SPECIES, b, bRow + LANES);
+
+            DoubleVector x = DoubleVector.broadcast(SPECIES, a[a0 + p]);
+            c00 = x.fma(b0, c00);
+            c01 = x.fma(b1, c01);
+
+            x = DoubleVector.broadcast(SPECIES, a[a1 + p]);
+            c10 = x.fma(b0, c10);
+            c11 = x.fma(b1, c11);
+
+            x = DoubleVector.broadcast(SPECIES, a[a2 + p]);
+            c20 = x.fma(b0, c20);
+            c21 = x.fma(b1, c21);
+
+            x = DoubleVector.broadcast(SPECIES, a[a3 + p]);
+            c30 = x.fma(b0, c30);
+            c31 = x.fma(b1, c31);
+
+            bRow += bStride;
+        }
+
+        int cRow = cOff;
+        addInto(c00, c, cRow);
+        addInto(c01, c, cRow + LANES);
+        cRow += cStride;
+        addInto(c10, c, cRow);
+        addInto(c11, c, cRow + LANES);
+        cRow += cStride;
+        addInto(c20, c, cRow);
+        addInto(c21, c, cRow + LANES);
+        cRow += cStride;
+        addInto(c30, c, cRow);
+        addInto(c31, c, cRow + LANES);
+    }
+
+    /**
+     * Adds a vector to the elements of an array starting at the given index.
+     */
+    private static void addInto(DoubleVector v, double[] c, int index) {
+        DoubleVector.fromArray(SPECIES, c, index).add(v).intoArray(c, index);
+    }
+
+    /**
+     * Computes C += A * B one row at a time in i-k-j order, a vector at a time along each row and scalar at the end.
+     */
+    private static void multiplyRows(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff,
+                                     int bStride, double[] c, int cOff, int cStride) {
+        int nMain = SPECIES.loopBound(n);
+        for (int i = 0; i < m; i++) {
+            int aRow = aOff + i * aStride;
+            int cRow = cOff + i * cStride;
+            for (int p = 0; p < k; p++) {
+                double x = a[aRow + p];
+                int bRow = bOff + p * bStride;
+                DoubleVector xv = DoubleVector.broadcast(SPECIES, x);
+                int j = 0;
+                for (; j < nMain; j += LANES) {
+                    DoubleVector cv = DoubleVector.fromArray(SPECIES, c, cRow + j);
+                    xv.fma(DoubleVector.fromArray(SPECIES, b, bRow + j), cv).intoArray(c, cRow + j);
+                }
+                for (; j < n; j++) {
+                    c[cRow + j] += x * b[bRow + j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void add(int rows, int cols, double[] x, int xOff, int xStride, double[] y, int yOff, int yStride,
+                    double[] z, int zOff, int zStride) {
+        this.lanewise(VectorOperators.ADD, rows, cols, x, xOff, xStride, y, yOff, yStride, z, zOff, zStride);
+    }
+
+    @Override
+    public void sub(int rows, int cols, double[] x, int xOff, int xStride, double[] y, int yOff, int yStride,
+                    double[] z, int zOff, int zStride) {
+        this.lanewise(VectorOperators.SUB, rows, cols, x, xOff, xStride, y, yOff, yStride, z, zOff, zStride);
+    }
+
+    /**
+     * Applies an element-wise operator to two blocks, a vector at a time along each row and scalar at the end.
+     */
+    private void lanewise(VectorOperators.Binary op, int rows, int cols, double[] x, int xOff, int xStride,
+                          double[] y, int yOff, int yStride, double[] z, int zOff, int zStride) {
+        int colsMain = SPECIES.loopBound(cols);
+        boolean isAdd = (op == VectorOperators.ADD);
+        for (int i = 0; i < rows; i++) {
+            int xRow = xOff + i * xStride;
+            int yRow = yOff + i * yStride;
+            int zRow = zOff + i * zStride;
+            int j = 0;
+            for (; j < colsMain; j += LANES) {
+                DoubleVector.fromArray(SPECIES, x, xRow + j)
+                        .lanewise(op, DoubleVector.fromArray(SPECIES, y, yRow + j))
+                        .intoArray(z, zRow + j);
+            }
+            for (; j < cols; j++) {
+                z[zRow + j] = isAdd ? (x[xRow + j] + y[yRow + j]) : (x[xRow + j] - y[yRow + j]);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "vector";
+    }
+}
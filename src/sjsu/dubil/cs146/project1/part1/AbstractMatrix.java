@@ -0,0 +1,350 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that holds the parts of a dense matrix that do not depend on the type of its elements: the shape of a
+ * row-major array described by an offset and a row stride, views of rectangular regions, and the recursion of
+ * Strassen's algorithm with dynamic peeling. The recursion only works on whole blocks, so every loop over elements is
+ * left to the subclasses, which keep their elements in an array of their own primitive type. Nothing is boxed and the
+ * type parameter only appears in calls made once per block.
+ * @param <M> the subclass, which is the type of the operands and results
+ */
+public abstract class AbstractMatrix<M extends AbstractMatrix<M>> {
+    private final int rows;
+    private final int cols;
+    private final int offset; // index of the top left element in the array of the subclass
+    private final int stride; // distance in the array between the starts of two consecutive rows
+
+    /**
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param offset the index of the top left element in the array
+     * @param stride the distance in the array between the starts of two consecutive rows
+     */
+    AbstractMatrix(int rows, int cols, int offset, int stride) {
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * @return the number of rows of the matrix
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return the number of columns of the matrix
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * @return the index of the top left element of this matrix in its array
+     */
+    int getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * @return the distance in the array between the starts of two consecutive rows of this matrix
+     */
+    int getStride() {
+        return this.stride;
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the index of the element at row i and column j in the array
+     */
+    int index(int i, int j) {
+        return this.offset + i * this.stride + j;
+    }
+
+    /**
+     * Returns a view of a rectangular region of this matrix. The view shares its elements with this matrix, so changes
+     * made through either of them are visible in both.
+     * @param row the row of this matrix where the view starts
+     * @param col the column of this matrix where the view starts
+     * @param rows the number of rows of the view
+     * @param cols the number of columns of the view
+     * @return a matrix that reads and writes the given region of this matrix
+     */
+    public M view(int row, int col, int rows, int cols) {
+        if (row < 0 || col < 0 || rows < 0 || cols < 0 || row + rows > this.rows || col + cols > this.cols) {
+            throw new IndexOutOfBoundsException("View " + rows + "x" + cols + " at (" + row + ", " + col
+                    + ") does not fit in a " + this.rows + "x" + this.cols + " matrix");
+        }
+        return this.newView(rows, cols, this.index(row, col));
+    }
+
+    /**
+     * @param rows the number of rows of the view
+     * @param cols the number of columns of the view
+     * @param offset the index of the top left element of the view in the array of this matrix
+     * @return a matrix backed by the same array as this one, with the same stride
+     */
+    abstract M newView(int rows, int cols, int offset);
+
+    /**
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @return a new matrix of the same type as this one, filled with zeros
+     */
+    abstract M newMatrix(int rows, int cols);
+
+    /**
+     * @return the number of bytes each element takes up, used to count the memory allocated
+     */
+    abstract int getElementBytes();
+
+    /**
+     * Helper method for Strassen's matrix multiplication algorithm to make addition simpler. Writes into a matrix
+     * that already exists, which can be a view.
+     * @param other another matrix of the same size as the current matrix
+     * @param result the matrix the sum is written to, of the same size as the current matrix
+     * @return the result matrix
+     */
+    abstract M add(M other, M result);
+
+    /**
+     * Helper method for Strassen's matrix multiplication algorithm to make subtraction simpler. Writes into a matrix
+     * that already exists, which can be a view.
+     * @param other another matrix of the same size as the current matrix
+     * @param result the matrix the difference is written to, of the same size as the current matrix
+     * @return the result matrix
+     */
+    abstract M sub(M other, M result);
+
+    /**
+     * Adds the product of this matrix and another one to a third matrix, which can be a view.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @param result the matrix the product is added to
+     */
+    abstract void multiplyAdd(M other, M result);
+
+    /**
+     * Sets every element of this matrix to zero.
+     */
+    abstract void clear();
+
+    /**
+     * Implements the basic matrix multiplication algorithm. Runs in O(n^3).
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @return the matrix that results from the multiplication of the two matrices
+     */
+    public M multiply(M other) {
+        checkMultiplicable(this.rows, this.cols, other.getRows(), other.getCols());
+        M result = this.newMatrix(this.rows, other.getCols());
+        this.multiplyAdd(other, result);
+        return result;
+    }
+
+    /**
+     * Implements Strassen's algorithm for matrix multiplication. Runs in approximately O(n^2.807). Matrices of any
+     * shape are handled by dynamic peeling: at every level an odd last row or column is split off, the even part is
+     * multiplied recursively, and the peeled parts are fixed up with O(n^2) extra work, so nothing is padded.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @return the matrix that results from the multiplication of the two matrices
+     */
+    public M multiplyStrassen(M other) {
+        checkMultiplicable(this.rows, this.cols, other.getRows(), other.getCols());
+        M result = this.newMatrix(this.rows, other.getCols());
+        this.multiplyStrassen(other, result);
+        return result;
+    }
+
+    /**
+     * Makes sure two matrices can be multiplied.
+     * @param aRows the number of rows of the left operand
+     * @param aCols the number of columns of the left operand
+     * @param bRows the number of rows of the right operand
+     * @param bCols the number of columns of the right operand
+     * @throws IllegalArgumentException if the left operand does not have as many columns as the right one has rows
+     */
+    static void checkMultiplicable(int aRows, int aCols, int bRows, int bCols) {
+        if (aCols != bRows) {
+            throw new IllegalArgumentException("Cannot multiply a " + aRows + "x" + aCols + " matrix by a " + bRows
+                    + "x" + bCols + " matrix");
+        }
+    }
+
+    /**
+     * Recursive part of Strassen's algorithm. The quadrants of both operands and of the result are views, so the only
+     * matrices allocated at each level are the temporaries and the seven products.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @param result the matrix the product is written to, overwriting its contents
+     */
+    void multiplyStrassen(M other, M result) {
+        MatrixMetrics metrics = MatrixMetrics.active; // null unless metrics are enabled, the only cost when they are not
+        if (metrics == null) {
+            this.strassenStep(other, result, null);
+        }
+        else {
+            metrics.profileStrassen(this, other, result);
+        }
+    }
+
+    /**
+     * One level of Strassen's algorithm, whose recursive calls go back through {@link #multiplyStrassen(AbstractMatrix,
+     * AbstractMatrix)}.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @param result the matrix the product is written to, overwriting its contents
+     * @param metrics the metrics the work of this level is added to, or null
+     */
+    void strassenStep(M other, M result, MatrixMetrics metrics) {
+        int m = this.rows;
+        int k = this.cols;
+        int n = other.getCols();
+
+        // base case where recursion ends, once one of the dimensions cannot be split any further
+        if (m <= 1 || k <= 1 || n <= 1) {
+            result.clear();
+            if (metrics == null) {
+                this.multiplyAdd(other, result);
+            }
+            else {
+                metrics.profileKernel(this, other, result);
+            }
+            return;
+        }
+
+        // peeling off an odd last row or column, so that the rest splits evenly
+        if (m % 2 != 0 || k % 2 != 0 || n % 2 != 0) {
+            int mEven = m & ~1;
+            int kEven = k & ~1;
+            int nEven = n & ~1;
+            M a = this.view(0, 0, m, k); // the whole of this matrix, typed as M
+            a.view(0, 0, mEven, kEven).multiplyStrassen(other.view(0, 0, kEven, nEven),
+                    result.view(0, 0, mEven, nEven));
+            multiplyPeeledEdges(a, other, result);
+            if (metrics != null) { // one multiply-add for every term left out of the even part
+                metrics.addFlops(2L * ((long) m * k * n - (long) mEven * kEven * nEven));
+            }
+            return;
+        }
+
+        // splitting the matrices into quadrant views
+        int halfRows = m / 2;
+        int halfInner = k / 2;
+        int halfCols = n / 2;
+        if (metrics != null) { // the 18 additions and subtractions, and the two temporaries and seven products below
+            metrics.addFlops(5L * halfRows * halfInner + 5L * halfInner * halfCols + 8L * halfRows * halfCols);
+            metrics.addBytesAllocated(((long) halfRows * halfInner + (long) halfInner * halfCols
+                    + 7L * halfRows * halfCols) * this.getElementBytes());
+        }
+        M a00 = this.view(0, 0, halfRows, halfInner); // top left
+        M a01 = this.view(0, halfInner, halfRows, halfInner); // top right
+        M a10 = this.view(halfRows, 0, halfRows, halfInner); // bottom left
+        M a11 = this.view(halfRows, halfInner, halfRows, halfInner); // bottom right
+
+        M b00 = other.view(0, 0, halfInner, halfCols);
+        M b01 = other.view(0, halfCols, halfInner, halfCols);
+        M b10 = other.view(halfInner, 0, halfInner, halfCols);
+        M b11 = other.view(halfInner, halfCols, halfInner, halfCols);
+
+        // calculate m1 through m7
+        M temp1 = this.newMatrix(halfRows, halfInner); // used for intermediate operations on quadrants of this
+        M temp2 = this.newMatrix(halfInner, halfCols); // used for intermediate operations on quadrants of other
+
+        // m1 = (a00 + a11) * (b00 + b11)
+        M m1 = this.newMatrix(halfRows, halfCols);
+        a00.add(a11, temp1).multiplyStrassen(b00.add(b11, temp2), m1);
+
+        // m2 = (a10 + a11) * b00
+        M m2 = this.newMatrix(halfRows, halfCols);
+        a10.add(a11, temp1).multiplyStrassen(b00, m2);
+
+        // m3 = a00 * (b01 - b11)
+        M m3 = this.newMatrix(halfRows, halfCols);
+        a00.multiplyStrassen(b01.sub(b11, temp2), m3);
+
+        // m4 = a11 * (b10 - b00)
+        M m4 = this.newMatrix(halfRows, halfCols);
+        a11.multiplyStrassen(b10.sub(b00, temp2), m4);
+
+        // m5 = (a00 + a01) * b11
+        M m5 = this.newMatrix(halfRows, halfCols);
+        a00.add(a01, temp1).multiplyStrassen(b11, m5);
+
+        // m6 = (a10 - a00) * (b00 + b01)
+        M m6 = this.newMatrix(halfRows, halfCols);
+        a10.sub(a00, temp1).multiplyStrassen(b00.add(b01, temp2), m6);
+
+        // m7 = (a01 - a11) * (b10 + b11)
+        M m7 = this.newMatrix(halfRows, halfCols);
+        a01.sub(a11, temp1).multiplyStrassen(b10.add(b11, temp2), m7);
+
+        // using these to write the quadrants of the result directly into it
+        combineStrassenProducts(m1, m2, m3, m4, m5, m6, m7, result);
+    }
+
+    /**
+     * Second half of dynamic peeling. Given a result whose even top left part already holds the product of the even
+     * top left parts of the operands, adds the contribution of an odd last column of a and computes an odd last column
+     * and row of the result.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param result the m x n result, whose top left (m & ~1) x (n & ~1) part is already filled in
+     * @param <M> the type of the matrices
+     */
+    static <M extends AbstractMatrix<M>> void multiplyPeeledEdges(M a, M b, M result) {
+        int m = a.getRows();
+        int k = a.getCols();
+        int n = b.getCols();
+        int mEven = m & ~1;
+        int kEven = k & ~1;
+        int nEven = n & ~1;
+
+        if (kEven < k) { // rank one update with the peeled column of a and row of b
+            a.view(0, kEven, mEven, 1).multiplyAdd(b.view(kEven, 0, 1, nEven), result.view(0, 0, mEven, nEven));
+        }
+        if (nEven < n) { // peeled column of the result, a matrix-vector product
+            M column = result.view(0, nEven, m, 1);
+            column.clear();
+            a.multiplyAdd(b.view(0, nEven, k, 1), column);
+        }
+        if (mEven < m) { // peeled row of the result, a vector-matrix product
+            M row = result.view(mEven, 0, 1, nEven);
+            row.clear();
+            a.view(mEven, 0, 1, k).multiplyAdd(b.view(0, 0, k, nEven), row);
+        }
+    }
+
+    /**
+     * Final step of Strassen's algorithm, which combines the seven products into the four quadrants of the result.
+     * @param m1 (a00 + a11) * (b00 + b11)
+     * @param m2 (a10 + a11) * b00
+     * @param m3 a00 * (b01 - b11)
+     * @param m4 a11 * (b10 - b00)
+     * @param m5 (a00 + a01) * b11
+     * @param m6 (a10 - a00) * (b00 + b01)
+     * @param m7 (a01 - a11) * (b10 + b11)
+     * @param result the matrix the product is written to, with twice as many rows and columns as the seven products
+     * @param <M> the type of the matrices
+     */
+    static <M extends AbstractMatrix<M>> void combineStrassenProducts(M m1, M m2, M m3, M m4, M m5, M m6, M m7,
+                                                                      M result) {
+        int halfRows = m1.getRows();
+        int halfCols = m1.getCols();
+        M r00 = result.view(0, 0, halfRows, halfCols);
+        M r01 = result.view(0, halfCols, halfRows, halfCols);
+        M r10 = result.view(halfRows, 0, halfRows, halfCols);
+        M r11 = result.view(halfRows, halfCols, halfRows, halfCols);
+
+        // r00 = m1 + m4 - m5 + m7
+        m1.add(m4, r00).add(m7, r00).sub(m5, r00);
+
+        // r01 = m3 + m5
+        m3.add(m5, r01);
+
+        // r10 = m2 + m4
+        m2.add(m4, r10);
+
+        // r11 = m1 + m3 - m2 + m6
+        m1.add(m3, r11).add(m6, r11).sub(m2, r11);
+    }
+}
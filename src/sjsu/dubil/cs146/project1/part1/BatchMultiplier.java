@@ -0,0 +1,211 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.Arrays;
+
+/**
+ * Class that multiplies many small square matrices at once, such as 2x2 to 8x8 transforms. The matrices are packed
+ * row-major, one after another, in arrays owned by the caller, and the products are written into another such array,
+ * so nothing is allocated per product. The sizes that come up most often have kernels of their own: 2x2 is written
+ * out in full, 3x3 and 4x4 keep all of B in locals and loop over the rows of A with a constant trip count the JIT can
+ * unroll, and 8x8 builds each row of C in eight locals. The size is only checked once per batch instead of once per
+ * product, and 8x8 products go through the SIMD micro-kernel of {@link MatrixKernel} when the Vector API is available.
+ */
+public final class BatchMultiplier {
+    private BatchMultiplier() {
+    }
+
+    /**
+     * Multiplies a batch of pairs stored together, each left operand immediately followed by its right operand, and
+     * writes the products one after another.
+     * @param size the number of rows and columns of every matrix
+     * @param count the number of pairs
+     * @param pairs the pairs, 2 * size * size elements each, starting at index 0
+     * @param products the array the products are written to, size * size elements each, starting at index 0
+     */
+    public static void multiplyPairs(int size, int count, double[] pairs, double[] products) {
+        int elements = size * size;
+        multiply(size, count, pairs, 0, 2 * elements, pairs, elements, 2 * elements, products, 0, elements);
+    }
+
+    /**
+     * Multiplies a batch of pairs of square matrices, computing C[i] = A[i] * B[i] for every i below count. The
+     * matrices of each batch are spaced a fixed number of elements apart, so the operands can be packed on their own
+     * or interleaved with each other or with other data.
+     * @param size the number of rows and columns of every matrix
+     * @param count the number of pairs
+     * @param a the array holding the left operands
+     * @param aOffset the index of the first left operand in a
+     * @param aStep the distance in a between the starts of two consecutive left operands
+     * @param b the array holding the right operands
+     * @param bOffset the index of the first right operand in b
+     * @param bStep the distance in b between the starts of two consecutive right operands
+     * @param c the array the products are written to, which must not overlap the operands
+     * @param cOffset the index of the first product in c
+     * @param cStep the distance in c between the starts of two consecutive products
+     */
+    public static void multiply(int size, int count, double[] a, int aOffset, int aStep, double[] b, int bOffset,
+                                int bStep, double[] c, int cOffset, int cStep) {
+        if (size < 1 || count < 0) {
+            throw new IllegalArgumentException("Cannot multiply " + count + " pairs of " + size + "x" + size
+                    + " matrices");
+        }
+        int elements = size * size;
+        checkBatch("left operands", a, aOffset, aStep, count, elements);
+        checkBatch("right operands", b, bOffset, bStep, count, elements);
+        checkBatch("products", c, cOffset, cStep, count, elements);
+
+        // choosing the kernel once, so the loops below only make calls the JIT can inline
+        switch (size) {
+            case 2:
+                for (int t = 0; t < count; t++) {
+                    multiply2(a, aOffset + t * aStep, b, bOffset + t * bStep, c, cOffset + t * cStep);
+                }
+                break;
+            case 3:
+                for (int t = 0; t < count; t++) {
+                    multiply3(a, aOffset + t * aStep, b, bOffset + t * bStep, c, cOffset + t * cStep);
+                }
+                break;
+            case 4:
+                for (int t = 0; t < count; t++) {
+                    multiply4(a, aOffset + t * aStep, b, bOffset + t * bStep, c, cOffset + t * cStep);
+                }
+                break;
+            case 8:
+                MatrixKernel kernel = MatrixKernel.getDefault();
+                if (kernel instanceof ScalarKernel) {
+                    for (int t = 0; t < count; t++) {
+                        multiply8(a, aOffset + t * aStep, b, bOffset + t * bStep, c, cOffset + t * cStep);
+                    }
+                }
+                else { // the SIMD micro-kernel covers an 8x8 product in a few tiles of registers
+                    for (int t = 0; t < count; t++) {
+                        int z = cOffset + t * cStep;
+                        Arrays.fill(c, z, z + 64, 0.0);
+                        kernel.multiplyTile(8, 8, 8, a, aOffset + t * aStep, 8, b, bOffset + t * bStep, 8, c, z, 8);
+                    }
+                }
+                break;
+            default:
+                for (int t = 0; t < count; t++) {
+                    multiplyGeneral(size, a, aOffset + t * aStep, b, bOffset + t * bStep, c, cOffset + t * cStep);
+                }
+        }
+    }
+
+    /**
+     * Makes sure every matrix of a batch lies inside its array.
+     * @param name what the matrices are, for the error message
+     * @param array the array holding the matrices
+     * @param offset the index of the first matrix
+     * @param step the distance between the starts of two consecutive matrices
+     * @param count the number of matrices
+     * @param elements the number of elements of each matrix
+     * @throws IllegalArgumentException if a matrix would start before or end after the array
+     */
+    private static void checkBatch(String name, double[] array, int offset, int step, int count, int elements) {
+        if (count == 0) {
+            return;
+        }
+        long first = offset;
+        long last = offset + (long) (count - 1) * step;
+        if (Math.min(first, last) < 0 || Math.max(first, last) + elements > array.length) {
+            throw new IllegalArgumentException("The " + count + " " + name + " do not fit in an array of "
+                    + array.length + " elements");
+        }
+    }
+
+    /**
+     * Multiplies two 2x2 matrices.
+     */
+    private static void multiply2(double[] a, int x, double[] b, int y, double[] c, int z) {
+        double b00 = b[y], b01 = b[y + 1];
+        double b10 = b[y + 2], b11 = b[y + 3];
+        double a0 = a[x], a1 = a[x + 1];
+        c[z] = a0 * b00 + a1 * b10;
+        c[z + 1] = a0 * b01 + a1 * b11;
+        a0 = a[x + 2];
+        a1 = a[x + 3];
+        c[z + 2] = a0 * b00 + a1 * b10;
+        c[z + 3] = a0 * b01 + a1 * b11;
+    }
+
+    /**
+     * Multiplies two 3x3 matrices.
+     */
+    private static void multiply3(double[] a, int x, double[] b, int y, double[] c, int z) {
+        double b00 = b[y], b01 = b[y + 1], b02 = b[y + 2];
+        double b10 = b[y + 3], b11 = b[y + 4], b12 = b[y + 5];
+        double b20 = b[y + 6], b21 = b[y + 7], b22 = b[y + 8];
+        for (int i = 0; i < 9; i += 3) { // a constant trip count of three, which the JIT unrolls
+            double a0 = a[x + i], a1 = a[x + i + 1], a2 = a[x + i + 2];
+            c[z + i] = a0 * b00 + a1 * b10 + a2 * b20;
+            c[z + i + 1] = a0 * b01 + a1 * b11 + a2 * b21;
+            c[z + i + 2] = a0 * b02 + a1 * b12 + a2 * b22;
+        }
+    }
+
+    /**
+     * Multiplies two 4x4 matrices.
+     */
+    private static void multiply4(double[] a, int x, double[] b, int y, double[] c, int z) {
+        double b00 = b[y], b01 = b[y + 1], b02 = b[y + 2], b03 = b[y + 3];
+        double b10 = b[y + 4], b11 = b[y + 5], b12 = b[y + 6], b13 = b[y + 7];
+        double b20 = b[y + 8], b21 = b[y + 9], b22 = b[y + 10], b23 = b[y + 11];
+        double b30 = b[y + 12], b31 = b[y + 13], b32 = b[y + 14], b33 = b[y + 15];
+        for (int i = 0; i < 16; i += 4) {
+            double a0 = a[x + i], a1 = a[x + i + 1], a2 = a[x + i + 2], a3 = a[x + i + 3];
+            c[z + i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            c[z + i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            c[z + i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            c[z + i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+     * Multiplies two 8x8 matrices. B has too many elements to keep in registers, so each row of C is built up in eight
+     * locals from the eight rows of B, which are read in order.
+     */
+    private static void multiply8(double[] a, int x, double[] b, int y, double[] c, int z) {
+        for (int i = 0; i < 64; i += 8) {
+            double c0 = 0, c1 = 0, c2 = 0, c3 = 0, c4 = 0, c5 = 0, c6 = 0, c7 = 0;
+            for (int p = 0; p < 8; p++) {
+                double value = a[x + i + p];
+                int row = y + 8 * p;
+                c0 += value * b[row];
+                c1 += value * b[row + 1];
+                c2 += value * b[row + 2];
+                c3 += value * b[row + 3];
+                c4 += value * b[row + 4];
+                c5 += value * b[row + 5];
+                c6 += value * b[row + 6];
+                c7 += value * b[row + 7];
+            }
+            c[z + i] = c0;
+            c[z + i + 1] = c1;
+            c[z + i + 2] = c2;
+            c[z + i + 3] = c3;
+            c[z + i + 4] = c4;
+            c[z + i + 5] = c5;
+            c[z + i + 6] = c6;
+            c[z + i + 7] = c7;
+        }
+    }
+
+    /**
+     * Multiplies two square matrices of any other size with the basic algorithm.
+     */
+    private static void multiplyGeneral(int size, double[] a, int x, double[] b, int y, double[] c, int z) {
+        for (int i = 0; i < size; i++) {
+            int aRow = x + i * size;
+            int cRow = z + i * size;
+            for (int j = 0; j < size; j++) {
+                double sum = 0;
+                for (int p = 0; p < size; p++) {
+                    sum += a[aRow + p] * b[y + p * size + j];
+                }
+                c[cRow + j] = sum;
+            }
+        }
+    }
+}
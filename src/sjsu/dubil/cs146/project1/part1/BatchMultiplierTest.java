@@ -0,0 +1,125 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of the batched multiplication of small matrices.
+ */
+public class BatchMultiplierTest {
+    /**
+     * Helper method for the tests, fills an array with random numbers from 1-10.
+     * @param length the length of the array
+     * @return the generated array
+     */
+    private double[] generateRandomArray(int length) {
+        double[] array = new double[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = 1 + (Math.random() * 9);
+        }
+        return array;
+    }
+
+    /**
+     * Helper method that copies one matrix out of a packed array.
+     * @param array the packed array
+     * @param offset the index of the first element of the matrix
+     * @param size the number of rows and columns of the matrix
+     * @return the matrix
+     */
+    private Matrix unpack(double[] array, int offset, int size) {
+        Matrix matrix = new Matrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix.set(i, j, array[offset + i * size + j]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Make sure every kernel, unrolled or not, matches the basic algorithm.
+     */
+    @Test
+    public void testAllSizes() {
+        int count = 5;
+        for (int size = 1; size <= 9; size++) {
+            int elements = size * size;
+            double[] a = generateRandomArray(count * elements);
+            double[] b = generateRandomArray(count * elements);
+            double[] c = new double[count * elements];
+            BatchMultiplier.multiply(size, count, a, 0, elements, b, 0, elements, c, 0, elements);
+
+            for (int t = 0; t < count; t++) {
+                int offset = t * elements;
+                assertEquals("Failure: Size " + size + " not resulting in equal arrays",
+                        unpack(a, offset, size).multiply(unpack(b, offset, size)), unpack(c, offset, size));
+            }
+        }
+    }
+
+    /**
+     * Make sure pairs stored together are split up correctly.
+     */
+    @Test
+    public void testPairs() {
+        int count = 10;
+        double[] pairs = generateRandomArray(count * 32);
+        double[] products = new double[count * 16];
+        BatchMultiplier.multiplyPairs(4, count, pairs, products);
+
+        for (int t = 0; t < count; t++) {
+            Matrix expected = unpack(pairs, t * 32, 4).multiply(unpack(pairs, t * 32 + 16, 4));
+            assertEquals(expected, unpack(products, t * 16, 4));
+        }
+    }
+
+    /**
+     * A batch that runs past the end of its array should be rejected before anything is written.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchTooLong() {
+        BatchMultiplier.multiply(3, 4, new double[36], 0, 9, new double[36], 0, 9, new double[35], 0, 9);
+    }
+
+    /**
+     * Test to measure the timing of the batched multiplication against multiplying the same pairs one at a time with
+     * {@link Matrix#multiply(Matrix)}. The batch is kept small enough for the operands of both to fit in a default
+     * heap together.
+     */
+    @Test
+    public void testBatchMultiplicationTiming() {
+        int count = 50_000;
+        for (int size : new int[]{2, 3, 4, 8}) {
+            int elements = size * size;
+            double[] a = generateRandomArray(count * elements);
+            double[] b = generateRandomArray(count * elements);
+            double[] c = new double[count * elements];
+            BatchMultiplier.multiply(size, count, a, 0, elements, b, 0, elements, c, 0, elements); // warm-up
+            long begin = System.currentTimeMillis();
+            BatchMultiplier.multiply(size, count, a, 0, elements, b, 0, elements, c, 0, elements);
+            long end = System.currentTimeMillis();
+            System.out.println("Time (in ms) to multiply " + count + " pairs of " + size + "x" + size
+                    + " matrices in a batch: " + (end - begin));
+
+            Matrix[] left = new Matrix[count];
+            Matrix[] right = new Matrix[count];
+            for (int t = 0; t < count; t++) {
+                left[t] = unpack(a, t * elements, size);
+                right[t] = unpack(b, t * elements, size);
+            }
+            double checksum = 0; // Reading every product keeps the JIT from dropping any of them
+            for (int t = 0; t < count; t++) { // warm-up
+                checksum += left[t].multiply(right[t]).get(0, 0);
+            }
+            begin = System.currentTimeMillis();
+            for (int t = 0; t < count; t++) {
+                checksum += left[t].multiply(right[t]).get(size - 1, size - 1);
+            }
+            end = System.currentTimeMillis();
+            System.out.println("Time (in ms) to multiply " + count + " pairs of " + size + "x" + size
+                    + " matrices one at a time with Matrix.multiply: " + (end - begin) + " (checksum " + checksum
+                    + ")");
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that implements cache-blocked matrix multiplication. The operands are walked in tiles small enough to stay in
+ * the L1 and L2 caches, and every tile is handed to a {@link MatrixKernel}, which multiplies it with a register-blocked
+ * micro-kernel, using SIMD instructions through the Vector API when the JVM provides it.
+ */
+public class BlockedMultiplier {
+    private static final int DEFAULT_ROW_BLOCK = 64;
+    private static final int DEFAULT_COL_BLOCK = 256;
+    private static final int DEFAULT_DEPTH_BLOCK = 128;
+
+    private static volatile BlockedMultiplier defaultMultiplier;
+
+    private final int rowBlock; // rows of A and C in a tile
+    private final int colBlock; // columns of B and C in a tile
+    private final int depthBlock; // columns of A and rows of B in a tile
+    private final MatrixKernel kernel;
+
+    /**
+     * Creates a multiplier that uses the given tile sizes.
+     * @param rowBlock the number of rows of A and C in a tile
+     * @param colBlock the number of columns of B and C in a tile
+     * @param depthBlock the number of columns of A and rows of B in a tile
+     */
+    public BlockedMultiplier(int rowBlock, int colBlock, int depthBlock) {
+        this(rowBlock, colBlock, depthBlock, MatrixKernel.getDefault());
+    }
+
+    /**
+     * Creates a multiplier that uses the given tile sizes and kernel.
+     * @param rowBlock the number of rows of A and C in a tile
+     * @param colBlock the number of columns of B and C in a tile
+     * @param depthBlock the number of columns of A and rows of B in a tile
+     * @param kernel the kernel each tile is multiplied with
+     */
+    BlockedMultiplier(int rowBlock, int colBlock, int depthBlock, MatrixKernel kernel) {
+        if (rowBlock < 1 || colBlock < 1 || depthBlock < 1) {
+            throw new IllegalArgumentException("Tile sizes must be positive");
+        }
+        this.rowBlock = rowBlock;
+        this.colBlock = colBlock;
+        this.depthBlock = depthBlock;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Returns the multiplier used by {@link Matrix#multiply(Matrix)}. Its tile sizes are read once from the system
+     * properties matrix.blocked.rows, matrix.blocked.cols and matrix.blocked.depth, or found by {@link #autoTune(int)}
+     * if matrix.blocked.autotune is set to true, and otherwise default to sizes that suit most desktop and server caches.
+     * @return the shared default multiplier
+     */
+    public static BlockedMultiplier getDefault() {
+        BlockedMultiplier result = defaultMultiplier;
+        if (result == null) {
+            synchronized (BlockedMultiplier.class) {
+                result = defaultMultiplier;
+                if (result == null) {
+                    if (Boolean.getBoolean("matrix.blocked.autotune")) {
+                        result = autoTune(256);
+                    }
+                    else {
+                        result = new BlockedMultiplier(Integer.getInteger("matrix.blocked.rows", DEFAULT_ROW_BLOCK),
+                                Integer.getInteger("matrix.blocked.cols", DEFAULT_COL_BLOCK),
+                                Integer.getInteger("matrix.blocked.depth", DEFAULT_DEPTH_BLOCK));
+                    }
+                    defaultMultiplier = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the multiplier used by {@link Matrix#multiply(Matrix)}, for example with the result of an earlier call
+     * to {@link #autoTune(int)}.
+     * @param multiplier the new default multiplier
+     */
+    public static void setDefault(BlockedMultiplier multiplier) {
+        if (multiplier == null) {
+            throw new IllegalArgumentException("The default multiplier cannot be null");
+        }
+        defaultMultiplier = multiplier;
+    }
+
+    /**
+     * Times a few combinations of tile sizes on random square matrices and returns a multiplier using the fastest one.
+     * @param sampleSize the size of the matrices multiplied for each combination, a few hundred is usually enough
+     * @return a multiplier using the tile sizes that were fastest on this machine
+     */
+    public static BlockedMultiplier autoTune(int sampleSize) {
+        int[] rowBlocks = {32, 64, 128};
+        int[] colBlocks = {128, 256, 512};
+        int[] depthBlocks = {64, 128, 256};
+
+        double[] a = new double[sampleSize * sampleSize];
+        double[] b = new double[sampleSize * sampleSize];
+        double[] c = new double[sampleSize * sampleSize];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = Math.random();
+            b[i] = Math.random();
+        }
+
+        BlockedMultiplier best = null;
+        long bestTime = Long.MAX_VALUE;
+        for (int rows : rowBlocks) {
+            for (int cols : colBlocks) {
+                for (int depth : depthBlocks) {
+                    BlockedMultiplier candidate = new BlockedMultiplier(rows, cols, depth);
+                    long time = Long.MAX_VALUE;
+                    for (int run = 0; run < 3; run++) { // Best of three so the first runs can warm up the JIT
+                        long begin = System.nanoTime();
+                        candidate.multiplyAdd(sampleSize, sampleSize, sampleSize, a, 0, sampleSize, b, 0, sampleSize,
+                                c, 0, sampleSize);
+                        time = Math.min(time, System.nanoTime() - begin);
+                    }
+                    if (time < bestTime) {
+                        bestTime = time;
+                        best = candidate;
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * @return the number of rows of A and C in a tile
+     */
+    public int getRowBlock() {
+        return this.rowBlock;
+    }
+
+    /**
+     * @return the number of columns of B and C in a tile
+     */
+    public int getColBlock() {
+        return this.colBlock;
+    }
+
+    /**
+     * @return the number of columns of A and rows of B in a tile
+     */
+    public int getDepthBlock() {
+        return this.depthBlock;
+    }
+
+    /**
+     * @return the name of the kernel the tiles are multiplied with, either vector or scalar
+     */
+    public String getKernelName() {
+        return this.kernel.getName();
+    }
+
+    /**
+     * Multiplies two matrices.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @return the m x n product of the two matrices
+     */
+    public Matrix multiply(Matrix a, Matrix b) {
+        Matrix.checkMultiplicable(a, b);
+        Matrix result = new Matrix(a.getRows(), b.getCols());
+        this.multiplyAdd(a, b, result);
+        return result;
+    }
+
+    /**
+     * Adds the product of two matrices to a third one, which can be a view.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param c the m x n matrix the product is added to
+     */
+    public void multiplyAdd(Matrix a, Matrix b, Matrix c) {
+        this.multiplyAdd(a.getRows(), b.getCols(), a.getCols(),
+                a.getData(), a.getOffset(), a.getStride(),
+                b.getData(), b.getOffset(), b.getStride(),
+                c.getData(), c.getOffset(), c.getStride());
+    }
+
+    /**
+     * Computes C += A * B on row-major arrays described by an offset and a row stride.
+     * @param m the number of rows of A and C
+     * @param n the number of columns of B and C
+     * @param k the number of columns of A and rows of B
+     * @param a the array holding A
+     * @param aOff the index of the top left element of A
+     * @param aStride the row stride of A
+     * @param b the array holding B
+     * @param bOff the index of the top left element of B
+     * @param bStride the row stride of B
+     * @param c the array holding C
+     * @param cOff the index of the top left element of C
+     * @param cStride the row stride of C
+     */
+    public void multiplyAdd(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff, int bStride,
+                            double[] c, int cOff, int cStride) {
+        for (int jj = 0; jj < n; jj += this.colBlock) { // Tile of B that stays in L2 while all of A passes over it
+            int nb = Math.min(this.colBlock, n - jj);
+            for (int pp = 0; pp < k; pp += this.depthBlock) {
+                int kb = Math.min(this.depthBlock, k - pp);
+                for (int ii = 0; ii < m; ii += this.rowBlock) { // Tile of A that stays in L1 for the whole B tile
+                    int mb = Math.min(this.rowBlock, m - ii);
+                    this.kernel.multiplyTile(mb, nb, kb,
+                            a, aOff + ii * aStride + pp, aStride,
+                            b, bOff + pp * bStride + jj, bStride,
+                            c, cOff + ii * cStride + jj, cStride);
+                }
+            }
+        }
+    }
+}
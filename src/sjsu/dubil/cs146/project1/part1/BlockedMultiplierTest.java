@@ -0,0 +1,120 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of the blocked matrix multiplication kernel against the textbook triple loop.
+ */
+public class BlockedMultiplierTest {
+    /**
+     * Helper method for the tests, generates an mxn 2-D array filled with random numbers from 0-10.
+     * @param m the number of rows of the generated array
+     * @param n the number of columns of the generated array
+     * @return an mxn array filled with random numbers from 0-10
+     */
+    private double[][] generateRandomArray(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (Math.random() * 10);
+            }
+        }
+
+        return temp;
+    }
+
+    /**
+     * Helper method that multiplies two 2-D arrays with the textbook i-j-k loop, used as the expected result.
+     * @param a the left operand
+     * @param b the right operand
+     * @return the product of the two arrays as a matrix
+     */
+    private Matrix multiplyNaive(double[][] a, double[][] b) {
+        double[][] result = new double[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                for (int k = 0; k < b.length; k++) {
+                    result[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+
+        return new Matrix(result);
+    }
+
+    /**
+     * Tile sizes that do not divide the matrix size exercise the ragged edges of every tile and of the micro-kernel.
+     */
+    @Test
+    public void testOddTileSizes() {
+        double[][] a = generateRandomArray(37, 37);
+        double[][] b = generateRandomArray(37, 37);
+        BlockedMultiplier multiplier = new BlockedMultiplier(5, 7, 3);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", multiplyNaive(a, b),
+                multiplier.multiply(new Matrix(a), new Matrix(b)));
+    }
+
+    /**
+     * Make sure the default multiplier handles sizes larger than one tile.
+     */
+    @Test
+    public void testDefaultMultiplier() {
+        double[][] a = generateRandomArray(300, 300);
+        double[][] b = generateRandomArray(300, 300);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", multiplyNaive(a, b),
+                new Matrix(a).multiply(new Matrix(b)));
+    }
+
+    /**
+     * Make sure multiplyAdd adds to the existing contents of a view instead of overwriting them.
+     */
+    @Test
+    public void testMultiplyAddIntoView() {
+        double[][] a = generateRandomArray(9, 9);
+        double[][] b = generateRandomArray(9, 9);
+        Matrix c = new Matrix(12, 12);
+        Matrix view = c.view(2, 3, 9, 9);
+        BlockedMultiplier multiplier = new BlockedMultiplier(4, 4, 4);
+
+        multiplier.multiplyAdd(new Matrix(a), new Matrix(b), view);
+        multiplier.multiplyAdd(new Matrix(a), new Matrix(b), view);
+        Matrix expected = multiplyNaive(a, b);
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                assertEquals(2 * expected.get(i, j), view.get(i, j), 0.001);
+            }
+        }
+        assertEquals(0.0, c.get(0, 0), 0.0);
+    }
+
+    /**
+     * Make sure the scalar kernel and the kernel picked at runtime, which is the SIMD one when the JVM was started with
+     * the Vector API module, agree on sizes that leave ragged edges for both of them.
+     */
+    @Test
+    public void testScalarAndDefaultKernelsAgree() {
+        double[][] a = generateRandomArray(45, 61);
+        double[][] b = generateRandomArray(61, 53);
+        BlockedMultiplier scalar = new BlockedMultiplier(16, 32, 16, new ScalarKernel());
+        BlockedMultiplier selected = new BlockedMultiplier(16, 32, 16, MatrixKernel.getDefault());
+
+        assertEquals("scalar", scalar.getKernelName());
+        assertEquals("Failure: Multiplication not resulting in equal arrays",
+                scalar.multiply(new Matrix(a), new Matrix(b)), selected.multiply(new Matrix(a), new Matrix(b)));
+    }
+
+    /**
+     * Make sure auto-tuning picks one of its candidate tile sizes.
+     */
+    @Test
+    public void testAutoTune() {
+        BlockedMultiplier multiplier = BlockedMultiplier.autoTune(64);
+
+        assertTrue(multiplier.getRowBlock() > 0);
+        assertTrue(multiplier.getColBlock() > 0);
+        assertTrue(multiplier.getDepthBlock() > 0);
+    }
+}
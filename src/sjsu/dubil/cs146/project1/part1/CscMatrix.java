@@ -0,0 +1,161 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that models a sparse matrix in compressed sparse column form. The compressed columns of a matrix are exactly
+ * the compressed rows of its transpose, so the arrays are kept in a {@link CsrMatrix} of the transpose, and the
+ * product of two of these matrices is computed as the transposed product of their transposes.
+ */
+public class CscMatrix implements MatrixOperand {
+    private final CsrMatrix transpose; // row j of the transpose is column j of this matrix
+
+    /**
+     * Creates a matrix from the compressed sparse row form of its transpose. The transpose is not copied.
+     * @param transpose the transpose of the matrix
+     */
+    CscMatrix(CsrMatrix transpose) {
+        this.transpose = transpose;
+    }
+
+    /**
+     * Creates a matrix from arrays that are already in compressed sparse column form. The arrays are not copied.
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param colPointers cols + 1 indices into the other two arrays, where each column starts and the last one ends
+     * @param rowIndices the row of every non-zero element, in increasing order within each column
+     * @param values the non-zero elements, column by column
+     */
+    public CscMatrix(int rows, int cols, int[] colPointers, int[] rowIndices, double[] values) {
+        this(new CsrMatrix(cols, rows, colPointers, rowIndices, values));
+    }
+
+    /**
+     * Compresses a dense matrix, keeping only its non-zero elements.
+     * @param dense the matrix to be compressed
+     * @return the same matrix in compressed sparse column form
+     */
+    public static CscMatrix fromDense(Matrix dense) {
+        return CsrMatrix.fromDense(dense).toCsc();
+    }
+
+    @Override
+    public int getRows() {
+        return this.transpose.getCols();
+    }
+
+    @Override
+    public int getCols() {
+        return this.transpose.getRows();
+    }
+
+    /**
+     * @return the number of elements stored, which are the non-zero elements
+     */
+    public int getNonZeroCount() {
+        return this.transpose.getNonZeroCount();
+    }
+
+    /**
+     * Looks up an element with a binary search of its column.
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
+     */
+    @Override
+    public double get(int i, int j) {
+        return this.transpose.get(j, i);
+    }
+
+    @Override
+    public Matrix toDense() {
+        Matrix dense = new Matrix(this.getRows(), this.getCols());
+        int[] pointers = this.transpose.getRowPointers();
+        int[] indices = this.transpose.getColumnIndices();
+        double[] values = this.transpose.getValues();
+        for (int j = 0; j < this.getCols(); j++) {
+            for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                dense.set(indices[p], j, values[p]);
+            }
+        }
+        return dense;
+    }
+
+    /**
+     * @return the same matrix in compressed sparse row form
+     */
+    public CsrMatrix toCsr() {
+        return this.transpose.transpose();
+    }
+
+    /**
+     * Multiplies this sparse matrix by a dense one. Every non-zero element in column k adds a multiple of row k of the
+     * dense matrix to a row of the result.
+     * @param other a dense matrix with as many rows as this matrix has columns
+     * @return the dense product of the two matrices
+     */
+    public Matrix multiply(Matrix other) {
+        Matrix.checkMultiplicable(this, other);
+        int n = other.getCols();
+        Matrix result = new Matrix(this.getRows(), n);
+        int[] pointers = this.transpose.getRowPointers();
+        int[] indices = this.transpose.getColumnIndices();
+        double[] values = this.transpose.getValues();
+        double[] b = other.getData();
+        double[] c = result.getData();
+        for (int k = 0; k < this.getCols(); k++) {
+            int bRow = other.getOffset() + k * other.getStride();
+            for (int p = pointers[k]; p < pointers[k + 1]; p++) {
+                double value = values[p];
+                int cRow = indices[p] * n;
+                for (int j = 0; j < n; j++) {
+                    c[cRow + j] += value * b[bRow + j];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies a dense matrix by this sparse matrix. Each element of the result is the dot product of a row of the
+     * dense matrix with a sparse column of this matrix, which only reads the non-zero elements of the column.
+     * @param other a dense matrix with as many columns as this matrix has rows
+     * @return the dense product of the two matrices
+     */
+    public Matrix multiplyLeft(Matrix other) {
+        Matrix.checkMultiplicable(other, this);
+        int m = other.getRows();
+        int n = this.getCols();
+        Matrix result = new Matrix(m, n);
+        int[] pointers = this.transpose.getRowPointers();
+        int[] indices = this.transpose.getColumnIndices();
+        double[] values = this.transpose.getValues();
+        double[] a = other.getData();
+        for (int i = 0; i < m; i++) {
+            int aRow = other.getOffset() + i * other.getStride();
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                    sum += a[aRow + indices[p]] * values[p];
+                }
+                result.set(i, j, sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies two sparse matrices. Since (A * B)^T = B^T * A^T, the product of the two transposes in compressed
+     * sparse row form is already the product in compressed sparse column form.
+     * @param other a sparse matrix with as many rows as this matrix has columns
+     * @return the sparse product of the two matrices
+     */
+    public CscMatrix multiply(CscMatrix other) {
+        Matrix.checkMultiplicable(this, other);
+        return new CscMatrix(other.transpose.multiply(this.transpose));
+    }
+
+    @Override
+    public String toString() {
+        return "CscMatrix{rows=" + this.getRows() + ", cols=" + this.getCols() + ", nonZeros="
+                + this.getNonZeroCount() + "}";
+    }
+}
@@ -0,0 +1,283 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.Arrays;
+
+/**
+ * Class that models a sparse matrix in compressed sparse row form. The non-zero elements of row i are
+ * values[rowPointers[i]] to values[rowPointers[i + 1] - 1], and their columns are in the same positions of
+ * columnIndices, in increasing order. Multiplying only touches the non-zero elements, so a product with a matrix that
+ * is 99% zeros does about a hundredth of the work of the dense kernel.
+ */
+public class CsrMatrix implements MatrixOperand {
+    private final int rows;
+    private final int cols;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    /**
+     * Creates a matrix from arrays that are already in compressed sparse row form. The arrays are not copied.
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param rowPointers rows + 1 indices into the other two arrays, where each row starts and the last one ends
+     * @param columnIndices the column of every non-zero element, in increasing order within each row
+     * @param values the non-zero elements, row by row
+     */
+    public CsrMatrix(int rows, int cols, int[] rowPointers, int[] columnIndices, double[] values) {
+        if (rowPointers.length != rows + 1 || rowPointers[0] != 0 || columnIndices.length < rowPointers[rows]
+                || values.length < rowPointers[rows]) {
+            throw new IllegalArgumentException("The arrays do not describe a " + rows + "x" + cols + " matrix");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Compresses a dense matrix, keeping only its non-zero elements.
+     * @param dense the matrix to be compressed
+     * @return the same matrix in compressed sparse row form
+     */
+    public static CsrMatrix fromDense(Matrix dense) {
+        int rows = dense.getRows();
+        int cols = dense.getCols();
+        int[] rowPointers = new int[rows + 1];
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (dense.get(i, j) != 0.0) {
+                    count++;
+                }
+            }
+            rowPointers[i + 1] = count;
+        }
+
+        int[] columnIndices = new int[count];
+        double[] values = new double[count];
+        int next = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                double value = dense.get(i, j);
+                if (value != 0.0) {
+                    columnIndices[next] = j;
+                    values[next] = value;
+                    next++;
+                }
+            }
+        }
+
+        return new CsrMatrix(rows, cols, rowPointers, columnIndices, values);
+    }
+
+    @Override
+    public int getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * @return the number of elements stored, which are the non-zero elements
+     */
+    public int getNonZeroCount() {
+        return this.rowPointers[this.rows];
+    }
+
+    /**
+     * @return the index where each row starts in the other two arrays, followed by the end of the last row
+     */
+    int[] getRowPointers() {
+        return this.rowPointers;
+    }
+
+    /**
+     * @return the column of every non-zero element
+     */
+    int[] getColumnIndices() {
+        return this.columnIndices;
+    }
+
+    /**
+     * @return the non-zero elements, row by row
+     */
+    double[] getValues() {
+        return this.values;
+    }
+
+    /**
+     * Looks up an element with a binary search of its row.
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
+     */
+    @Override
+    public double get(int i, int j) {
+        int position = Arrays.binarySearch(this.columnIndices, this.rowPointers[i], this.rowPointers[i + 1], j);
+        return (position >= 0) ? this.values[position] : 0.0;
+    }
+
+    @Override
+    public Matrix toDense() {
+        Matrix dense = new Matrix(this.rows, this.cols);
+        for (int i = 0; i < this.rows; i++) {
+            for (int p = this.rowPointers[i]; p < this.rowPointers[i + 1]; p++) {
+                dense.set(i, this.columnIndices[p], this.values[p]);
+            }
+        }
+        return dense;
+    }
+
+    /**
+     * Converts this matrix to compressed sparse column form by counting the elements of each column and then
+     * scattering them, which keeps the rows of every column in increasing order.
+     * @return the same matrix in compressed sparse column form
+     */
+    public CscMatrix toCsc() {
+        return new CscMatrix(this.transpose());
+    }
+
+    /**
+     * @return the transpose of this matrix, also in compressed sparse row form
+     */
+    CsrMatrix transpose() {
+        int count = this.getNonZeroCount();
+        int[] pointers = new int[this.cols + 1];
+        for (int p = 0; p < count; p++) {
+            pointers[this.columnIndices[p] + 1]++;
+        }
+        for (int j = 0; j < this.cols; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+
+        int[] next = Arrays.copyOf(pointers, this.cols);
+        int[] indices = new int[count];
+        double[] transposedValues = new double[count];
+        for (int i = 0; i < this.rows; i++) {
+            for (int p = this.rowPointers[i]; p < this.rowPointers[i + 1]; p++) {
+                int position = next[this.columnIndices[p]]++;
+                indices[position] = i;
+                transposedValues[position] = this.values[p];
+            }
+        }
+
+        return new CsrMatrix(this.cols, this.rows, pointers, indices, transposedValues);
+    }
+
+    /**
+     * Multiplies this sparse matrix by a dense one. Every non-zero element adds a multiple of a row of the dense
+     * matrix to a row of the result, so both are read along their rows.
+     * @param other a dense matrix with as many rows as this matrix has columns
+     * @return the dense product of the two matrices
+     */
+    public Matrix multiply(Matrix other) {
+        Matrix.checkMultiplicable(this, other);
+        int n = other.getCols();
+        Matrix result = new Matrix(this.rows, n);
+        double[] b = other.getData();
+        double[] c = result.getData();
+        for (int i = 0; i < this.rows; i++) {
+            int cRow = i * n;
+            for (int p = this.rowPointers[i]; p < this.rowPointers[i + 1]; p++) {
+                double value = this.values[p];
+                int bRow = other.getOffset() + this.columnIndices[p] * other.getStride();
+                for (int j = 0; j < n; j++) {
+                    c[cRow + j] += value * b[bRow + j];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies a dense matrix by this sparse matrix. Every element of the dense matrix adds a multiple of a sparse
+     * row of this matrix to a row of the result, and zero elements are skipped.
+     * @param other a dense matrix with as many columns as this matrix has rows
+     * @return the dense product of the two matrices
+     */
+    public Matrix multiplyLeft(Matrix other) {
+        Matrix.checkMultiplicable(other, this);
+        int m = other.getRows();
+        Matrix result = new Matrix(m, this.cols);
+        double[] c = result.getData();
+        for (int i = 0; i < m; i++) {
+            int cRow = i * this.cols;
+            for (int k = 0; k < this.rows; k++) {
+                double value = other.get(i, k);
+                if (value == 0.0) {
+                    continue;
+                }
+                for (int p = this.rowPointers[k]; p < this.rowPointers[k + 1]; p++) {
+                    c[cRow + this.columnIndices[p]] += value * this.values[p];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies two sparse matrices with Gustavson's algorithm. Each row of the result is gathered in a dense
+     * accumulator, with a marker array recording which columns the row has touched so that only those are read back
+     * and cleared.
+     * @param other a sparse matrix with as many rows as this matrix has columns
+     * @return the sparse product of the two matrices
+     */
+    public CsrMatrix multiply(CsrMatrix other) {
+        Matrix.checkMultiplicable(this, other);
+        int n = other.cols;
+        double[] accumulator = new double[n];
+        int[] marker = new int[n];
+        Arrays.fill(marker, -1);
+        int[] touched = new int[n];
+
+        int[] resultPointers = new int[this.rows + 1];
+        int capacity = Math.max(16, this.getNonZeroCount() + other.getNonZeroCount());
+        int[] resultIndices = new int[capacity];
+        double[] resultValues = new double[capacity];
+        int count = 0;
+
+        for (int i = 0; i < this.rows; i++) {
+            int touchedCount = 0;
+            for (int p = this.rowPointers[i]; p < this.rowPointers[i + 1]; p++) {
+                double value = this.values[p];
+                int k = this.columnIndices[p];
+                for (int q = other.rowPointers[k]; q < other.rowPointers[k + 1]; q++) {
+                    int j = other.columnIndices[q];
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        accumulator[j] = 0.0;
+                        touched[touchedCount++] = j;
+                    }
+                    accumulator[j] += value * other.values[q];
+                }
+            }
+
+            if (count + touchedCount > capacity) {
+                capacity = Math.max(count + touchedCount, 2 * capacity);
+                resultIndices = Arrays.copyOf(resultIndices, capacity);
+                resultValues = Arrays.copyOf(resultValues, capacity);
+            }
+            Arrays.sort(touched, 0, touchedCount); // Keep the columns of each row in increasing order
+            for (int t = 0; t < touchedCount; t++) {
+                int j = touched[t];
+                if (accumulator[j] != 0.0) { // Leave out elements that cancelled
+                    resultIndices[count] = j;
+                    resultValues[count] = accumulator[j];
+                    count++;
+                }
+            }
+            resultPointers[i + 1] = count;
+        }
+
+        return new CsrMatrix(this.rows, n, resultPointers, resultIndices, resultValues);
+    }
+
+    @Override
+    public String toString() {
+        return "CsrMatrix{rows=" + this.rows + ", cols=" + this.cols + ", nonZeros=" + this.getNonZeroCount() + "}";
+    }
+}
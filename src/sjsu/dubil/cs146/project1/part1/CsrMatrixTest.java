@@ -0,0 +1,90 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of the compressed sparse row and column representations and their multiplication kernels.
+ */
+public class CsrMatrixTest {
+    /**
+     * Helper method for the tests, generates an mxn matrix where roughly the given fraction of the elements are random
+     * numbers from 1-10 and the rest are zero.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @param density the fraction of the elements that are not zero
+     * @return the generated matrix
+     */
+    private Matrix generateRandomSparseMatrix(int m, int n, double density) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (Math.random() < density) {
+                    temp[i][j] = 1 + (Math.random() * 9);
+                }
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure compressing and expanding a matrix in both forms gives back the same elements.
+     */
+    @Test
+    public void testRoundTrip() {
+        Matrix dense = generateRandomSparseMatrix(40, 25, 0.1);
+        CsrMatrix csr = CsrMatrix.fromDense(dense);
+        CscMatrix csc = CscMatrix.fromDense(dense);
+
+        assertEquals(dense, csr.toDense());
+        assertEquals(dense, csc.toDense());
+        assertEquals(dense, csr.toCsc().toDense());
+        assertEquals(dense, csc.toCsr().toDense());
+        assertEquals(csr.getNonZeroCount(), csc.getNonZeroCount());
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 25; j++) {
+                assertEquals(dense.get(i, j), csr.get(i, j), 0.0);
+                assertEquals(dense.get(i, j), csc.get(i, j), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Make sure the sparse-dense and dense-sparse kernels of both forms match the dense product.
+     */
+    @Test
+    public void testSparseDenseMultiply() {
+        Matrix sparse = generateRandomSparseMatrix(30, 40, 0.05);
+        Matrix dense = generateRandomSparseMatrix(40, 20, 1.0);
+        Matrix left = generateRandomSparseMatrix(15, 30, 1.0);
+
+        assertEquals(sparse.multiply(dense), CsrMatrix.fromDense(sparse).multiply(dense));
+        assertEquals(sparse.multiply(dense), CscMatrix.fromDense(sparse).multiply(dense));
+        assertEquals(left.multiply(sparse), CsrMatrix.fromDense(sparse).multiplyLeft(left));
+        assertEquals(left.multiply(sparse), CscMatrix.fromDense(sparse).multiplyLeft(left));
+    }
+
+    /**
+     * Make sure the sparse-sparse kernels of both forms match the dense product and keep their indices sorted.
+     */
+    @Test
+    public void testSparseSparseMultiply() {
+        Matrix a = generateRandomSparseMatrix(50, 60, 0.05);
+        Matrix b = generateRandomSparseMatrix(60, 45, 0.05);
+        CsrMatrix csrProduct = CsrMatrix.fromDense(a).multiply(CsrMatrix.fromDense(b));
+        CscMatrix cscProduct = CscMatrix.fromDense(a).multiply(CscMatrix.fromDense(b));
+
+        assertEquals(a.multiply(b), csrProduct.toDense());
+        assertEquals(a.multiply(b), cscProduct.toDense());
+        assertEquals(a.multiply(b).get(7, 11), csrProduct.get(7, 11), 0.001); // get relies on sorted indices
+    }
+
+    /**
+     * Malformed arrays should be rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidArrays() {
+        new CsrMatrix(2, 2, new int[]{0, 1}, new int[]{0}, new double[]{1.0});
+    }
+}
@@ -0,0 +1,191 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class that multiplies matrices on a group of {@link DistributedWorker} processes. C is split into square tiles and
+ * the inner dimension into steps of the same size, as in SUMMA: each task sends a tile of A and a tile of B to a
+ * worker and adds the product it gets back to a tile of C. Every worker has its own connection, served by its own
+ * thread, which takes the next task from a shared queue as soon as the previous one is answered, so faster workers
+ * take more of the tasks. When a connection fails or times out the worker is dropped and its unanswered task is put
+ * back on the queue for the others.
+ */
+public class DistributedMultiplier {
+    private static final int DEFAULT_TILE_SIZE = 256;
+    private static final int DEFAULT_TIMEOUT = 60000; // milliseconds to wait for a worker before giving up on it
+    private static final long POLL_INTERVAL = 50; // milliseconds between checks for tasks put back on the queue
+
+    private final List<InetSocketAddress> workers;
+    private final int tileSize;
+    private final int timeout;
+
+    /**
+     * Creates a multiplier using the given workers with the default tile size.
+     * @param workers the addresses of the workers
+     */
+    public DistributedMultiplier(List<InetSocketAddress> workers) {
+        this(workers, DEFAULT_TILE_SIZE, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Creates a multiplier with all of its settings given.
+     * @param workers the addresses of the workers
+     * @param tileSize the number of rows and columns of the tiles sent to the workers, at most 4096
+     * @param timeout the number of milliseconds to wait for a worker to answer before treating it as failed
+     */
+    public DistributedMultiplier(List<InetSocketAddress> workers, int tileSize, int timeout) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is needed");
+        }
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("The tile size must be positive");
+        }
+        if ((long) tileSize * tileSize > DistributedWorker.MAX_ELEMENTS) {
+            throw new IllegalArgumentException("Tiles of " + tileSize + "x" + tileSize
+                    + " are larger than a worker accepts");
+        }
+        if (timeout < 0) {
+            throw new IllegalArgumentException("The timeout cannot be negative");
+        }
+        this.workers = new ArrayList<>(workers);
+        this.tileSize = tileSize;
+        this.timeout = timeout;
+    }
+
+    /**
+     * One task: the product of a tile of A and a tile of B, added to a tile of C.
+     */
+    private static final class Task {
+        final int row; // first row of the tile of C
+        final int col; // first column of the tile of C
+        final int depth; // first column of the tile of A and first row of the tile of B
+
+        Task(int row, int col, int depth) {
+            this.row = row;
+            this.col = col;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Multiplies two matrices on the workers.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @return the matrix that results from the multiplication of the two matrices
+     * @throws IOException if every worker failed before all of the tasks were done
+     */
+    public Matrix multiply(Matrix a, Matrix b) throws IOException {
+        Matrix.checkMultiplicable(a, b);
+        int m = a.getRows();
+        int k = a.getCols();
+        int n = b.getCols();
+        Matrix result = new Matrix(m, n);
+
+        BlockingQueue<Task> pending = new LinkedBlockingQueue<>();
+        for (int i = 0; i < m; i += this.tileSize) {
+            for (int j = 0; j < n; j += this.tileSize) {
+                for (int p = 0; p < k; p += this.tileSize) {
+                    pending.add(new Task(i, j, p));
+                }
+            }
+        }
+        AtomicInteger remaining = new AtomicInteger(pending.size());
+
+        List<Thread> threads = new ArrayList<>();
+        for (InetSocketAddress worker : this.workers) {
+            Thread thread = new Thread(() -> this.drive(worker, a, b, result, pending, remaining),
+                    "matrix-coordinator-" + worker.getPort());
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        catch (InterruptedException e) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the workers", e);
+        }
+
+        if (remaining.get() > 0) {
+            throw new IOException("Every worker failed with " + remaining.get() + " tasks left");
+        }
+        return result;
+    }
+
+    /**
+     * Sends tasks to one worker until there are none left, putting the current task back on the queue if the worker
+     * fails.
+     * @param worker the address of the worker
+     * @param a the left operand
+     * @param b the right operand
+     * @param result the matrix the products are added to
+     * @param pending the tasks not yet sent to any worker
+     * @param remaining the number of tasks not yet answered
+     */
+    private void drive(InetSocketAddress worker, Matrix a, Matrix b, Matrix result, BlockingQueue<Task> pending,
+                       AtomicInteger remaining) {
+        Task task = null;
+        try (Socket socket = new Socket()) {
+            socket.connect(worker, this.timeout);
+            socket.setSoTimeout(this.timeout);
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            while (remaining.get() > 0) {
+                // a task may still come back from a worker that fails, so keep waiting until all are answered
+                task = pending.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (task == null) {
+                    continue;
+                }
+                int rows = Math.min(this.tileSize, a.getRows() - task.row);
+                int cols = Math.min(this.tileSize, b.getCols() - task.col);
+                int depth = Math.min(this.tileSize, a.getCols() - task.depth);
+
+                out.writeByte(DistributedWorker.MULTIPLY);
+                out.writeInt(rows);
+                out.writeInt(depth);
+                out.writeInt(cols);
+                DistributedWorker.writeMatrix(out, a.view(task.row, task.depth, rows, depth));
+                DistributedWorker.writeMatrix(out, b.view(task.depth, task.col, depth, cols));
+                out.flush();
+                Matrix product = DistributedWorker.readMatrix(in, rows, cols);
+
+                synchronized (result) { // several tasks add to the same tile of C
+                    Matrix tile = result.view(task.row, task.col, rows, cols);
+                    tile.add(product, tile);
+                }
+                task = null;
+                remaining.decrementAndGet();
+            }
+            out.writeByte(DistributedWorker.GOODBYE);
+            out.flush();
+        }
+        catch (IOException e) {
+            // the worker is dropped, and whatever it was working on goes to the others
+            if (task != null) {
+                pending.add(task);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class to handle testing of the multiplication on worker processes, mostly with workers running on threads of the
+ * test's own JVM.
+ */
+public class DistributedMultiplierTest {
+    private List<DistributedWorker> workers;
+
+    @Before
+    public void before() throws Exception {
+        workers = new ArrayList<>();
+    }
+
+    @After
+    public void after() throws Exception {
+        for (DistributedWorker worker : workers) {
+            worker.close();
+        }
+    }
+
+    /**
+     * Helper method for the tests, starts a worker on a thread of this JVM.
+     * @param taskLimit the number of tasks the worker answers on a connection before dropping it
+     * @return the address of the worker
+     */
+    private InetSocketAddress startWorker(int taskLimit) throws IOException {
+        DistributedWorker worker = new DistributedWorker(0, taskLimit);
+        worker.start();
+        workers.add(worker);
+        return new InetSocketAddress("localhost", worker.getPort());
+    }
+
+    /**
+     * Helper method for the tests, generates an mxn matrix and fills it with random numbers from 0-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return an mxn matrix filled with random numbers from 0-10
+     */
+    private Matrix generateRandomMxNMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (Math.random() * 10);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure tiles that do not divide the matrices evenly are assembled into the right product.
+     */
+    @Test
+    public void testDistributedMultiply() throws Exception {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (int w = 0; w < 3; w++) {
+            addresses.add(startWorker(Integer.MAX_VALUE));
+        }
+        Matrix m1 = generateRandomMxNMatrix(70, 45);
+        Matrix m2 = generateRandomMxNMatrix(45, 33);
+        DistributedMultiplier multiplier = new DistributedMultiplier(addresses, 16, 10000);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), multiplier.multiply(m1, m2));
+    }
+
+    /**
+     * Make sure the tasks of workers that crash, or that cannot be reached at all, are done by the others.
+     */
+    @Test
+    public void testWorkerFailure() throws Exception {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        addresses.add(startWorker(Integer.MAX_VALUE));
+        addresses.add(startWorker(1));
+        addresses.add(startWorker(3));
+        DistributedWorker closed = new DistributedWorker(0);
+        addresses.add(new InetSocketAddress("localhost", closed.getPort()));
+        closed.close();
+
+        Matrix m1 = generateRandomMxNMatrix(64, 64);
+        Matrix m2 = generateRandomMxNMatrix(64, 64);
+        DistributedMultiplier multiplier = new DistributedMultiplier(addresses, 8, 10000);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), multiplier.multiply(m1, m2));
+    }
+
+    /**
+     * Make sure the multiplication fails instead of hanging when every worker fails.
+     */
+    @Test(expected = IOException.class)
+    public void testAllWorkersFail() throws Exception {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        addresses.add(startWorker(2));
+        addresses.add(startWorker(2));
+        DistributedMultiplier multiplier = new DistributedMultiplier(addresses, 8, 10000);
+
+        multiplier.multiply(generateRandomMxNMatrix(40, 40), generateRandomMxNMatrix(40, 40));
+    }
+
+    /**
+     * Make sure the product is the same with workers in their own JVMs, one of which is killed before it starts.
+     */
+    @Test
+    public void testLaunchedWorkers() throws Exception {
+        Matrix m1 = generateRandomMxNMatrix(50, 40);
+        Matrix m2 = generateRandomMxNMatrix(40, 60);
+        try (WorkerLauncher launcher = new WorkerLauncher(3)) {
+            launcher.kill(1);
+            DistributedMultiplier multiplier = new DistributedMultiplier(launcher.getAddresses(), 16, 10000);
+
+            assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), multiplier.multiply(m1, m2));
+        }
+    }
+
+    /**
+     * Make sure launched workers are given the modules, heap size and properties of the current JVM, but not the
+     * options that would make every worker open the same debugger port or recording file.
+     */
+    @Test
+    public void testWorkerOptions() {
+        List<String> options = WorkerLauncher.jvmOptions(Arrays.asList("--add-modules=jdk.incubator.vector", "-Xmx2g",
+                "-agentlib:jdwp=transport=dt_socket,server=y,address=5005", "-Dmatrix.kernel=vector",
+                "-XX:StartFlightRecording=filename=run.jfr", "-XX:+UseParallelGC", "-javaagent:agent.jar"));
+
+        assertEquals(Arrays.asList("--add-modules=jdk.incubator.vector", "-Xmx2g", "-Dmatrix.kernel=vector",
+                "-XX:+UseParallelGC"), options);
+    }
+
+    /**
+     * Make sure a worker listening on every address of the machine serves a coordinator, and that one started without
+     * an address only listens on the loopback interface.
+     */
+    @Test
+    public void testBindAddress() throws Exception {
+        DistributedWorker wildcard = new DistributedWorker(null, 0);
+        wildcard.start();
+        workers.add(wildcard);
+        DistributedWorker loopback = new DistributedWorker(0);
+        workers.add(loopback);
+        assertTrue(loopback.getAddress().isLoopbackAddress());
+        assertTrue(wildcard.getAddress().isAnyLocalAddress());
+
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), wildcard.getPort()));
+        Matrix m1 = generateRandomMxNMatrix(20, 30);
+        Matrix m2 = generateRandomMxNMatrix(30, 10);
+        DistributedMultiplier multiplier = new DistributedMultiplier(addresses, 8, 10000);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), multiplier.multiply(m1, m2));
+    }
+
+    /**
+     * Make sure requests with dimensions that are not positive or too large are refused by closing the connection
+     * before anything is allocated, and that tiles too large for the workers are refused by the coordinator.
+     */
+    @Test
+    public void testInvalidRequests() throws Exception {
+        InetSocketAddress address = startWorker(Integer.MAX_VALUE);
+        int[][] requests = {{-1, 4, 4}, {4, 0, 4}, {1 << 20, 1 << 20, 1}, {1, 1 << 13, 1 << 13}, {1 << 13, 1, 1 << 13}};
+        for (int[] request : requests) {
+            try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                out.writeByte(DistributedWorker.MULTIPLY);
+                for (int dimension : request) {
+                    out.writeInt(dimension);
+                }
+                out.flush();
+                assertEquals(-1, new DataInputStream(socket.getInputStream()).read());
+            }
+        }
+        assertTrue(DistributedWorker.isValidRequest(1, 1 << 12, 1 << 12));
+
+        try {
+            new DistributedMultiplier(Arrays.asList(address), 4097, 10000);
+            fail("Tiles larger than a worker accepts should be refused");
+        }
+        catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
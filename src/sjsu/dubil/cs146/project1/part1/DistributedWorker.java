@@ -0,0 +1,233 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Class that multiplies tiles sent to it over sockets by a {@link DistributedMultiplier}. It can run as its own
+ * process, started by {@link #main(String[])} or a {@link WorkerLauncher}, or on threads of the current JVM as a stand-in
+ * for testing. Every connection carries a series of requests, each answered before the next is read:
+ * <pre>
+ *   request:  byte MULTIPLY, int m, int k, int n, m * k doubles of A, k * n doubles of B
+ *   response: m * n doubles of A * B
+ *   request:  byte GOODBYE, after which the connection is closed
+ * </pre>
+ * All numbers are big-endian, as written by {@link DataOutputStream}, and matrices are sent row by row. A request
+ * with dimensions that are not positive, or with a matrix of more than {@link #MAX_ELEMENTS} elements, is not
+ * answered and its connection is closed, so a peer cannot make the worker allocate whatever it asks for. By default a
+ * worker only listens on the loopback interface; it has to be given a bind address to serve coordinators on other
+ * machines.
+ */
+public class DistributedWorker implements Closeable {
+    static final byte GOODBYE = 0;
+    static final byte MULTIPLY = 1;
+    static final int MAX_ELEMENTS = 1 << 24; // elements of A, B or the product in one request, 128 MB of doubles
+
+    private final ServerSocket server;
+    private final BlockedMultiplier kernel;
+    private final int taskLimit; // requests answered per connection before dropping it, to simulate a crash in tests
+
+    /**
+     * Creates a worker listening on the loopback interface, which only serves coordinators on the same machine.
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be opened
+     */
+    public DistributedWorker(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a worker listening on the given address, so that it can serve coordinators on other machines.
+     * @param bindAddress the local address to listen on, or null for every address of the machine
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be opened
+     */
+    public DistributedWorker(InetAddress bindAddress, int port) throws IOException {
+        this(bindAddress, port, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a worker on the loopback interface that drops every connection after answering a number of requests, as
+     * if it had crashed.
+     * @param port the port to listen on, or 0 for any free port
+     * @param taskLimit the number of requests answered on each connection
+     * @throws IOException if the port cannot be opened
+     */
+    DistributedWorker(int port, int taskLimit) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port, taskLimit);
+    }
+
+    /**
+     * Creates a worker with all of its settings given.
+     * @param bindAddress the local address to listen on, or null for every address of the machine
+     * @param port the port to listen on, or 0 for any free port
+     * @param taskLimit the number of requests answered on each connection
+     * @throws IOException if the port cannot be opened
+     */
+    DistributedWorker(InetAddress bindAddress, int port, int taskLimit) throws IOException {
+        this.server = new ServerSocket(port, 50, bindAddress);
+        this.kernel = BlockedMultiplier.getDefault();
+        this.taskLimit = taskLimit;
+    }
+
+    /**
+     * @return the local address the worker listens on, the wildcard address if it listens on every one
+     */
+    public InetAddress getAddress() {
+        return this.server.getInetAddress();
+    }
+
+    /**
+     * @return the port the worker listens on
+     */
+    public int getPort() {
+        return this.server.getLocalPort();
+    }
+
+    /**
+     * Starts accepting connections on a background thread, so the worker can stand in for a separate process.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::run, "matrix-worker-" + this.getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Accepts connections until the worker is closed, serving each one on its own thread.
+     */
+    public void run() {
+        while (!this.server.isClosed()) {
+            try {
+                Socket socket = this.server.accept();
+                Thread connection = new Thread(() -> this.serve(socket), "matrix-worker-connection");
+                connection.setDaemon(true);
+                connection.start();
+            }
+            catch (IOException e) {
+                // the server socket was closed, which ends the loop
+            }
+        }
+    }
+
+    /**
+     * Answers the requests on one connection until the coordinator says goodbye or the connection fails.
+     * @param socket the connection
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+            for (int answered = 0; answered < this.taskLimit; answered++) {
+                if (in.readByte() != MULTIPLY) {
+                    return;
+                }
+                int m = in.readInt();
+                int k = in.readInt();
+                int n = in.readInt();
+                if (!isValidRequest(m, k, n)) {
+                    return; // closing the connection is the only answer the protocol has for a bad request
+                }
+                Matrix a = readMatrix(in, m, k);
+                Matrix b = readMatrix(in, k, n);
+                writeMatrix(out, this.kernel.multiply(a, b));
+                out.flush();
+            }
+        }
+        catch (IOException e) {
+            // the coordinator went away; it re-dispatches anything that was not answered
+        }
+    }
+
+    /**
+     * Checks the dimensions of a request before anything is allocated for it.
+     * @param m the number of rows of A
+     * @param k the number of columns of A and rows of B
+     * @param n the number of columns of B
+     * @return true if every dimension is positive and none of A, B and the product is larger than {@link #MAX_ELEMENTS}
+     */
+    static boolean isValidRequest(int m, int k, int n) {
+        if (m < 1 || k < 1 || n < 1) {
+            return false;
+        }
+        return (long) m * k <= MAX_ELEMENTS && (long) k * n <= MAX_ELEMENTS && (long) m * n <= MAX_ELEMENTS;
+    }
+
+    /**
+     * Stops accepting connections. Connections already open are served until the coordinator closes them.
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.server.close();
+    }
+
+    /**
+     * Sends a matrix, which can be a view, row by row.
+     * @param out the stream to write to
+     * @param matrix the matrix
+     * @throws IOException if the stream fails
+     */
+    static void writeMatrix(DataOutputStream out, Matrix matrix) throws IOException {
+        byte[] bytes = new byte[matrix.getCols() * Double.BYTES];
+        DoubleBuffer row = ByteBuffer.wrap(bytes).asDoubleBuffer(); // big-endian, like the rest of the stream
+        for (int i = 0; i < matrix.getRows(); i++) {
+            row.clear();
+            row.put(matrix.getData(), matrix.index(i, 0), matrix.getCols());
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Receives a matrix sent by {@link #writeMatrix}.
+     * @param in the stream to read from
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @return a new matrix holding the elements received
+     * @throws IOException if the stream fails or ends early
+     */
+    static Matrix readMatrix(DataInputStream in, int rows, int cols) throws IOException {
+        if (rows < 0 || cols < 0) {
+            throw new IOException("Invalid dimensions " + rows + "x" + cols);
+        }
+        Matrix matrix = new Matrix(rows, cols);
+        byte[] bytes = new byte[cols * Double.BYTES];
+        DoubleBuffer row = ByteBuffer.wrap(bytes).asDoubleBuffer();
+        for (int i = 0; i < rows; i++) {
+            in.readFully(bytes);
+            row.clear();
+            row.get(matrix.getData(), i * cols, cols);
+        }
+        return matrix;
+    }
+
+    /**
+     * Runs a worker as its own process. Prints the line "LISTENING port" once it is ready for connections, then serves
+     * them until the process is killed.
+     * @param args the port to listen on, or nothing for any free port, optionally followed by the host name or address
+     * to listen on, or * for every address of the machine; without one the worker only listens on the loopback
+     * interface
+     * @throws IOException if the port cannot be opened or the host name cannot be resolved
+     */
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : 0;
+        InetAddress bindAddress = InetAddress.getLoopbackAddress();
+        if (args.length > 1) {
+            bindAddress = args[1].equals("*") ? null : InetAddress.getByName(args[1]);
+        }
+        DistributedWorker worker = new DistributedWorker(bindAddress, port);
+        System.out.println("LISTENING " + worker.getPort());
+        System.out.flush();
+        worker.run();
+    }
+}
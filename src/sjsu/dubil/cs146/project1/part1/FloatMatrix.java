@@ -0,0 +1,197 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.Arrays;
+
+/**
+ * Class that models a matrix of single precision elements. It takes half the memory of a {@link Matrix} of the same
+ * size, so twice as many elements fit in each cache line and in each SIMD register, and the loops below are written
+ * so that the JIT can vectorize them. Strassen's algorithm is shared with the other matrix types through
+ * {@link AbstractMatrix}.
+ */
+public class FloatMatrix extends AbstractMatrix<FloatMatrix> {
+    private static final int DEPTH_BLOCK = 256; // rows of B added into a row of C before moving on to the next row
+
+    private final float[] data;
+
+    /**
+     * Creates a matrix holding a copy of the given 2-D array.
+     * @param array the rows of the matrix, all of the same length
+     */
+    public FloatMatrix(float[][] array) {
+        this(array.length, (array.length == 0) ? 0 : array[0].length);
+        for (int i = 0; i < this.getRows(); i++) {
+            System.arraycopy(array[i], 0, this.data, this.index(i, 0), this.getCols());
+        }
+    }
+
+    /**
+     * Creates a matrix of the given size filled with zeros.
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     */
+    public FloatMatrix(int rows, int cols) {
+        this(new float[rows * cols], rows, cols, 0, cols);
+    }
+
+    /**
+     * Creates a matrix backed by an existing array, used for views so that nothing is copied.
+     * @param data the row-major array holding the elements
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param offset the index of the top left element in the array
+     * @param stride the distance in the array between the starts of two consecutive rows
+     */
+    private FloatMatrix(float[] data, int rows, int cols, int offset, int stride) {
+        super(rows, cols, offset, stride);
+        this.data = data;
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
+     */
+    public float get(int i, int j) {
+        return this.data[this.index(i, j)];
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @param value the new value of the element at row i and column j
+     */
+    public void set(int i, int j, float value) {
+        this.data[this.index(i, j)] = value;
+    }
+
+    @Override
+    FloatMatrix newView(int rows, int cols, int offset) {
+        return new FloatMatrix(this.data, rows, cols, offset, this.getStride());
+    }
+
+    @Override
+    FloatMatrix newMatrix(int rows, int cols) {
+        return new FloatMatrix(rows, cols);
+    }
+
+    @Override
+    int getElementBytes() {
+        return Float.BYTES;
+    }
+
+    /**
+     * @return a copy of the elements of this matrix as a 2-D array
+     */
+    public float[][] toArray() {
+        float[][] array = new float[this.getRows()][this.getCols()];
+        for (int i = 0; i < this.getRows(); i++) {
+            System.arraycopy(this.data, this.index(i, 0), array[i], 0, this.getCols());
+        }
+        return array;
+    }
+
+    @Override
+    FloatMatrix add(FloatMatrix other, FloatMatrix result) {
+        for (int i = 0; i < this.getRows(); i++) {
+            int x = this.index(i, 0);
+            int y = other.index(i, 0);
+            int z = result.index(i, 0);
+            for (int j = 0; j < this.getCols(); j++) {
+                result.data[z + j] = this.data[x + j] + other.data[y + j];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    FloatMatrix sub(FloatMatrix other, FloatMatrix result) {
+        for (int i = 0; i < this.getRows(); i++) {
+            int x = this.index(i, 0);
+            int y = other.index(i, 0);
+            int z = result.index(i, 0);
+            for (int j = 0; j < this.getCols(); j++) {
+                result.data[z + j] = this.data[x + j] - other.data[y + j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the product of this matrix and another one to a third matrix, adding multiples of whole rows of the other
+     * matrix to each row of the result so the innermost loop runs along both rows. The inner dimension is walked in
+     * blocks so that the rows of the other matrix in use stay in cache across the rows of the result.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @param result the matrix the product is added to
+     */
+    @Override
+    void multiplyAdd(FloatMatrix other, FloatMatrix result) {
+        int m = this.getRows();
+        int k = this.getCols();
+        int n = other.getCols();
+        float[] a = this.data;
+        float[] b = other.data;
+        float[] c = result.data;
+        for (int pp = 0; pp < k; pp += DEPTH_BLOCK) {
+            int pEnd = Math.min(pp + DEPTH_BLOCK, k);
+            for (int i = 0; i < m; i++) {
+                int aRow = this.index(i, 0);
+                int cRow = result.index(i, 0);
+                for (int p = pp; p < pEnd; p++) {
+                    float x = a[aRow + p];
+                    int bRow = other.index(p, 0);
+                    for (int j = 0; j < n; j++) {
+                        c[cRow + j] += x * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        for (int i = 0; i < this.getRows(); i++) {
+            int row = this.index(i, 0);
+            Arrays.fill(this.data, row, row + this.getCols(), 0.0f);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FloatMatrix{data=" + Arrays.deepToString(this.toArray()) + "}";
+    }
+
+    /**
+     * Compares two matrices element by element. Single precision only keeps about seven significant digits, so the
+     * tolerance grows with the size of the elements instead of being a fixed amount.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        if (this.getClass() != o.getClass()) return false;
+
+        FloatMatrix other = (FloatMatrix) o;
+        if (this.getRows() != other.getRows() || this.getCols() != other.getCols()) return false;
+
+        float epsilon = 0.0001f;
+        for (int i = 0; i < this.getRows(); i++) {
+            for (int j = 0; j < this.getCols(); j++) {
+                float x = this.get(i, j);
+                float y = other.get(i, j);
+                if (Math.abs(x - y) > epsilon * Math.max(1.0f, Math.max(Math.abs(x), Math.abs(y)))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes only the dimensions, since {@link #equals} lets elements differ by a relative tolerance and so no hash of
+     * the elements could be the same for every pair of equal matrices.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.getRows() + this.getCols();
+    }
+}
@@ -0,0 +1,76 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of the single precision matrix.
+ */
+public class FloatMatrixTest {
+    /**
+     * Helper method for the tests, generates an mxn matrix of random numbers from 1-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return the generated matrix
+     */
+    private FloatMatrix generateRandomMxNMatrix(int m, int n) {
+        float[][] temp = new float[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (float) (1 + (Math.random() * 9));
+            }
+        }
+
+        return new FloatMatrix(temp);
+    }
+
+    /**
+     * Helper method that widens every element of a matrix to double precision.
+     * @param matrix the matrix to be widened
+     * @return a double precision copy of the matrix
+     */
+    private Matrix toDouble(FloatMatrix matrix) {
+        Matrix result = new Matrix(matrix.getRows(), matrix.getCols());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                result.set(i, j, matrix.get(i, j));
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void test2x2Matrices() {
+        FloatMatrix m1 = new FloatMatrix(new float[][]{{1, 2}, {3, 4}});
+        FloatMatrix m2 = new FloatMatrix(new float[][]{{5, 6}, {7, 8}});
+        FloatMatrix expected = new FloatMatrix(new float[][]{{19, 22}, {43, 50}});
+
+        assertEquals(expected, m1.multiply(m2));
+        assertEquals(expected, m1.multiplyStrassen(m2));
+    }
+
+    /**
+     * Make sure both algorithms agree with the double precision product to within single precision.
+     */
+    @Test
+    public void testRandomRectangularMatrices() {
+        FloatMatrix m1 = generateRandomMxNMatrix(37, 50);
+        FloatMatrix m2 = generateRandomMxNMatrix(50, 29);
+        Matrix expected = toDouble(m1).multiply(toDouble(m2));
+
+        FloatMatrix product = m1.multiply(m2);
+        FloatMatrix strassen = m1.multiplyStrassen(m2);
+        assertEquals(product, strassen);
+        assertEquals(product.hashCode(), strassen.hashCode());
+        for (int i = 0; i < 37; i++) {
+            for (int j = 0; j < 29; j++) {
+                assertEquals(expected.get(i, j), product.get(i, j), expected.get(i, j) * 1e-5);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedDimensions() {
+        generateRandomMxNMatrix(3, 4).multiplyStrassen(generateRandomMxNMatrix(3, 4));
+    }
+}
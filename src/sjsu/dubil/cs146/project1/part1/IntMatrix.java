@@ -0,0 +1,192 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.Arrays;
+
+/**
+ * Class that models a matrix of integer elements, for counting problems such as the number of walks between the
+ * vertices of a graph. Arithmetic wraps around like Java's int, so every result is exact modulo 2^32, and therefore
+ * exact whenever the true result fits in an int, even if the intermediate sums of Strassen's algorithm overflowed.
+ * Strassen's algorithm is shared with the other matrix types through {@link AbstractMatrix}.
+ */
+public class IntMatrix extends AbstractMatrix<IntMatrix> {
+    private static final int DEPTH_BLOCK = 256; // rows of B added into a row of C before moving on to the next row
+
+    private final int[] data;
+
+    /**
+     * Creates a matrix holding a copy of the given 2-D array.
+     * @param array the rows of the matrix, all of the same length
+     */
+    public IntMatrix(int[][] array) {
+        this(array.length, (array.length == 0) ? 0 : array[0].length);
+        for (int i = 0; i < this.getRows(); i++) {
+            System.arraycopy(array[i], 0, this.data, this.index(i, 0), this.getCols());
+        }
+    }
+
+    /**
+     * Creates a matrix of the given size filled with zeros.
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     */
+    public IntMatrix(int rows, int cols) {
+        this(new int[rows * cols], rows, cols, 0, cols);
+    }
+
+    /**
+     * Creates a matrix backed by an existing array, used for views so that nothing is copied.
+     * @param data the row-major array holding the elements
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param offset the index of the top left element in the array
+     * @param stride the distance in the array between the starts of two consecutive rows
+     */
+    private IntMatrix(int[] data, int rows, int cols, int offset, int stride) {
+        super(rows, cols, offset, stride);
+        this.data = data;
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
+     */
+    public int get(int i, int j) {
+        return this.data[this.index(i, j)];
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @param value the new value of the element at row i and column j
+     */
+    public void set(int i, int j, int value) {
+        this.data[this.index(i, j)] = value;
+    }
+
+    @Override
+    IntMatrix newView(int rows, int cols, int offset) {
+        return new IntMatrix(this.data, rows, cols, offset, this.getStride());
+    }
+
+    @Override
+    IntMatrix newMatrix(int rows, int cols) {
+        return new IntMatrix(rows, cols);
+    }
+
+    @Override
+    int getElementBytes() {
+        return Integer.BYTES;
+    }
+
+    /**
+     * @return a copy of the elements of this matrix as a 2-D array
+     */
+    public int[][] toArray() {
+        int[][] array = new int[this.getRows()][this.getCols()];
+        for (int i = 0; i < this.getRows(); i++) {
+            System.arraycopy(this.data, this.index(i, 0), array[i], 0, this.getCols());
+        }
+        return array;
+    }
+
+    @Override
+    IntMatrix add(IntMatrix other, IntMatrix result) {
+        for (int i = 0; i < this.getRows(); i++) {
+            int x = this.index(i, 0);
+            int y = other.index(i, 0);
+            int z = result.index(i, 0);
+            for (int j = 0; j < this.getCols(); j++) {
+                result.data[z + j] = this.data[x + j] + other.data[y + j];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    IntMatrix sub(IntMatrix other, IntMatrix result) {
+        for (int i = 0; i < this.getRows(); i++) {
+            int x = this.index(i, 0);
+            int y = other.index(i, 0);
+            int z = result.index(i, 0);
+            for (int j = 0; j < this.getCols(); j++) {
+                result.data[z + j] = this.data[x + j] - other.data[y + j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the product of this matrix and another one to a third matrix, adding multiples of whole rows of the other
+     * matrix to each row of the result so the innermost loop runs along both rows. The inner dimension is walked in
+     * blocks so that the rows of the other matrix in use stay in cache across the rows of the result.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @param result the matrix the product is added to
+     */
+    @Override
+    void multiplyAdd(IntMatrix other, IntMatrix result) {
+        int m = this.getRows();
+        int k = this.getCols();
+        int n = other.getCols();
+        int[] a = this.data;
+        int[] b = other.data;
+        int[] c = result.data;
+        for (int pp = 0; pp < k; pp += DEPTH_BLOCK) {
+            int pEnd = Math.min(pp + DEPTH_BLOCK, k);
+            for (int i = 0; i < m; i++) {
+                int aRow = this.index(i, 0);
+                int cRow = result.index(i, 0);
+                for (int p = pp; p < pEnd; p++) {
+                    int x = a[aRow + p];
+                    int bRow = other.index(p, 0);
+                    for (int j = 0; j < n; j++) {
+                        c[cRow + j] += x * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        for (int i = 0; i < this.getRows(); i++) {
+            int row = this.index(i, 0);
+            Arrays.fill(this.data, row, row + this.getCols(), 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IntMatrix{data=" + Arrays.deepToString(this.toArray()) + "}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        if (this.getClass() != o.getClass()) return false;
+
+        IntMatrix other = (IntMatrix) o;
+        if (this.getRows() != other.getRows() || this.getCols() != other.getCols()) return false;
+
+        for (int i = 0; i < this.getRows(); i++) {
+            for (int j = 0; j < this.getCols(); j++) {
+                if (this.get(i, j) != other.get(i, j)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * this.getRows() + this.getCols();
+        for (int i = 0; i < this.getRows(); i++) {
+            for (int j = 0; j < this.getCols(); j++) {
+                hash = 31 * hash + this.get(i, j);
+            }
+        }
+        return hash;
+    }
+}
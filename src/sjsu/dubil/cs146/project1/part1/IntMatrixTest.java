@@ -0,0 +1,66 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of the integer matrix.
+ */
+public class IntMatrixTest {
+    /**
+     * Helper method for the tests, generates an mxn matrix of random integers from -50 to 50.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return the generated matrix
+     */
+    private IntMatrix generateRandomMxNMatrix(int m, int n) {
+        int[][] temp = new int[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (int) (Math.random() * 101) - 50;
+            }
+        }
+
+        return new IntMatrix(temp);
+    }
+
+    /**
+     * Counts walks in a directed cycle of three vertices, where there is exactly one walk of length 3 from every
+     * vertex back to itself.
+     */
+    @Test
+    public void testWalkCounts() {
+        IntMatrix adjacency = new IntMatrix(new int[][]{{0, 1, 0}, {0, 0, 1}, {1, 0, 0}});
+        IntMatrix identity = new IntMatrix(new int[][]{{1, 0, 0}, {0, 1, 0}, {0, 0, 1}});
+
+        assertEquals(identity, adjacency.multiply(adjacency).multiply(adjacency));
+        assertEquals(identity, adjacency.multiplyStrassen(adjacency).multiplyStrassen(adjacency));
+    }
+
+    /**
+     * Make sure Strassen's algorithm gives exactly the same integers as the basic algorithm.
+     */
+    @Test
+    public void testRandomRectangularMatrices() {
+        IntMatrix m1 = generateRandomMxNMatrix(45, 38);
+        IntMatrix m2 = generateRandomMxNMatrix(38, 51);
+
+        IntMatrix product = m1.multiply(m2);
+        IntMatrix strassen = m1.multiplyStrassen(m2);
+        assertEquals(product, strassen);
+        assertEquals(product.hashCode(), strassen.hashCode());
+    }
+
+    /**
+     * Intermediate sums that overflow still give the right product once it fits in an int again.
+     */
+    @Test
+    public void testOverflowWrapsAround() {
+        IntMatrix m1 = new IntMatrix(new int[][]{{Integer.MAX_VALUE, 1}, {1, -1}});
+        IntMatrix m2 = new IntMatrix(new int[][]{{1, 0}, {-1, 1}});
+        IntMatrix expected = new IntMatrix(new int[][]{{Integer.MAX_VALUE - 1, 1}, {2, -1}});
+
+        assertEquals(expected, m1.multiply(m2));
+        assertEquals(expected, m1.multiplyStrassen(m2));
+    }
+}
@@ -0,0 +1,282 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.Arrays;
+
+/**
+ * Class that models a matrix of long integer elements, optionally reduced modulo a number p. Without a modulus,
+ * arithmetic wraps around like Java's long, so results are exact modulo 2^64. With one, every element is kept in
+ * [0, p) and every sum, difference and product is reduced, so Strassen's algorithm, which is shared with the other
+ * matrix types through {@link AbstractMatrix}, gives exactly the same residues as the basic algorithm.
+ */
+public class LongMatrix extends AbstractMatrix<LongMatrix> {
+    /**
+     * Largest modulus p for which (p - 1)^2 + (p - 1), a reduced element plus the product of two, still fits in a long.
+     */
+    public static final long MAX_MODULUS = 3037000499L;
+
+    private static final int DEPTH_BLOCK = 256; // rows of B added into a row of C before moving on to the next row
+
+    private final long[] data;
+    private final long modulus; // 0 when arithmetic wraps around modulo 2^64
+
+    /**
+     * Creates a matrix holding a copy of the given 2-D array, with arithmetic modulo 2^64.
+     * @param array the rows of the matrix, all of the same length
+     */
+    public LongMatrix(long[][] array) {
+        this(array, 0);
+    }
+
+    /**
+     * Creates a matrix holding a copy of the given 2-D array reduced modulo a number.
+     * @param array the rows of the matrix, all of the same length
+     * @param modulus the modulus, from 2 to {@link #MAX_MODULUS}, or 0 for arithmetic modulo 2^64
+     */
+    public LongMatrix(long[][] array, long modulus) {
+        this(array.length, (array.length == 0) ? 0 : array[0].length, modulus);
+        for (int i = 0; i < this.getRows(); i++) {
+            for (int j = 0; j < this.getCols(); j++) {
+                this.set(i, j, array[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Creates a matrix of the given size filled with zeros, with arithmetic modulo 2^64.
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     */
+    public LongMatrix(int rows, int cols) {
+        this(rows, cols, 0);
+    }
+
+    /**
+     * Creates a matrix of the given size filled with zeros.
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param modulus the modulus, from 2 to {@link #MAX_MODULUS}, or 0 for arithmetic modulo 2^64
+     */
+    public LongMatrix(int rows, int cols, long modulus) {
+        this(new long[rows * cols], rows, cols, 0, cols, modulus);
+        if (modulus != 0 && (modulus < 2 || modulus > MAX_MODULUS)) {
+            throw new IllegalArgumentException("The modulus must be 0 or from 2 to " + MAX_MODULUS + ", not "
+                    + modulus);
+        }
+    }
+
+    /**
+     * Creates a matrix backed by an existing array, used for views so that nothing is copied.
+     * @param data the row-major array holding the elements
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param offset the index of the top left element in the array
+     * @param stride the distance in the array between the starts of two consecutive rows
+     * @param modulus the modulus, or 0 for arithmetic modulo 2^64
+     */
+    private LongMatrix(long[] data, int rows, int cols, int offset, int stride, long modulus) {
+        super(rows, cols, offset, stride);
+        this.data = data;
+        this.modulus = modulus;
+    }
+
+    /**
+     * @return the modulus of the arithmetic, or 0 if it wraps around modulo 2^64
+     */
+    public long getModulus() {
+        return this.modulus;
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
+     */
+    public long get(int i, int j) {
+        return this.data[this.index(i, j)];
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @param value the new value of the element at row i and column j, which is reduced if there is a modulus
+     */
+    public void set(int i, int j, long value) {
+        this.data[this.index(i, j)] = (this.modulus == 0) ? value : Math.floorMod(value, this.modulus);
+    }
+
+    @Override
+    LongMatrix newView(int rows, int cols, int offset) {
+        return new LongMatrix(this.data, rows, cols, offset, this.getStride(), this.modulus);
+    }
+
+    @Override
+    LongMatrix newMatrix(int rows, int cols) {
+        return new LongMatrix(new long[rows * cols], rows, cols, 0, cols, this.modulus);
+    }
+
+    @Override
+    int getElementBytes() {
+        return Long.BYTES;
+    }
+
+    /**
+     * @return a copy of the elements of this matrix as a 2-D array
+     */
+    public long[][] toArray() {
+        long[][] array = new long[this.getRows()][this.getCols()];
+        for (int i = 0; i < this.getRows(); i++) {
+            System.arraycopy(this.data, this.index(i, 0), array[i], 0, this.getCols());
+        }
+        return array;
+    }
+
+    /**
+     * Implements the basic matrix multiplication algorithm. Runs in O(n^3).
+     * @param other a matrix with as many rows as the current matrix has columns, and the same modulus
+     * @return the matrix that results from the multiplication of the two matrices
+     */
+    @Override
+    public LongMatrix multiply(LongMatrix other) {
+        this.checkModulus(other);
+        return super.multiply(other);
+    }
+
+    /**
+     * Implements Strassen's algorithm for matrix multiplication. Runs in approximately O(n^2.807).
+     * @param other a matrix with as many rows as the current matrix has columns, and the same modulus
+     * @return the matrix that results from the multiplication of the two matrices
+     */
+    @Override
+    public LongMatrix multiplyStrassen(LongMatrix other) {
+        this.checkModulus(other);
+        return super.multiplyStrassen(other);
+    }
+
+    /**
+     * Makes sure the arithmetic of two matrices is modulo the same number.
+     * @param other the other matrix
+     * @throws IllegalArgumentException if the two matrices have different moduli
+     */
+    private void checkModulus(LongMatrix other) {
+        if (this.modulus != other.modulus) {
+            throw new IllegalArgumentException("Cannot combine a matrix modulo " + this.modulus
+                    + " with a matrix modulo " + other.modulus);
+        }
+    }
+
+    @Override
+    LongMatrix add(LongMatrix other, LongMatrix result) {
+        long p = this.modulus;
+        for (int i = 0; i < this.getRows(); i++) {
+            int x = this.index(i, 0);
+            int y = other.index(i, 0);
+            int z = result.index(i, 0);
+            for (int j = 0; j < this.getCols(); j++) {
+                long sum = this.data[x + j] + other.data[y + j];
+                result.data[z + j] = (p != 0 && sum >= p) ? sum - p : sum;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    LongMatrix sub(LongMatrix other, LongMatrix result) {
+        long p = this.modulus;
+        for (int i = 0; i < this.getRows(); i++) {
+            int x = this.index(i, 0);
+            int y = other.index(i, 0);
+            int z = result.index(i, 0);
+            for (int j = 0; j < this.getCols(); j++) {
+                long difference = this.data[x + j] - other.data[y + j];
+                result.data[z + j] = (p != 0 && difference < 0) ? difference + p : difference;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the product of this matrix and another one to a third matrix, adding multiples of whole rows of the other
+     * matrix to each row of the result so the innermost loop runs along both rows. With a modulus, each new term is
+     * reduced as it is added, which {@link #MAX_MODULUS} keeps from overflowing.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @param result the matrix the product is added to
+     */
+    @Override
+    void multiplyAdd(LongMatrix other, LongMatrix result) {
+        int m = this.getRows();
+        int k = this.getCols();
+        int n = other.getCols();
+        long p = this.modulus;
+        long[] a = this.data;
+        long[] b = other.data;
+        long[] c = result.data;
+        for (int pp = 0; pp < k; pp += DEPTH_BLOCK) {
+            int pEnd = Math.min(pp + DEPTH_BLOCK, k);
+            for (int i = 0; i < m; i++) {
+                int aRow = this.index(i, 0);
+                int cRow = result.index(i, 0);
+                for (int q = pp; q < pEnd; q++) {
+                    long x = a[aRow + q];
+                    if (x == 0) {
+                        continue;
+                    }
+                    int bRow = other.index(q, 0);
+                    if (p == 0) {
+                        for (int j = 0; j < n; j++) {
+                            c[cRow + j] += x * b[bRow + j];
+                        }
+                    }
+                    else {
+                        for (int j = 0; j < n; j++) {
+                            c[cRow + j] = (c[cRow + j] + x * b[bRow + j]) % p;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        for (int i = 0; i < this.getRows(); i++) {
+            int row = this.index(i, 0);
+            Arrays.fill(this.data, row, row + this.getCols(), 0L);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongMatrix{modulus=" + this.modulus + ", data=" + Arrays.deepToString(this.toArray()) + "}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        if (this.getClass() != o.getClass()) return false;
+
+        LongMatrix other = (LongMatrix) o;
+        if (this.getRows() != other.getRows() || this.getCols() != other.getCols()) return false;
+        if (this.modulus != other.modulus) return false;
+
+        for (int i = 0; i < this.getRows(); i++) {
+            for (int j = 0; j < this.getCols(); j++) {
+                if (this.get(i, j) != other.get(i, j)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * (31 * this.getRows() + this.getCols()) + Long.hashCode(this.modulus);
+        for (int i = 0; i < this.getRows(); i++) {
+            for (int j = 0; j < this.getCols(); j++) {
+                hash = 31 * hash + Long.hashCode(this.get(i, j));
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,83 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+/**
+ * Class to handle testing of the long integer matrix, with and without a modulus.
+ */
+public class LongMatrixTest {
+    private static final long PRIME = 1_000_000_007L;
+
+    /**
+     * Helper method for the tests, generates an mxn matrix of random numbers below a bound.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @param bound the elements are from 0 to bound - 1
+     * @param modulus the modulus of the matrix, or 0 for none
+     * @return the generated matrix
+     */
+    private LongMatrix generateRandomMxNMatrix(int m, int n, long bound, long modulus) {
+        long[][] temp = new long[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (long) (Math.random() * bound);
+            }
+        }
+
+        return new LongMatrix(temp, modulus);
+    }
+
+    @Test
+    public void testRandomRectangularMatrices() {
+        LongMatrix m1 = generateRandomMxNMatrix(33, 40, 1000, 0);
+        LongMatrix m2 = generateRandomMxNMatrix(40, 27, 1000, 0);
+
+        LongMatrix product = m1.multiply(m2);
+        LongMatrix strassen = m1.multiplyStrassen(m2);
+        assertEquals(product, strassen);
+        assertEquals(product.hashCode(), strassen.hashCode());
+    }
+
+    /**
+     * Make sure the residues modulo a large prime are exact, checking one element with BigInteger arithmetic.
+     */
+    @Test
+    public void testModularProduct() {
+        LongMatrix m1 = generateRandomMxNMatrix(40, 40, PRIME, PRIME);
+        LongMatrix m2 = generateRandomMxNMatrix(40, 40, PRIME, PRIME);
+        LongMatrix product = m1.multiply(m2);
+
+        assertEquals(product, m1.multiplyStrassen(m2));
+        BigInteger sum = BigInteger.ZERO;
+        for (int p = 0; p < 40; p++) {
+            sum = sum.add(BigInteger.valueOf(m1.get(3, p)).multiply(BigInteger.valueOf(m2.get(p, 5))));
+        }
+        assertEquals(sum.mod(BigInteger.valueOf(PRIME)).longValue(), product.get(3, 5));
+    }
+
+    /**
+     * Elements are reduced into [0, p) when they are set.
+     */
+    @Test
+    public void testElementsAreReduced() {
+        LongMatrix matrix = new LongMatrix(new long[][]{{-1, 7}, {12, 5}}, 5);
+
+        assertEquals(4, matrix.get(0, 0));
+        assertEquals(2, matrix.get(0, 1));
+        assertEquals(2, matrix.get(1, 0));
+        assertEquals(0, matrix.get(1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedModuli() {
+        generateRandomMxNMatrix(4, 4, 7, 7).multiply(generateRandomMxNMatrix(4, 4, 7, 11));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testModulusTooLarge() {
+        new LongMatrix(2, 2, LongMatrix.MAX_MODULUS + 1);
+    }
+}
@@ -0,0 +1,221 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that models a matrix stored in a file as row-major little-endian doubles, so that it does not need to fit on
+ * the heap. The file is memory-mapped in segments of at most 1 GB, since a single mapping cannot be larger than 2 GB,
+ * and blocks of the matrix are copied between the mapping and ordinary {@link Matrix} objects. The operating system
+ * decides which pages stay in memory, so only the blocks that are copied out take up heap space.
+ */
+public class MappedMatrix implements Closeable {
+    private static final int SEGMENT_DOUBLES = 1 << 27; // 1 GB worth of doubles per mapping
+
+    private final FileChannel channel;
+    private final int rows;
+    private final int cols;
+    private final MappedByteBuffer[] mappings;
+    private final DoubleBuffer[] segments; // little-endian views of the mappings
+
+    /**
+     * Maps the elements of a matrix stored in an open file.
+     * @param channel the channel of the file, open for reading and, if the matrix will be written to, writing
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param dataOffset the position in the file of the first element, after any header
+     * @param writable whether the mapping allows elements to be written
+     * @throws IOException if the file cannot be mapped or is too short
+     */
+    MappedMatrix(FileChannel channel, int rows, int cols, long dataOffset, boolean writable) throws IOException {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("The dimensions cannot be negative");
+        }
+        long elements = (long) rows * cols;
+        if (channel.size() < dataOffset + elements * Double.BYTES) {
+            throw new IOException("The file holds " + channel.size() + " bytes, too few for a " + rows + "x" + cols
+                    + " matrix");
+        }
+
+        this.channel = channel;
+        this.rows = rows;
+        this.cols = cols;
+        this.mappings = new MappedByteBuffer[(int) ((elements + SEGMENT_DOUBLES - 1) / SEGMENT_DOUBLES)];
+        this.segments = new DoubleBuffer[this.mappings.length];
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        for (int s = 0; s < this.segments.length; s++) {
+            long first = (long) s * SEGMENT_DOUBLES;
+            long count = Math.min(SEGMENT_DOUBLES, elements - first);
+            this.mappings[s] = channel.map(mode, dataOffset + first * Double.BYTES, count * Double.BYTES);
+            this.segments[s] = this.mappings[s].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Creates a file holding a matrix of zeros, replacing the file if it already exists.
+     * @param file the path of the file
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @return the matrix, open for reading and writing
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedMatrix create(Path file, int rows, int cols) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(0);
+            if ((long) rows * cols > 0) { // Extending the file fills it with zeros without writing them
+                channel.write(ByteBuffer.allocate(1), (long) rows * cols * Double.BYTES - 1);
+            }
+            return new MappedMatrix(channel, rows, cols, 0, true);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a file holding a matrix that was written earlier.
+     * @param file the path of the file
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param writable whether elements of the matrix will be written
+     * @return the matrix
+     * @throws IOException if the file cannot be opened or mapped, or is too short
+     */
+    public static MappedMatrix open(Path file, int rows, int cols, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedMatrix(channel, rows, cols, 0, writable);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of rows of the matrix
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return the number of columns of the matrix
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
+     */
+    public double get(int i, int j) {
+        long index = (long) i * this.cols + j;
+        return this.segments[(int) (index / SEGMENT_DOUBLES)].get((int) (index % SEGMENT_DOUBLES));
+    }
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @param value the new value of the element at row i and column j
+     */
+    public void set(int i, int j, double value) {
+        long index = (long) i * this.cols + j;
+        this.segments[(int) (index / SEGMENT_DOUBLES)].put((int) (index % SEGMENT_DOUBLES), value);
+    }
+
+    /**
+     * Copies a block of this matrix into a matrix on the heap, which can be a view.
+     * @param row the row of this matrix where the block starts
+     * @param col the column of this matrix where the block starts
+     * @param target the matrix the block is copied to, whose size is the size of the block
+     */
+    public void readBlock(int row, int col, Matrix target) {
+        this.checkBlock(row, col, target);
+        for (int i = 0; i < target.getRows(); i++) {
+            this.transferRow(row + i, col, target.getData(), target.getOffset() + i * target.getStride(),
+                    target.getCols(), false);
+        }
+    }
+
+    /**
+     * Copies a matrix on the heap, which can be a view, into a block of this matrix.
+     * @param row the row of this matrix where the block starts
+     * @param col the column of this matrix where the block starts
+     * @param source the matrix copied into the block, whose size is the size of the block
+     */
+    public void writeBlock(int row, int col, Matrix source) {
+        this.checkBlock(row, col, source);
+        for (int i = 0; i < source.getRows(); i++) {
+            this.transferRow(row + i, col, source.getData(), source.getOffset() + i * source.getStride(),
+                    source.getCols(), true);
+        }
+    }
+
+    /**
+     * Copies part of one row between the mapping and an array, splitting the copy where the row crosses from one
+     * segment into the next.
+     */
+    private void transferRow(int row, int col, double[] array, int arrayOff, int length, boolean write) {
+        long index = (long) row * this.cols + col;
+        while (length > 0) {
+            DoubleBuffer segment = this.segments[(int) (index / SEGMENT_DOUBLES)];
+            int position = (int) (index % SEGMENT_DOUBLES);
+            int count = Math.min(length, segment.capacity() - position);
+            if (write) {
+                segment.put(position, array, arrayOff, count);
+            }
+            else {
+                segment.get(position, array, arrayOff, count);
+            }
+            index += count;
+            arrayOff += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Makes sure a block of the given size at the given position lies inside this matrix.
+     */
+    private void checkBlock(int row, int col, Matrix block) {
+        if (row < 0 || col < 0 || row + block.getRows() > this.rows || col + block.getCols() > this.cols) {
+            throw new IndexOutOfBoundsException("Block " + block.getRows() + "x" + block.getCols() + " at (" + row
+                    + ", " + col + ") does not fit in a " + this.rows + "x" + this.cols + " matrix");
+        }
+    }
+
+    /**
+     * Writes any changes made through the mapping to the storage device.
+     * @throws IOException if the changes cannot be written
+     */
+    public void flush() throws IOException {
+        for (MappedByteBuffer mapping : this.mappings) {
+            if (!mapping.isReadOnly()) {
+                mapping.force();
+            }
+        }
+    }
+
+    /**
+     * Closes the file. The mapping itself is released once it is garbage collected.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -3,185 +3,265 @@ package sjsu.dubil.cs146.project1.part1;
 import java.util.Arrays;
 
 /**
- * Class that uses a 2-D array to model a matrix, and implements two different algorithms for matrix multiplication.
+ * Class that models a matrix, and implements two different algorithms for matrix multiplication. The elements are
+ * stored in a single row-major array, described by an offset and a row stride, so that a matrix can also be a view of
+ * a rectangular region of another matrix without copying any of its elements.
  */
-public class Matrix {
-    private double[][] data;
+public class Matrix extends AbstractMatrix<Matrix> implements MatrixOperand {
+    private final double[] data;
 
+    /**
+     * Creates a matrix holding a copy of the given 2-D array.
+     * @param array the rows of the matrix, all of the same length
+     */
     public Matrix(double[][] array) {
-        this.data = array;
+        this(array.length, (array.length == 0) ? 0 : array[0].length);
+        for (int i = 0; i < this.getRows(); i++) {
+            System.arraycopy(array[i], 0, this.data, this.index(i, 0), this.getCols());
+        }
     }
 
     /**
-     * Implements the basic matrix multiplication algorithm. Runs in O(n^3).
-     * @param other another square matrix of the same size as the current matrix
-     * @return the matrix that results from the multiplication of the two matrices
+     * Creates a matrix of the given size filled with zeros.
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
      */
-    public Matrix multiply(Matrix other) {
-        int n = this.data.length;
-        Matrix result = new Matrix(new double[n][n]);
+    public Matrix(int rows, int cols) {
+        this(new double[rows * cols], rows, cols, 0, cols);
+    }
 
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                for (int k = 0; k < n; k++) {
-                    result.data[i][j] += (this.data[i][k] * other.data[k][j]);
-                }
-            }
-        }
+    /**
+     * Creates a matrix backed by an existing array, used for views so that nothing is copied.
+     * @param data the row-major array holding the elements
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @param offset the index of the top left element in the array
+     * @param stride the distance in the array between the starts of two consecutive rows
+     */
+    private Matrix(double[] data, int rows, int cols, int offset, int stride) {
+        super(rows, cols, offset, stride);
+        this.data = data;
+    }
 
-        return result;
+    /**
+     * Creates a matrix over the start of an existing array, so that a buffer can be reused for matrices of different
+     * sizes.
+     * @param data the array holding the elements row by row, at least rows * cols long
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @return a matrix backed by the array
+     */
+    static Matrix wrap(double[] data, int rows, int cols) {
+        return new Matrix(data, rows, cols, 0, cols);
     }
 
     /**
-     * Helper method for Strassen's matrix multiplication algorithm to make addition simpler.
-     * @param other another square matrix of the same size as the current matrix
-     * @return the matrix that results from the addition of the two matrices
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
      */
-    private Matrix add(Matrix other) {
-        int n = this.data.length;
-        Matrix result = new Matrix(new double[n][n]);
+    @Override
+    public double get(int i, int j) {
+        return this.data[this.index(i, j)];
+    }
 
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                result.data[i][j] = this.data[i][j] + other.data[i][j];
-            }
-        }
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @param value the new value of the element at row i and column j
+     */
+    public void set(int i, int j, double value) {
+        this.data[this.index(i, j)] = value;
+    }
 
-        return result;
+    @Override
+    Matrix newView(int rows, int cols, int offset) {
+        return new Matrix(this.data, rows, cols, offset, this.getStride());
+    }
+
+    @Override
+    Matrix newMatrix(int rows, int cols) {
+        return new Matrix(rows, cols);
+    }
+
+    @Override
+    int getElementBytes() {
+        return Double.BYTES;
     }
 
     /**
-     * Helper method for Strassen's matrix multiplication algorithm to make subtraction simpler.
-     * @param other another square matrix of the same size as the current matrix
-     * @return the matrix that results from the subtraction of the two matrices
+     * @return the row-major array holding the elements of this matrix, shared with every view of it
      */
-    private Matrix sub(Matrix other) {
-        int n = this.data.length;
-        Matrix result = new Matrix(new double[n][n]);
+    double[] getData() {
+        return this.data;
+    }
 
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                result.data[i][j] = this.data[i][j] - other.data[i][j];
-            }
+    /**
+     * @return this matrix, which is already dense
+     */
+    @Override
+    public Matrix toDense() {
+        return this;
+    }
+
+    /**
+     * @return a copy of the elements of this matrix as a 2-D array
+     */
+    public double[][] toArray() {
+        double[][] array = new double[this.getRows()][this.getCols()];
+        for (int i = 0; i < this.getRows(); i++) {
+            System.arraycopy(this.data, this.index(i, 0), array[i], 0, this.getCols());
+        }
+        return array;
+    }
+
+    /**
+     * Implements the basic matrix multiplication algorithm, using the cache-blocked kernel of the default
+     * {@link BlockedMultiplier}. Runs in O(n^3).
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @return the matrix that results from the multiplication of the two matrices
+     */
+    @Override
+    public Matrix multiply(Matrix other) {
+        return BlockedMultiplier.getDefault().multiply(this, other);
+    }
+
+    /**
+     * Adds the product of this matrix and another one to a third matrix with the default {@link BlockedMultiplier},
+     * except for a product of single elements, which is too small to be worth tiling.
+     * @param other a matrix with as many rows as the current matrix has columns
+     * @param result the matrix the product is added to
+     */
+    @Override
+    void multiplyAdd(Matrix other, Matrix result) {
+        if (this.getRows() == 1 && this.getCols() == 1 && other.getCols() == 1) {
+            result.data[result.getOffset()] += this.data[this.getOffset()] * other.data[other.getOffset()];
+            return;
         }
+        BlockedMultiplier.getDefault().multiplyAdd(this, other, result);
+    }
 
+    /**
+     * Helper method for Strassen's matrix multiplication algorithm to make addition simpler. Writes into a matrix
+     * that already exists, which can be a view.
+     * @param other another matrix of the same size as the current matrix
+     * @param result the matrix the sum is written to, of the same size as the current matrix
+     * @return the result matrix
+     */
+    @Override
+    Matrix add(Matrix other, Matrix result) {
+        MatrixKernel.getDefault().add(this.getRows(), this.getCols(), this.data, this.getOffset(), this.getStride(),
+                other.data, other.getOffset(), other.getStride(), result.data, result.getOffset(), result.getStride());
         return result;
     }
 
     /**
-     * Implements Strassen's algorithm for matrix multiplication. Runs in approximately O(n^2.807).
-     * @param other another square matrix of the same size as the current matrix
+     * Helper method for Strassen's matrix multiplication algorithm to make subtraction simpler. Writes into a matrix
+     * that already exists, which can be a view.
+     * @param other another matrix of the same size as the current matrix
+     * @param result the matrix the difference is written to, of the same size as the current matrix
+     * @return the result matrix
+     */
+    @Override
+    Matrix sub(Matrix other, Matrix result) {
+        MatrixKernel.getDefault().sub(this.getRows(), this.getCols(), this.data, this.getOffset(), this.getStride(),
+                other.data, other.getOffset(), other.getStride(), result.data, result.getOffset(), result.getStride());
+        return result;
+    }
+
+    /**
+     * Implements the Winograd variant of Strassen's algorithm using the settings of a default {@link StrassenWinograd},
+     * which hands blocks at or below the crossover size to the blocked kernel. Runs in approximately O(n^2.807).
+     * @param other a matrix with as many rows as the current matrix has columns
      * @return the matrix that results from the multiplication of the two matrices
      */
-    public Matrix multiplyStrassen(Matrix other) {
-        int n = this.data.length;
-        Matrix result = new Matrix(new double[n][n]);
+    public Matrix multiplyWinograd(Matrix other) {
+        return new StrassenWinograd().multiply(this, other);
+    }
 
-        // base cases where recursion ends
-        if (n < 1) {
-            return result;
-        }
+    /**
+     * Raises this matrix to a power by repeated squaring, which takes O(log k) products. See {@link MatrixPower} to
+     * choose the multiplication algorithm or follow the progress.
+     * @param exponent the power, at least 0
+     * @return a new matrix holding this matrix to the given power
+     */
+    public Matrix pow(long exponent) {
+        return MatrixPower.pow(this, exponent);
+    }
 
-        if (n == 1) {
-            result.data[0][0] = this.data[0][0] * other.data[0][0];
-            return result;
-        }
+    /**
+     * Transposes this matrix with a cache-oblivious recursive algorithm.
+     * @return a new matrix whose rows are the columns of this matrix
+     */
+    public Matrix transpose() {
+        Matrix result = new Matrix(this.getCols(), this.getRows());
+        MatrixTranspose.transpose(this, result);
+        return result;
+    }
 
-        // setting up new matrices
-        int halfSize = n / 2; // for splitting the matrices
-        Matrix a00 = new Matrix(new double[halfSize][halfSize]); // top left
-        Matrix a01 = new Matrix(new double[halfSize][halfSize]); // top right
-        Matrix a10 = new Matrix(new double[halfSize][halfSize]); // bottom left
-        Matrix a11 = new Matrix(new double[halfSize][halfSize]); // bottom right
-
-        Matrix b00 = new Matrix(new double[halfSize][halfSize]);
-        Matrix b01 = new Matrix(new double[halfSize][halfSize]);
-        Matrix b10 = new Matrix(new double[halfSize][halfSize]);
-        Matrix b11 = new Matrix(new double[halfSize][halfSize]);
-
-        // dividing the matrices
-        for (int i = 0; i < halfSize; i++) {
-            for (int j = 0; j < halfSize; j++) {
-                a00.data[i][j] = this.data[i][j];
-                a01.data[i][j] = this.data[i][halfSize + j];
-                a10.data[i][j] = this.data[halfSize + i][j];
-                a11.data[i][j] = this.data[halfSize + i][halfSize + j];
-
-                b00.data[i][j] = other.data[i][j];
-                b01.data[i][j] = other.data[i][halfSize + j];
-                b10.data[i][j] = other.data[halfSize + i][j];
-                b11.data[i][j] = other.data[halfSize + i][halfSize + j];
-            }
+    /**
+     * Transposes this matrix in place, without allocating anything. Any other views of the same elements see the
+     * change.
+     * @throws IllegalArgumentException if the matrix is not square
+     */
+    public void transposeInPlace() {
+        if (this.getRows() != this.getCols()) {
+            throw new IllegalArgumentException("Cannot transpose a " + this.getRows() + "x" + this.getCols()
+                    + " matrix in place");
         }
+        MatrixTranspose.transposeInPlace(this);
+    }
 
-        // calculate m1 through m7
-        Matrix temp1; // used for intermediate operations
-        Matrix temp2;
-
-        // m1 = (a00 + a11) * (b00 + b11)
-        temp1 = a00.add(a11);
-        temp2 = b00.add(b11);
-        Matrix m1 = temp1.multiplyStrassen(temp2);
-
-        // m2 = (a10 + a11) * b00
-        temp1 = a10.add(a11);
-        Matrix m2 = temp1.multiplyStrassen(b00);
-
-        // m3 = a00 * (b01 - b11)
-        temp1 = b01.sub(b11);
-        Matrix m3 = a00.multiplyStrassen(temp1);
-
-        // m4 = a11 * (b10 - b00)
-        temp1 = b10.sub(b00);
-        Matrix m4 = a11.multiplyStrassen(temp1);
-
-        // m5 = (a00 + a01) * b11
-        temp1 = a00.add(a01);
-        Matrix m5 = temp1.multiplyStrassen(b11);
-
-        // m6 = (a10 - a00) * (b00 + b01)
-        temp1 = a10.sub(a00);
-        temp2 = b00.add(b01);
-        Matrix m6 = temp1.multiplyStrassen(temp2);
-
-        // m7 = (a01 - a11) * (b10 + b11)
-        temp1 = a01.sub(a11);
-        temp2 = b10.add(b11);
-        Matrix m7 = temp1.multiplyStrassen(temp2);
-
-        // using these to obtain the quadrants of the resulting matrix
-        // r00 = m1 + m4 - m5 + m7
-        temp1 = m1.add(m4);
-        temp2 = temp1.add(m7);
-        Matrix r00 = temp2.sub(m5);
-
-        // r01 = m3 + m5
-        Matrix r01 = m3.add(m5);
-
-        // r10 = m2 + m4
-        Matrix r10 = m2.add(m4);
-
-        // r11 = m1 + m3 - m2 + m6
-        temp1 = m1.add(m3);
-        temp2 = temp1.add(m6);
-        Matrix r11 = temp2.sub(m2);
-
-        // combining these to form the resulting array
-        for (int i = 0; i < halfSize; i++) {
-            for (int j = 0; j < halfSize; j++) {
-                result.data[i][j] = r00.data[i][j];
-                result.data[i][halfSize + j] = r01.data[i][j];
-                result.data[halfSize + i][j] = r10.data[i][j];
-                result.data[halfSize + i][halfSize + j] = r11.data[i][j];
-            }
-        }
+    /**
+     * Multiplies the transpose of this matrix by another matrix, reading both in row order and without building the
+     * transpose.
+     * @param other a matrix with as many rows as the current matrix
+     * @return the matrix that results from the multiplication of the transpose of this matrix and the other matrix
+     */
+    public Matrix transposeMultiply(Matrix other) {
+        checkMultiplicable(this.getCols(), this.getRows(), other.getRows(), other.getCols());
+        Matrix result = new Matrix(this.getCols(), other.getCols());
+        MatrixTranspose.transposeMultiplyAdd(this, other, result);
+        return result;
+    }
 
+    /**
+     * Multiplies this matrix by the transpose of another matrix, reading both in row order and without building the
+     * transpose.
+     * @param other a matrix with as many columns as the current matrix
+     * @return the matrix that results from the multiplication of this matrix and the transpose of the other matrix
+     */
+    public Matrix multiplyTranspose(Matrix other) {
+        checkMultiplicable(this.getRows(), this.getCols(), other.getCols(), other.getRows());
+        Matrix result = new Matrix(this.getRows(), other.getRows());
+        MatrixTranspose.multiplyTransposeAdd(this, other, result);
         return result;
     }
 
+    /**
+     * Makes sure two matrices can be multiplied.
+     * @param a the left operand
+     * @param b the right operand
+     * @throws IllegalArgumentException if a does not have as many columns as b has rows
+     */
+    static void checkMultiplicable(MatrixOperand a, MatrixOperand b) {
+        checkMultiplicable(a.getRows(), a.getCols(), b.getRows(), b.getCols());
+    }
+
+    /**
+     * Sets every element of this matrix to zero.
+     */
+    @Override
+    void clear() {
+        for (int i = 0; i < this.getRows(); i++) {
+            int row = this.index(i, 0);
+            Arrays.fill(this.data, row, row + this.getCols(), 0.0);
+        }
+    }
+
     @Override
     public String toString() {
-        return "Matrix{data=" + Arrays.deepToString(data) + "}";
+        return "Matrix{data=" + Arrays.deepToString(this.toArray()) + "}";
     }
 
     @Override
@@ -191,14 +271,25 @@ public class Matrix {
         if (this.getClass() != o.getClass()) return false;
 
         Matrix other = (Matrix) o;
+        if (this.getRows() != other.getRows() || this.getCols() != other.getCols()) return false;
+
         double epsilon = 0.001;
-        for (int i = 0; i < this.data.length; i++) {
-            for (int j = 0; j < this.data.length; j++) {
-                if (Math.abs(this.data[i][j] - other.data[i][j]) > epsilon) {
+        for (int i = 0; i < this.getRows(); i++) {
+            for (int j = 0; j < this.getCols(); j++) {
+                if (Math.abs(this.get(i, j) - other.get(i, j)) > epsilon) {
                     return false;
                 }
             }
         }
         return true;
     }
+
+    /**
+     * Hashes only the dimensions, since {@link #equals} lets elements differ by an absolute tolerance and so no hash of
+     * the elements could be the same for every pair of equal matrices.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.getRows() + this.getCols();
+    }
 }
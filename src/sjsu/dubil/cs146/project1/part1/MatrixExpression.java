@@ -0,0 +1,409 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class that models a matrix computation which has been described but not run yet. Multiplying, adding and
+ * subtracting expressions only builds a small graph, in which chains of products and chains of sums are each kept
+ * flat, and nothing is computed until {@link #evaluate()} is called. At that point:
+ * <ul>
+ *     <li>every chain of products is run in the order with the fewest scalar multiplications, found with the
+ *     matrix-chain dynamic program, so (A * B) * v becomes A * (B * v) when v is a vector;</li>
+ *     <li>every chain of sums and differences of matrices is computed in a single pass, one row of the result at a
+ *     time, with no temporaries in between;</li>
+ *     <li>products inside a sum are added straight into the result of the sum, and the last product of a chain is
+ *     written straight into its destination;</li>
+ *     <li>the intermediate products of a chain are written into buffers planned from its order, two for each level
+ *     of the tree of products, so subchains at the same level share them instead of each getting a new matrix.</li>
+ * </ul>
+ */
+public abstract class MatrixExpression {
+    private final int rows;
+    private final int cols;
+
+    /**
+     * @param rows the number of rows of the matrix the expression evaluates to
+     * @param cols the number of columns of the matrix the expression evaluates to
+     */
+    private MatrixExpression(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Creates an expression that evaluates to a matrix. The matrix is not copied, so it should not be changed until
+     * every expression using it has been evaluated.
+     * @param matrix the matrix
+     * @return an expression standing for the matrix
+     */
+    public static MatrixExpression of(Matrix matrix) {
+        return new Leaf(matrix);
+    }
+
+    /**
+     * @return the number of rows of the matrix the expression evaluates to
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return the number of columns of the matrix the expression evaluates to
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * @param other an expression with as many rows as this one has columns
+     * @return an expression for the product of the two expressions
+     */
+    public MatrixExpression multiply(MatrixExpression other) {
+        Matrix.checkMultiplicable(this.rows, this.cols, other.rows, other.cols);
+        List<MatrixExpression> factors = new ArrayList<>();
+        this.collectFactors(factors);
+        other.collectFactors(factors);
+        return new Product(factors);
+    }
+
+    /**
+     * @param other an expression with the same number of rows and columns as this one
+     * @return an expression for the sum of the two expressions
+     */
+    public MatrixExpression add(MatrixExpression other) {
+        return this.combine(other, false);
+    }
+
+    /**
+     * @param other an expression with the same number of rows and columns as this one
+     * @return an expression for the difference of the two expressions
+     */
+    public MatrixExpression sub(MatrixExpression other) {
+        return this.combine(other, true);
+    }
+
+    /**
+     * Builds a flat sum of this expression and another one.
+     * @param other an expression with the same number of rows and columns as this one
+     * @param subtract whether the other expression is subtracted instead of added
+     * @return an expression for the sum or difference of the two expressions
+     */
+    private MatrixExpression combine(MatrixExpression other, boolean subtract) {
+        if (this.rows != other.rows || this.cols != other.cols) {
+            throw new IllegalArgumentException("Cannot add a " + this.rows + "x" + this.cols + " matrix and a "
+                    + other.rows + "x" + other.cols + " matrix");
+        }
+        List<MatrixExpression> terms = new ArrayList<>();
+        List<Boolean> negated = new ArrayList<>();
+        this.collectTerms(terms, negated, false);
+        other.collectTerms(terms, negated, subtract);
+        return new Sum(this.rows, this.cols, terms, negated);
+    }
+
+    /**
+     * Adds the factors of this expression to a chain of products, which is just this expression unless it is a
+     * product itself.
+     * @param factors the chain the factors are added to
+     */
+    void collectFactors(List<MatrixExpression> factors) {
+        factors.add(this);
+    }
+
+    /**
+     * Adds the terms of this expression to a chain of sums, which is just this expression unless it is a sum itself.
+     * @param terms the chain the terms are added to
+     * @param negated whether each term of the chain is subtracted
+     * @param negate whether this expression is subtracted
+     */
+    void collectTerms(List<MatrixExpression> terms, List<Boolean> negated, boolean negate) {
+        terms.add(this);
+        negated.add(negate);
+    }
+
+    /**
+     * Runs the computation described by this expression.
+     * @return a new matrix holding the result
+     */
+    public Matrix evaluate() {
+        Matrix result = new Matrix(this.rows, this.cols);
+        this.evaluateInto(result);
+        return result;
+    }
+
+    /**
+     * Runs the computation described by this expression, writing the result into a matrix that already exists.
+     * @param result a matrix of the same size as the expression, which can be a view but must not share elements
+     *               with any of the matrices in the expression
+     */
+    public void evaluateInto(Matrix result) {
+        if (result.getRows() != this.rows || result.getCols() != this.cols) {
+            throw new IllegalArgumentException("Cannot write a " + this.rows + "x" + this.cols + " result into a "
+                    + result.getRows() + "x" + result.getCols() + " matrix");
+        }
+        this.write(result);
+    }
+
+    /**
+     * Computes this expression into a matrix of the right size, overwriting its contents.
+     * @param result the matrix the value of the expression is written to
+     */
+    abstract void write(Matrix result);
+
+    /**
+     * Computes this expression as a matrix, which is only allocated if the expression is not already one.
+     * @return the value of the expression
+     */
+    Matrix value() {
+        return this.evaluate();
+    }
+
+    /**
+     * Adds the value of this expression to a matrix. Products override this so that they do not need a temporary.
+     * @param result the matrix the value is added to
+     * @param scratch a matrix of the same size that can be overwritten
+     */
+    void addInto(Matrix result, Matrix scratch) {
+        this.write(scratch);
+        scratch.add(result, result);
+    }
+
+    /**
+     * Expression that stands for a matrix.
+     */
+    private static final class Leaf extends MatrixExpression {
+        private final Matrix matrix;
+
+        private Leaf(Matrix matrix) {
+            super(matrix.getRows(), matrix.getCols());
+            this.matrix = matrix;
+        }
+
+        @Override
+        void write(Matrix result) {
+            for (int i = 0; i < this.getRows(); i++) {
+                System.arraycopy(this.matrix.getData(), this.matrix.index(i, 0), result.getData(), result.index(i, 0),
+                        this.getCols());
+            }
+        }
+
+        @Override
+        Matrix value() {
+            return this.matrix;
+        }
+    }
+
+    /**
+     * Expression for a chain of two or more products.
+     */
+    static final class Product extends MatrixExpression {
+        private final MatrixExpression[] factors;
+        private final int[] dimensions; // factor i is dimensions[i] x dimensions[i + 1]
+        private final int[][] split; // split[i][j] is where the best order of factors i to j divides them
+        private final int[][] bufferSizes; // [depth][side]: largest left or right subchain at that depth of the tree
+
+        private Product(List<MatrixExpression> factors) {
+            super(factors.get(0).getRows(), factors.get(factors.size() - 1).getCols());
+            this.factors = factors.toArray(new MatrixExpression[0]);
+            this.dimensions = new int[this.factors.length + 1];
+            for (int i = 0; i < this.factors.length; i++) {
+                this.dimensions[i] = this.factors[i].getRows();
+            }
+            this.dimensions[this.factors.length] = this.getCols();
+            this.split = chainOrder(this.dimensions);
+            this.bufferSizes = new int[this.factors.length][2];
+            this.planBuffers(0, this.factors.length - 1, 0);
+        }
+
+        /**
+         * Sizes the buffers for the products below a subchain. Both halves of a split are needed at once, so each
+         * depth of the tree has a buffer for left halves and one for right halves, large enough for every subchain
+         * that takes that place.
+         * @param i the first factor of the subchain
+         * @param j the last factor of the subchain
+         * @param depth the depth of the subchain in the tree, 0 for the whole chain
+         */
+        private void planBuffers(int i, int j, int depth) {
+            if (i == j) {
+                return;
+            }
+            int s = this.split[i][j];
+            if (i < s) {
+                this.bufferSizes[depth + 1][0] = Math.max(this.bufferSizes[depth + 1][0],
+                        this.dimensions[i] * this.dimensions[s + 1]);
+            }
+            if (s + 1 < j) {
+                this.bufferSizes[depth + 1][1] = Math.max(this.bufferSizes[depth + 1][1],
+                        this.dimensions[s + 1] * this.dimensions[j + 1]);
+            }
+            this.planBuffers(i, s, depth + 1);
+            this.planBuffers(s + 1, j, depth + 1);
+        }
+
+        /**
+         * @return the number of elements of the buffers an evaluation of the chain allocates
+         */
+        int getBufferElements() {
+            int elements = 0;
+            for (int[] sizes : this.bufferSizes) {
+                elements += sizes[0] + sizes[1];
+            }
+            return elements;
+        }
+
+        /**
+         * Finds the order of a chain of products with the fewest scalar multiplications, with the classic O(n^3)
+         * dynamic program over the subchains of increasing length.
+         * @param dimensions the dimensions of the chain, where factor i is dimensions[i] x dimensions[i + 1]
+         * @return a table where entry [i][j] is the factor after which the best order of factors i to j splits them
+         */
+        static int[][] chainOrder(int[] dimensions) {
+            int count = dimensions.length - 1;
+            long[][] cost = new long[count][count];
+            int[][] split = new int[count][count];
+            for (int length = 2; length <= count; length++) {
+                for (int i = 0; i + length - 1 < count; i++) {
+                    int j = i + length - 1;
+                    cost[i][j] = Long.MAX_VALUE;
+                    for (int s = i; s < j; s++) {
+                        long candidate = cost[i][s] + cost[s + 1][j]
+                                + (long) dimensions[i] * dimensions[s + 1] * dimensions[j + 1];
+                        if (candidate < cost[i][j]) {
+                            cost[i][j] = candidate;
+                            split[i][j] = s;
+                        }
+                    }
+                }
+            }
+            return split;
+        }
+
+        @Override
+        void collectFactors(List<MatrixExpression> factors) {
+            factors.addAll(Arrays.asList(this.factors));
+        }
+
+        @Override
+        void write(Matrix result) {
+            result.clear();
+            this.multiplyAdd(0, this.factors.length - 1, result, this.allocateBuffers(), 0);
+        }
+
+        @Override
+        void addInto(Matrix result, Matrix scratch) {
+            this.multiplyAdd(0, this.factors.length - 1, result, this.allocateBuffers(), 0);
+        }
+
+        /**
+         * Allocates the buffers planned for the intermediate products, once per evaluation so that the expression
+         * can be evaluated on several threads at once.
+         * @return the buffers, indexed by depth and then by side
+         */
+        private double[][][] allocateBuffers() {
+            double[][][] buffers = new double[this.bufferSizes.length][2][];
+            for (int depth = 0; depth < buffers.length; depth++) {
+                for (int side = 0; side < 2; side++) {
+                    if (this.bufferSizes[depth][side] > 0) {
+                        buffers[depth][side] = new double[this.bufferSizes[depth][side]];
+                    }
+                }
+            }
+            return buffers;
+        }
+
+        /**
+         * Computes the product of factors i to j in the best order, into the buffer for its place in the tree.
+         * @return the product, or the value of the factor if i = j
+         */
+        private Matrix product(int i, int j, double[][][] buffers, int depth, int side) {
+            if (i == j) {
+                return this.factors[i].value();
+            }
+            Matrix result = Matrix.wrap(buffers[depth][side], this.dimensions[i], this.dimensions[j + 1]);
+            result.clear();
+            this.multiplyAdd(i, j, result, buffers, depth);
+            return result;
+        }
+
+        /**
+         * Adds the product of factors i to j, where i < j, to a matrix, computing the two halves of the best split
+         * first into the buffers of the next depth.
+         */
+        private void multiplyAdd(int i, int j, Matrix result, double[][][] buffers, int depth) {
+            int s = this.split[i][j];
+            BlockedMultiplier.getDefault().multiplyAdd(this.product(i, s, buffers, depth + 1, 0),
+                    this.product(s + 1, j, buffers, depth + 1, 1), result);
+        }
+    }
+
+    /**
+     * Expression for a chain of two or more sums and differences.
+     */
+    private static final class Sum extends MatrixExpression {
+        private final MatrixExpression[] terms;
+        private final boolean[] negated;
+
+        private Sum(int rows, int cols, List<MatrixExpression> terms, List<Boolean> negated) {
+            super(rows, cols);
+            this.terms = terms.toArray(new MatrixExpression[0]);
+            this.negated = new boolean[this.terms.length];
+            for (int t = 0; t < this.terms.length; t++) {
+                this.negated[t] = negated.get(t);
+            }
+        }
+
+        @Override
+        void collectTerms(List<MatrixExpression> terms, List<Boolean> negated, boolean negate) {
+            for (int t = 0; t < this.terms.length; t++) {
+                terms.add(this.terms[t]);
+                negated.add(this.negated[t] != negate);
+            }
+        }
+
+        /**
+         * Adds up the matrices of the sum in one pass, one row at a time so the row of the result stays in the L1
+         * cache while every term is added to it. Positive products are then added straight into the result, and any
+         * other terms go through one scratch matrix shared by all of them.
+         */
+        @Override
+        void write(Matrix result) {
+            MatrixKernel kernel = MatrixKernel.getDefault();
+            double[] out = result.getData();
+            int cols = this.getCols();
+            for (int i = 0; i < this.getRows(); i++) {
+                int row = result.index(i, 0);
+                Arrays.fill(out, row, row + cols, 0.0);
+                for (int t = 0; t < this.terms.length; t++) {
+                    if (this.terms[t] instanceof Leaf) {
+                        Matrix term = ((Leaf) this.terms[t]).matrix;
+                        if (this.negated[t]) {
+                            kernel.sub(1, cols, out, row, cols, term.getData(), term.index(i, 0), cols, out, row, cols);
+                        }
+                        else {
+                            kernel.add(1, cols, out, row, cols, term.getData(), term.index(i, 0), cols, out, row, cols);
+                        }
+                    }
+                }
+            }
+
+            Matrix scratch = null;
+            for (int t = 0; t < this.terms.length; t++) {
+                MatrixExpression term = this.terms[t];
+                if (term instanceof Leaf) {
+                    continue;
+                }
+                if (scratch == null && (this.negated[t] || !(term instanceof Product))) {
+                    scratch = new Matrix(this.getRows(), cols);
+                }
+                if (this.negated[t]) {
+                    term.write(scratch);
+                    result.sub(scratch, result);
+                }
+                else {
+                    term.addInto(result, scratch);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of lazy matrix expressions.
+ */
+public class MatrixExpressionTest {
+    /**
+     * Helper method for the tests, generates an mxn matrix of random numbers from 1-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return the generated matrix
+     */
+    private Matrix generateRandomMxNMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = 1 + (Math.random() * 9);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * The textbook example: with A 10x100, B 100x5 and C 5x50, (A * B) * C takes a tenth of the multiplications of
+     * A * (B * C). A chain ending in a vector should be run from the right.
+     */
+    @Test
+    public void testChainOrder() {
+        int[][] split = MatrixExpression.Product.chainOrder(new int[]{10, 100, 5, 50});
+        assertEquals(1, split[0][2]);
+
+        split = MatrixExpression.Product.chainOrder(new int[]{200, 200, 200, 1});
+        assertEquals(0, split[0][2]);
+        assertEquals(1, split[1][2]);
+    }
+
+    @Test
+    public void testChainMatchesEagerProduct() {
+        Matrix a = generateRandomMxNMatrix(30, 40);
+        Matrix b = generateRandomMxNMatrix(40, 25);
+        Matrix c = generateRandomMxNMatrix(25, 35);
+        Matrix v = generateRandomMxNMatrix(35, 1);
+        MatrixExpression chain = MatrixExpression.of(a).multiply(MatrixExpression.of(b))
+                .multiply(MatrixExpression.of(c).multiply(MatrixExpression.of(v)));
+
+        assertEquals(a.multiply(b).multiply(c).multiply(v), chain.evaluate());
+    }
+
+    /**
+     * Make sure a chain that splits into ((A * B) * (C * D)) * ((E * F) * (G * H)) shares the buffers of the four
+     * products at the second level, two of 10x20 and 20x10 on the left and two of 10x40 and 40x10 on the right, and
+     * still evaluates correctly, twice in a row, up to rounding since the order differs from the eager product.
+     */
+    @Test
+    public void testChainBuffersShared() {
+        int[] dimensions = {10, 50, 20, 50, 10, 60, 40, 40, 10};
+        Matrix[] factors = new Matrix[dimensions.length - 1];
+        MatrixExpression chain = null;
+        Matrix expected = null;
+        for (int f = 0; f < factors.length; f++) {
+            factors[f] = generateRandomMxNMatrix(dimensions[f], dimensions[f + 1]);
+            MatrixExpression factor = MatrixExpression.of(factors[f]);
+            chain = (chain == null) ? factor : chain.multiply(factor);
+            expected = (expected == null) ? factors[f] : expected.multiply(factors[f]);
+        }
+
+        // 10x10 on both sides of the root, then the larger of each side's pair at the second level
+        assertEquals(10 * 10 + 10 * 10 + 10 * 40 + 40 * 10, ((MatrixExpression.Product) chain).getBufferElements());
+        for (int evaluation = 0; evaluation < 2; evaluation++) {
+            Matrix result = chain.evaluate();
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 10; j++) { // The products reach 10^16, so only relative error can be checked
+                    assertEquals(expected.get(i, j), result.get(i, j), 1e-12 * expected.get(i, j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Make sure nested sums and differences keep their signs, and products inside a sum are added correctly.
+     */
+    @Test
+    public void testFusedSums() {
+        Matrix a = generateRandomMxNMatrix(20, 20);
+        Matrix b = generateRandomMxNMatrix(20, 20);
+        Matrix c = generateRandomMxNMatrix(20, 20);
+        Matrix d = generateRandomMxNMatrix(20, 20);
+        MatrixExpression ea = MatrixExpression.of(a);
+        MatrixExpression eb = MatrixExpression.of(b);
+        MatrixExpression ec = MatrixExpression.of(c);
+        MatrixExpression ed = MatrixExpression.of(d);
+
+        // a - (b - c) + a * d - (c * d)
+        MatrixExpression expression = ea.sub(eb.sub(ec)).add(ea.multiply(ed)).sub(ec.multiply(ed));
+        Matrix expected = new Matrix(20, 20);
+        a.sub(b, expected).add(c, expected).add(a.multiply(d), expected).sub(c.multiply(d), expected);
+        assertEquals(expected, expression.evaluate());
+
+        // (a + b) * (c - d)
+        Matrix left = a.add(b, new Matrix(20, 20));
+        Matrix right = c.sub(d, new Matrix(20, 20));
+        assertEquals(left.multiply(right), ea.add(eb).multiply(ec.sub(ed)).evaluate());
+    }
+
+    @Test
+    public void testEvaluateIntoView() {
+        Matrix a = generateRandomMxNMatrix(6, 4);
+        Matrix b = generateRandomMxNMatrix(4, 5);
+        Matrix target = new Matrix(10, 10);
+        MatrixExpression.of(a).multiply(MatrixExpression.of(b)).evaluateInto(target.view(2, 3, 6, 5));
+
+        assertEquals(a.multiply(b), target.view(2, 3, 6, 5));
+        assertEquals(0.0, target.get(0, 0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedSum() {
+        MatrixExpression.of(new Matrix(3, 4)).add(MatrixExpression.of(new Matrix(4, 3)));
+    }
+}
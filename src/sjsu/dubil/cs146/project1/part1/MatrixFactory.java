@@ -0,0 +1,113 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that chooses between the dense and sparse representations of a matrix by its density, the fraction of its
+ * elements that are not zero, and multiplies any two representations with the kernel that suits them.
+ */
+public final class MatrixFactory {
+    /**
+     * Density at or below which a matrix is stored in sparse form. Sparse kernels do a few memory accesses per
+     * non-zero element where the blocked dense kernel streams through cache, so they only win once most of the work
+     * of the dense kernel would be spent on zeros.
+     */
+    public static final double DEFAULT_SPARSE_DENSITY = 0.05;
+
+    private MatrixFactory() {
+    }
+
+    /**
+     * @param matrix a dense matrix
+     * @return the fraction of the elements of the matrix that are not zero, or 0 for an empty matrix
+     */
+    public static double density(Matrix matrix) {
+        long elements = (long) matrix.getRows() * matrix.getCols();
+        if (elements == 0) {
+            return 0.0;
+        }
+
+        long nonZeros = 0;
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                if (matrix.get(i, j) != 0.0) {
+                    nonZeros++;
+                }
+            }
+        }
+        return (double) nonZeros / elements;
+    }
+
+    /**
+     * @param operand a matrix in any representation
+     * @return the fraction of the elements of the matrix that are not zero, or 0 for an empty matrix
+     */
+    public static double density(MatrixOperand operand) {
+        long elements = (long) operand.getRows() * operand.getCols();
+        if (operand instanceof CsrMatrix) {
+            return (elements == 0) ? 0.0 : (double) ((CsrMatrix) operand).getNonZeroCount() / elements;
+        }
+        if (operand instanceof CscMatrix) {
+            return (elements == 0) ? 0.0 : (double) ((CscMatrix) operand).getNonZeroCount() / elements;
+        }
+        return density(operand.toDense());
+    }
+
+    /**
+     * Chooses the representation of a matrix using the default density threshold.
+     * @param matrix a dense matrix
+     * @return the matrix in compressed sparse row form if it is sparse enough, otherwise the matrix itself
+     */
+    public static MatrixOperand of(Matrix matrix) {
+        return of(matrix, DEFAULT_SPARSE_DENSITY);
+    }
+
+    /**
+     * Chooses the representation of a matrix.
+     * @param matrix a dense matrix
+     * @param sparseDensity the density at or below which the sparse form is used
+     * @return the matrix in compressed sparse row form if it is sparse enough, otherwise the matrix itself
+     */
+    public static MatrixOperand of(Matrix matrix, double sparseDensity) {
+        return (density(matrix) <= sparseDensity) ? CsrMatrix.fromDense(matrix) : matrix;
+    }
+
+    /**
+     * Multiplies two matrices in any representation with the kernel that suits them: the blocked kernel for two dense
+     * matrices, a sparse-dense kernel when one of them is sparse, and Gustavson's algorithm when both are. The product
+     * of two sparse matrices stays sparse unless it fills in past the default density threshold.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @return the m x n product, in the representation that suits its density
+     */
+    public static MatrixOperand multiply(MatrixOperand a, MatrixOperand b) {
+        Matrix.checkMultiplicable(a, b);
+        boolean aSparse = isSparse(a);
+        boolean bSparse = isSparse(b);
+
+        if (aSparse && bSparse) {
+            CsrMatrix product = toCsr(a).multiply(toCsr(b));
+            return (density(product) <= DEFAULT_SPARSE_DENSITY) ? product : product.toDense();
+        }
+        if (aSparse) {
+            return (a instanceof CscMatrix) ? ((CscMatrix) a).multiply(b.toDense()) : toCsr(a).multiply(b.toDense());
+        }
+        if (bSparse) {
+            return (b instanceof CscMatrix) ? ((CscMatrix) b).multiplyLeft(a.toDense())
+                    : toCsr(b).multiplyLeft(a.toDense());
+        }
+        return a.toDense().multiply(b.toDense());
+    }
+
+    /**
+     * @return whether the operand is in one of the sparse representations
+     */
+    private static boolean isSparse(MatrixOperand operand) {
+        return (operand instanceof CsrMatrix) || (operand instanceof CscMatrix);
+    }
+
+    /**
+     * @return a sparse operand in compressed sparse row form, converting it if it is in column form
+     */
+    private static CsrMatrix toCsr(MatrixOperand operand) {
+        return (operand instanceof CscMatrix) ? ((CscMatrix) operand).toCsr() : (CsrMatrix) operand;
+    }
+}
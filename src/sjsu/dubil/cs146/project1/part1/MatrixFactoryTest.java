@@ -0,0 +1,59 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of the choice of representation and kernel by density.
+ */
+public class MatrixFactoryTest {
+    /**
+     * Helper method that builds an nxn matrix with the given value on its diagonal and zeros everywhere else.
+     * @param n the number of rows and columns
+     * @param value the value of the diagonal elements
+     * @return the diagonal matrix
+     */
+    private Matrix diagonal(int n, double value) {
+        Matrix matrix = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            matrix.set(i, i, value);
+        }
+        return matrix;
+    }
+
+    /**
+     * Make sure density is counted correctly and the sparse form is only chosen below the threshold.
+     */
+    @Test
+    public void testRepresentationByDensity() {
+        Matrix sparse = diagonal(100, 2.0);
+        Matrix dense = new Matrix(new double[][]{{1, 2}, {3, 0}});
+
+        assertEquals(0.01, MatrixFactory.density(sparse), 1e-12);
+        assertEquals(0.75, MatrixFactory.density(dense), 1e-12);
+        assertTrue(MatrixFactory.of(sparse) instanceof CsrMatrix);
+        assertSame(dense, MatrixFactory.of(dense));
+    }
+
+    /**
+     * Make sure every combination of representations multiplies correctly, and the product of two sparse matrices
+     * stays sparse.
+     */
+    @Test
+    public void testMultiplyAllRepresentations() {
+        Matrix a = diagonal(50, 2.0);
+        a.set(3, 40, 1.5);
+        Matrix b = diagonal(50, 3.0);
+        b.set(10, 20, -4.0);
+        Matrix expected = a.multiply(b);
+        MatrixOperand[] lefts = {a, CsrMatrix.fromDense(a), CscMatrix.fromDense(a)};
+        MatrixOperand[] rights = {b, CsrMatrix.fromDense(b), CscMatrix.fromDense(b)};
+
+        for (MatrixOperand left : lefts) {
+            for (MatrixOperand right : rights) {
+                assertEquals(expected, MatrixFactory.multiply(left, right).toDense());
+            }
+        }
+        assertTrue(MatrixFactory.multiply(lefts[1], rights[2]) instanceof CsrMatrix);
+    }
+}
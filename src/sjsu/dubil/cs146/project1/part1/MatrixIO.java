@@ -0,0 +1,294 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that saves and loads matrices. The binary format is a 32-byte header followed by the elements as row-major
+ * little-endian doubles, the same layout {@link MappedMatrix} uses, so a saved matrix can also be mapped straight from
+ * its file without being loaded at all. The header, also little-endian, holds:
+ * <pre>
+ *   offset  size  field
+ *        0     4  magic number, the bytes "SJMX"
+ *        4     4  version of the format, currently 1
+ *        8     4  type of the elements, 1 for 64-bit floating point
+ *       12     4  number of rows
+ *       16     4  number of columns
+ *       20    12  reserved, zero, so the elements start on an 8-byte boundary
+ * </pre>
+ * Matrices are streamed through a small direct buffer, so writing or reading one never holds a second copy of it in
+ * memory, and the text writer produces one line at a time instead of one string for the whole matrix.
+ */
+public final class MatrixIO {
+    /**
+     * The size of the header in bytes, which is also where the elements start.
+     */
+    public static final int HEADER_BYTES = 32;
+
+    private static final int MAGIC = 0x584D4A53; // "SJMX" when written little-endian
+    private static final int VERSION = 1;
+    private static final int TYPE_FLOAT64 = 1;
+    private static final int BUFFER_BYTES = 1 << 16; // size of the direct buffer elements are streamed through
+
+    private MatrixIO() {
+    }
+
+    /**
+     * Saves a matrix to a file in the binary format, replacing the file if it already exists.
+     * @param matrix the matrix, which can be a view
+     * @param file the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Matrix matrix, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(matrix, channel);
+        }
+    }
+
+    /**
+     * Writes a matrix to a channel in the binary format.
+     * @param matrix the matrix, which can be a view
+     * @param channel the channel, which is left open
+     * @throws IOException if the channel cannot be written to
+     */
+    public static void write(Matrix matrix, WritableByteChannel channel) throws IOException {
+        writeFully(channel, header(matrix.getRows(), matrix.getCols()));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+        double[] data = matrix.getData();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            int position = matrix.index(i, 0);
+            int remaining = matrix.getCols();
+            while (remaining > 0) {
+                int count = Math.min(remaining, doubles.remaining());
+                doubles.put(data, position, count);
+                position += count;
+                remaining -= count;
+                if (!doubles.hasRemaining()) {
+                    flushBuffer(channel, buffer, doubles);
+                }
+            }
+        }
+        flushBuffer(channel, buffer, doubles);
+    }
+
+    /**
+     * Loads a matrix saved in the binary format.
+     * @param file the path of the file
+     * @return a new matrix holding the elements in the file
+     * @throws IOException if the file cannot be read or is not a matrix file
+     */
+    public static Matrix read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads a matrix in the binary format from a channel.
+     * @param channel the channel, positioned at the start of the header and left open after the last element
+     * @return a new matrix holding the elements read
+     * @throws IOException if the channel cannot be read from, ends too early or does not hold a matrix
+     */
+    public static Matrix read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header);
+        checkHeader(header);
+        int rows = header.getInt(12);
+        int cols = header.getInt(16);
+        if ((long) rows * cols > Integer.MAX_VALUE) { // Only a mapped matrix can hold more elements than an array
+            throw new IOException("A " + rows + "x" + cols + " matrix is too large to load, it can only be mapped");
+        }
+        Matrix matrix = new Matrix(rows, cols);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        double[] data = matrix.getData();
+        int position = 0;
+        while (position < data.length) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (long) (data.length - position) * Double.BYTES));
+            readFully(channel, buffer);
+            buffer.flip();
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            int count = doubles.remaining();
+            doubles.get(data, position, count);
+            position += count;
+        }
+        return matrix;
+    }
+
+    /**
+     * Maps a matrix saved in the binary format without loading it, so its elements are read from and written to the
+     * file directly.
+     * @param file the path of the file
+     * @param writable whether elements of the matrix will be written
+     * @return the mapped matrix
+     * @throws IOException if the file cannot be opened or mapped, or is not a matrix file
+     */
+    public static MappedMatrix map(Path file, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new EOFException("The file is too short to hold a matrix header");
+                }
+            }
+            checkHeader(header);
+            return new MappedMatrix(channel, header.getInt(12), header.getInt(16), HEADER_BYTES, writable);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a file in the binary format holding a matrix of zeros, replacing the file if it already exists, and maps
+     * it so the elements can be filled in directly.
+     * @param file the path of the file
+     * @param rows the number of rows of the matrix
+     * @param cols the number of columns of the matrix
+     * @return the mapped matrix, open for reading and writing
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedMatrix create(Path file, int rows, int cols) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = header(rows, cols);
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            if ((long) rows * cols > 0) { // Extending the file fills it with zeros without writing them
+                channel.write(ByteBuffer.allocate(1), HEADER_BYTES + (long) rows * cols * Double.BYTES - 1);
+            }
+            return new MappedMatrix(channel, rows, cols, HEADER_BYTES, true);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a matrix to a file as comma-separated text, one row per line.
+     * @param matrix the matrix, which can be a view
+     * @param file the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCsv(Matrix matrix, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeCsv(matrix, writer);
+        }
+    }
+
+    /**
+     * Writes a matrix as comma-separated text, one row per line. Every element is written in a form that reads back
+     * exactly as the same double, and only one line is ever held in memory.
+     * @param matrix the matrix, which can be a view
+     * @param writer the writer, which is flushed but left open
+     * @throws IOException if the writer fails
+     */
+    public static void writeCsv(Matrix matrix, Writer writer) throws IOException {
+        Writer out = (writer instanceof BufferedWriter) ? writer : new BufferedWriter(writer, BUFFER_BYTES);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            line.setLength(0);
+            for (int j = 0; j < matrix.getCols(); j++) {
+                if (j > 0) {
+                    line.append(',');
+                }
+                line.append(matrix.get(i, j));
+            }
+            line.append('\n');
+            out.append(line);
+        }
+        out.flush();
+    }
+
+    /**
+     * @return a buffer holding the header of a matrix of the given size, ready to be written
+     */
+    private static ByteBuffer header(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("The dimensions cannot be negative");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(TYPE_FLOAT64).putInt(rows).putInt(cols);
+        header.clear();
+        return header;
+    }
+
+    /**
+     * Checks that a header which has been read describes a matrix this version can read. The number of elements is not
+     * limited here, since a mapped matrix can hold more than an array; {@link #read(ReadableByteChannel)} checks that
+     * the matrix fits in one.
+     * @param header the header
+     * @throws IOException if the header is not one this version can read
+     */
+    private static void checkHeader(ByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a matrix file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported version " + header.getInt(4) + " of the matrix format");
+        }
+        if (header.getInt(8) != TYPE_FLOAT64) {
+            throw new IOException("Unsupported element type " + header.getInt(8));
+        }
+        int rows = header.getInt(12);
+        int cols = header.getInt(16);
+        if (rows < 0 || cols < 0) {
+            throw new IOException("Invalid dimensions " + rows + "x" + cols);
+        }
+    }
+
+    /**
+     * Writes the doubles gathered in a buffer to a channel and empties the buffer.
+     */
+    private static void flushBuffer(WritableByteChannel channel, ByteBuffer buffer, DoubleBuffer doubles)
+            throws IOException {
+        buffer.clear();
+        buffer.limit(doubles.position() * Double.BYTES);
+        writeFully(channel, buffer);
+        doubles.clear();
+    }
+
+    /**
+     * Writes everything left in a buffer to a channel, which may take several calls.
+     */
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Fills the rest of a buffer from a channel, which may take several calls.
+     * @throws EOFException if the channel ends first
+     */
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The channel ended before the whole matrix was read");
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Class to handle testing of saving and loading matrices.
+ */
+public class MatrixIOTest {
+    private Path directory;
+
+    @Before
+    public void before() throws Exception {
+        directory = Files.createTempDirectory("matrix");
+    }
+
+    @After
+    public void after() throws Exception {
+        for (File file : directory.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Helper method for the tests, generates an mxn matrix and fills it with random numbers from 0-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return an mxn matrix filled with random numbers from 0-10
+     */
+    private Matrix generateRandomMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = Math.random() * 10;
+            }
+        }
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure a view larger than the streaming buffer survives a round trip bit for bit.
+     */
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        Matrix matrix = generateRandomMatrix(150, 130).view(10, 5, 120, 100);
+        Path file = directory.resolve("m.bin");
+        MatrixIO.write(matrix, file);
+
+        assertEquals(MatrixIO.HEADER_BYTES + 120L * 100 * Double.BYTES, Files.size(file));
+        Matrix loaded = MatrixIO.read(file);
+        assertEquals(ProductVerifier.fingerprint(matrix), ProductVerifier.fingerprint(loaded));
+    }
+
+    /**
+     * Make sure a saved matrix can be mapped in place, and a created one can be loaded.
+     */
+    @Test
+    public void testMapping() throws IOException {
+        Matrix matrix = generateRandomMatrix(20, 30);
+        Path file = directory.resolve("m.bin");
+        MatrixIO.write(matrix, file);
+        try (MappedMatrix mapped = MatrixIO.map(file, false)) {
+            assertEquals(20, mapped.getRows());
+            assertEquals(30, mapped.getCols());
+            assertEquals(matrix.get(13, 27), mapped.get(13, 27), 0.0);
+        }
+
+        Path created = directory.resolve("c.bin");
+        try (MappedMatrix mapped = MatrixIO.create(created, 4, 3)) {
+            mapped.set(3, 2, 7.5);
+            mapped.flush();
+        }
+        Matrix loaded = MatrixIO.read(created);
+        assertEquals(7.5, loaded.get(3, 2), 0.0);
+        assertEquals(0.0, loaded.get(0, 0), 0.0);
+    }
+
+    /**
+     * Make sure a matrix with more than 2^31 elements, too many for an array, can be created and mapped back, while
+     * loading it is refused. The file is sparse, so only the pages written take up disk space.
+     */
+    @Test
+    public void testMappingLargerThanArray() throws IOException {
+        Path file = directory.resolve("large.bin");
+        try (MappedMatrix mapped = MatrixIO.create(file, 50000, 50000)) {
+            mapped.set(49999, 49998, 2.5);
+            mapped.flush();
+        }
+        try (MappedMatrix mapped = MatrixIO.map(file, false)) {
+            assertEquals(50000, mapped.getRows());
+            assertEquals(50000, mapped.getCols());
+            assertEquals(2.5, mapped.get(49999, 49998), 0.0);
+            assertEquals(0.0, mapped.get(0, 0), 0.0);
+        }
+
+        try {
+            MatrixIO.read(file);
+            fail("A matrix too large for an array should not be loaded");
+        }
+        catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAMatrixFile() throws IOException {
+        Path file = directory.resolve("text.bin");
+        Files.write(file, new byte[64]);
+        MatrixIO.read(file);
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        Matrix matrix = new Matrix(new double[][]{{1, 2.5, -3}, {0.1, 1e-20, 4}});
+        StringWriter writer = new StringWriter();
+        MatrixIO.writeCsv(matrix, writer);
+
+        assertEquals("1.0,2.5,-3.0\n0.1,1.0E-20,4.0\n", writer.toString());
+    }
+}
@@ -0,0 +1,68 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Interface for the innermost loops of the matrix algorithms, which work on blocks of row-major arrays described by an
+ * offset and a row stride. {@link #getDefault()} picks the SIMD implementation when the Vector API is available and the
+ * scalar one otherwise.
+ */
+interface MatrixKernel {
+    /**
+     * Computes C += A * B for a tile small enough to stay in cache.
+     * @param m the number of rows of A and C
+     * @param n the number of columns of B and C
+     * @param k the number of columns of A and rows of B
+     */
+    void multiplyTile(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff, int bStride,
+                      double[] c, int cOff, int cStride);
+
+    /**
+     * Computes Z = X + Y on rows x cols blocks. Z may be the same block as X or Y.
+     */
+    void add(int rows, int cols, double[] x, int xOff, int xStride, double[] y, int yOff, int yStride,
+             double[] z, int zOff, int zStride);
+
+    /**
+     * Computes Z = X - Y on rows x cols blocks. Z may be the same block as X or Y.
+     */
+    void sub(int rows, int cols, double[] x, int xOff, int xStride, double[] y, int yOff, int yStride,
+             double[] z, int zOff, int zStride);
+
+    /**
+     * @return a short name for the implementation, used in reports and timing output
+     */
+    String getName();
+
+    /**
+     * Returns the kernel chosen when the class was loaded: the one named by the system property matrix.kernel
+     * (scalar or vector) if it is set, otherwise the SIMD kernel if the jdk.incubator.vector module was added to the
+     * JVM and the SIMD kernel was compiled from src-vector, otherwise the scalar kernel.
+     * @return the kernel shared by all of the matrix algorithms
+     */
+    static MatrixKernel getDefault() {
+        return Selection.DEFAULT;
+    }
+
+    /**
+     * Holder class so the kernel is only chosen once, the first time it is needed.
+     */
+    final class Selection {
+        static final MatrixKernel DEFAULT = select();
+
+        private Selection() {
+        }
+
+        private static MatrixKernel select() {
+            String name = System.getProperty("matrix.kernel", "vector");
+            if (name.equals("vector") && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    return (MatrixKernel) Class.forName("sjsu.dubil.cs146.project1.part1.VectorKernel")
+                            .getDeclaredConstructor().newInstance();
+                }
+                catch (ReflectiveOperationException | LinkageError e) { // Fall back if it was not built or cannot link
+                    return new ScalarKernel();
+                }
+            }
+            return new ScalarKernel();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Class that counts where the work of Strassen's algorithm goes, for matrices of any element type: floating point
+ * operations, bytes allocated for temporaries, the number of calls and the time spent at each level of the recursion,
+ * and the time spent in the base-case kernel. Metrics are off until {@link #enable()} is called. While they are off
+ * the algorithm only reads one field per level of recursion, and the loops over elements are never touched.
+ * <p>
+ * Every top-level product done while metrics are on is also recorded as a JDK Flight Recorder event, "sjsu.matrix.
+ * Multiply", followed by one "sjsu.matrix.StrassenLevel" event for each level of its recursion. A top-level product
+ * counts its work apart from everything else, on the thread computing it, and adds it to the totals when it is done, so
+ * the events of products that run at the same time hold only their own work. The products forked by a
+ * {@link ParallelMultiplier} are top-level products of their own on the threads of the pool, starting again from
+ * level 0.
+ */
+public final class MatrixMetrics {
+    /**
+     * Levels at or below this one are all counted together with it.
+     */
+    public static final int MAX_DEPTH = 63;
+
+    static volatile MatrixMetrics active; // the metrics being counted, or null when they are off
+
+    private final LongAdder flops = new LongAdder();
+    private final LongAdder bytesAllocated = new LongAdder();
+    private final LongAdder kernelCalls = new LongAdder();
+    private final LongAdder kernelNanos = new LongAdder();
+    private final AtomicLongArray levelCalls = new AtomicLongArray(MAX_DEPTH + 1);
+    private final AtomicLongArray levelNanos = new AtomicLongArray(MAX_DEPTH + 1); // including the levels below
+    private final AtomicInteger maxDepth = new AtomicInteger(-1);
+    private final ThreadLocal<Product> product = new ThreadLocal<>(); // the top-level product computed on the thread
+
+    private MatrixMetrics() {
+    }
+
+    /**
+     * Turns metrics on, starting from zero.
+     * @return the metrics counted from now on
+     */
+    public static MatrixMetrics enable() {
+        MatrixMetrics metrics = new MatrixMetrics();
+        active = metrics;
+        return metrics;
+    }
+
+    /**
+     * Turns metrics off. The metrics counted so far can still be read.
+     */
+    public static void disable() {
+        active = null;
+    }
+
+    /**
+     * @return the metrics being counted, or null if they are off
+     */
+    public static MatrixMetrics current() {
+        return active;
+    }
+
+    /**
+     * @return the number of floating point operations done, counting a multiply-add as two
+     */
+    public long getFlops() {
+        return this.flops.sum();
+    }
+
+    /**
+     * @return the number of bytes allocated for temporaries
+     */
+    public long getBytesAllocated() {
+        return this.bytesAllocated.sum();
+    }
+
+    /**
+     * @return the number of calls to the base-case kernel
+     */
+    public long getKernelCalls() {
+        return this.kernelCalls.sum();
+    }
+
+    /**
+     * @return the number of nanoseconds spent in the base-case kernel
+     */
+    public long getKernelNanos() {
+        return this.kernelNanos.sum();
+    }
+
+    /**
+     * @return the deepest level of recursion reached, where the top-level call is level 0, or -1 if there was none
+     */
+    public int getMaxDepth() {
+        return this.maxDepth.get();
+    }
+
+    /**
+     * @param level a level of recursion, from 0 to {@link #MAX_DEPTH}
+     * @return the number of calls made at that level
+     */
+    public long getLevelCalls(int level) {
+        return this.levelCalls.get(level);
+    }
+
+    /**
+     * @param level a level of recursion, from 0 to {@link #MAX_DEPTH}
+     * @return the number of nanoseconds spent in calls at that level, including the levels below them
+     */
+    public long getLevelNanos(int level) {
+        return this.levelNanos.get(level);
+    }
+
+    /**
+     * Adds floating point operations done outside of the kernel to the product being computed on this thread.
+     * @param count the number of operations
+     */
+    void addFlops(long count) {
+        this.product.get().flops += count;
+    }
+
+    /**
+     * Adds memory allocated for temporaries to the product being computed on this thread.
+     * @param bytes the number of bytes
+     */
+    void addBytesAllocated(long bytes) {
+        this.product.get().bytesAllocated += bytes;
+    }
+
+    /**
+     * Runs one level of Strassen's algorithm, counting the call and its time at its level in the product being
+     * computed on this thread. A call made while no product is being computed on the thread starts a top-level product,
+     * whose counts are added to the totals and recorded as Flight Recorder events once it is done.
+     * @param a the left operand
+     * @param b the right operand
+     * @param result the matrix the product is written to
+     * @param <M> the type of the matrices
+     */
+    <M extends AbstractMatrix<M>> void profileStrassen(AbstractMatrix<M> a, M b, M result) {
+        Product current = this.product.get();
+        if (current != null) {
+            int level = current.depth;
+            int slot = Math.min(level, MAX_DEPTH);
+            current.maxDepth = Math.max(current.maxDepth, level);
+            current.depth = level + 1;
+            long start = System.nanoTime();
+            try {
+                a.strassenStep(b, result, this);
+            }
+            finally {
+                current.depth = level;
+                current.levelCalls[slot]++;
+                current.levelNanos[slot] += System.nanoTime() - start;
+            }
+            return;
+        }
+
+        // a top-level product, counted on its own so that products running at the same time do not mix
+        current = new Product();
+        this.product.set(current);
+        MultiplyEvent event = new MultiplyEvent();
+        event.begin();
+        current.depth = 1;
+        long start = System.nanoTime();
+        try {
+            a.strassenStep(b, result, this);
+        }
+        finally {
+            current.levelCalls[0]++;
+            current.levelNanos[0] += System.nanoTime() - start;
+            this.product.remove();
+            this.addToTotals(current);
+        }
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.rows = a.getRows();
+            event.inner = a.getCols();
+            event.cols = b.getCols();
+            event.flops = current.flops;
+            event.bytesAllocated = current.bytesAllocated;
+            event.kernelNanos = current.kernelNanos;
+            event.depth = current.maxDepth;
+            event.commit();
+        }
+        for (int l = 0; l <= Math.min(current.maxDepth, MAX_DEPTH); l++) {
+            LevelEvent levelEvent = new LevelEvent();
+            if (!levelEvent.isEnabled()) {
+                break;
+            }
+            levelEvent.level = l;
+            levelEvent.calls = current.levelCalls[l];
+            levelEvent.totalNanos = current.levelNanos[l];
+            levelEvent.commit();
+        }
+    }
+
+    /**
+     * Runs the base-case kernel of Strassen's algorithm, counting its operations and time in the product being
+     * computed on this thread.
+     * @param a the left operand
+     * @param b the right operand
+     * @param result the matrix the product is added to
+     * @param <M> the type of the matrices
+     */
+    <M extends AbstractMatrix<M>> void profileKernel(AbstractMatrix<M> a, M b, M result) {
+        Product current = this.product.get();
+        long start = System.nanoTime();
+        a.multiplyAdd(b, result);
+        current.kernelNanos += System.nanoTime() - start;
+        current.kernelCalls++;
+        current.flops += 2L * a.getRows() * a.getCols() * b.getCols();
+    }
+
+    /**
+     * Adds the counts of a finished top-level product to the totals.
+     * @param done the counts of the product
+     */
+    private void addToTotals(Product done) {
+        this.flops.add(done.flops);
+        this.bytesAllocated.add(done.bytesAllocated);
+        this.kernelCalls.add(done.kernelCalls);
+        this.kernelNanos.add(done.kernelNanos);
+        for (int l = 0; l <= Math.min(done.maxDepth, MAX_DEPTH); l++) {
+            this.levelCalls.addAndGet(l, done.levelCalls[l]);
+            this.levelNanos.addAndGet(l, done.levelNanos[l]);
+        }
+        this.maxDepth.accumulateAndGet(done.maxDepth, Math::max);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("MatrixMetrics{flops=" + this.getFlops()
+                + ", bytesAllocated=" + this.getBytesAllocated()
+                + ", kernelCalls=" + this.getKernelCalls()
+                + ", kernelNanos=" + this.getKernelNanos()
+                + ", levels=[");
+        for (int l = 0; l <= this.getMaxDepth() && l <= MAX_DEPTH; l++) {
+            if (l > 0) {
+                builder.append(", ");
+            }
+            builder.append(this.getLevelCalls(l)).append(" calls in ").append(this.getLevelNanos(l)).append(" ns");
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * The counts of one top-level product, which only the thread computing it touches.
+     */
+    private static final class Product {
+        private final long[] levelCalls = new long[MAX_DEPTH + 1];
+        private final long[] levelNanos = new long[MAX_DEPTH + 1];
+        private long flops;
+        private long bytesAllocated;
+        private long kernelCalls;
+        private long kernelNanos;
+        private int depth; // level of the next call
+        private int maxDepth;
+    }
+
+    /**
+     * Flight Recorder event for one top-level product done with Strassen's algorithm.
+     */
+    @Name("sjsu.matrix.Multiply")
+    @Label("Matrix Multiply")
+    @Category("Matrix")
+    @Description("A product computed with Strassen's algorithm while matrix metrics were enabled")
+    static final class MultiplyEvent extends Event {
+        @Label("Rows")
+        int rows;
+
+        @Label("Inner Dimension")
+        int inner;
+
+        @Label("Columns")
+        int cols;
+
+        @Label("Floating Point Operations")
+        long flops;
+
+        @Label("Bytes Allocated")
+        long bytesAllocated;
+
+        @Label("Kernel Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long kernelNanos;
+
+        @Label("Recursion Depth")
+        int depth;
+    }
+
+    /**
+     * Flight Recorder event for the calls at one level of the recursion of a top-level product.
+     */
+    @Name("sjsu.matrix.StrassenLevel")
+    @Label("Strassen Level")
+    @Category("Matrix")
+    @Description("The calls made at one level of the recursion of a product, and the time spent in them")
+    static final class LevelEvent extends Event {
+        @Label("Level")
+        int level;
+
+        @Label("Calls")
+        long calls;
+
+        @Label("Total Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long totalNanos;
+    }
+}
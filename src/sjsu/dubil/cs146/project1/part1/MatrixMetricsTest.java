@@ -0,0 +1,197 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Class to handle testing of the metrics counted for Strassen's algorithm.
+ */
+public class MatrixMetricsTest {
+
+    @After
+    public void after() throws Exception {
+        MatrixMetrics.disable();
+    }
+
+    /**
+     * Helper method for the tests, generates an mxn matrix and fills it with random numbers from 0-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return an mxn matrix filled with random numbers from 0-10
+     */
+    private Matrix generateRandomMxNMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (Math.random() * 10);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure an 8x8 product is counted exactly: 1, 7, 49 and 343 calls at the four levels, a multiply-add for each
+     * of the 343 products of single elements, 18 additions of quadrants at every level above them, and two temporaries
+     * and seven products allocated at each of those levels.
+     */
+    @Test
+    public void testStrassenCounts() {
+        Matrix m1 = generateRandomMxNMatrix(8, 8);
+        Matrix m2 = generateRandomMxNMatrix(8, 8);
+        MatrixMetrics metrics = MatrixMetrics.enable();
+        m1.multiplyStrassen(m2);
+
+        assertEquals(3, metrics.getMaxDepth());
+        assertEquals(1, metrics.getLevelCalls(0));
+        assertEquals(7, metrics.getLevelCalls(1));
+        assertEquals(49, metrics.getLevelCalls(2));
+        assertEquals(343, metrics.getLevelCalls(3));
+        assertEquals(343, metrics.getKernelCalls());
+        assertEquals(343 * 2 + 18 * 16 + 7 * 18 * 4 + 49 * 18, metrics.getFlops());
+        assertEquals((9 * 16 + 7 * 9 * 4 + 49 * 9) * Double.BYTES, metrics.getBytesAllocated());
+        assertTrue(metrics.getLevelNanos(0) >= metrics.getLevelNanos(1));
+    }
+
+    /**
+     * Make sure the operations done by the peeled edges are counted, so an odd product costs as much as the basic
+     * algorithm plus the additions.
+     */
+    @Test
+    public void testPeeledCounts() {
+        Matrix m1 = generateRandomMxNMatrix(3, 3);
+        Matrix m2 = generateRandomMxNMatrix(3, 3);
+        MatrixMetrics metrics = MatrixMetrics.enable();
+        m1.multiplyStrassen(m2);
+
+        // 27 - 8 multiply-adds peeled off, and a 2x2 product of 7 single products with 18 additions
+        assertEquals(2 * 19 + 7 * 2 + 18, metrics.getFlops());
+        assertEquals(2, metrics.getMaxDepth());
+        assertEquals(1, metrics.getLevelCalls(1));
+    }
+
+    /**
+     * Make sure nothing is counted once metrics are turned off.
+     */
+    @Test
+    public void testDisabled() {
+        Matrix m1 = generateRandomMxNMatrix(4, 4);
+        MatrixMetrics metrics = MatrixMetrics.enable();
+        MatrixMetrics.disable();
+        m1.multiplyStrassen(m1);
+
+        assertNull(MatrixMetrics.current());
+        assertEquals(0, metrics.getFlops());
+        assertEquals(-1, metrics.getMaxDepth());
+    }
+
+    /**
+     * Make sure a top-level product is recorded as Flight Recorder events with the same counts.
+     */
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Matrix m1 = generateRandomMxNMatrix(8, 8);
+        Path file = Files.createTempFile("metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("sjsu.matrix.Multiply");
+            recording.enable("sjsu.matrix.StrassenLevel");
+            recording.start();
+            MatrixMetrics metrics = MatrixMetrics.enable();
+            m1.multiplyStrassen(m1);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            int levels = 0;
+            for (RecordedEvent event : events) {
+                if (event.getEventType().getName().equals("sjsu.matrix.Multiply")) {
+                    assertEquals(8, event.getInt("rows"));
+                    assertEquals(metrics.getFlops(), event.getLong("flops"));
+                    assertEquals(3, event.getInt("depth"));
+                }
+                else if (event.getEventType().getName().equals("sjsu.matrix.StrassenLevel")) {
+                    assertEquals(metrics.getLevelCalls(event.getInt("level")), event.getLong("calls"));
+                    levels++;
+                }
+            }
+            assertEquals(4, levels);
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Make sure products running at the same time on different threads are each recorded with only their own work: a
+     * 4x4 and an 8x8 product are run over and over on two threads at once, and every event must hold the counts of a
+     * product of its size alone, while the totals hold the sum of all of them.
+     */
+    @Test
+    public void testConcurrentProducts() throws Exception {
+        Matrix small = generateRandomMxNMatrix(4, 4);
+        Matrix large = generateRandomMxNMatrix(8, 8);
+        int repeats = 50;
+        Path file = Files.createTempFile("metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("sjsu.matrix.Multiply");
+            recording.start();
+            MatrixMetrics metrics = MatrixMetrics.enable();
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            List<Throwable> failures = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            for (Matrix matrix : new Matrix[] {small, large}) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        for (int r = 0; r < repeats; r++) {
+                            barrier.await(); // Start every pair of products together
+                            matrix.multiplyStrassen(matrix);
+                        }
+                    }
+                    catch (Exception e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            recording.stop();
+            recording.dump(file);
+            assertTrue(failures.isEmpty());
+
+            long smallFlops = 49 * 2 + 18 * 4 + 7 * 18; // 49 single products, 18 additions at the two levels above
+            long largeFlops = 343 * 2 + 18 * 16 + 7 * 18 * 4 + 49 * 18;
+            int events = 0;
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals("sjsu.matrix.Multiply")) {
+                    boolean isSmall = event.getInt("rows") == 4;
+                    assertEquals(isSmall ? smallFlops : largeFlops, event.getLong("flops"));
+                    assertEquals(isSmall ? 2 : 3, event.getInt("depth"));
+                    events++;
+                }
+            }
+            assertEquals(2 * repeats, events);
+            assertEquals(repeats * (smallFlops + largeFlops), metrics.getFlops());
+            assertEquals(2 * repeats, metrics.getLevelCalls(0));
+            assertEquals(repeats * (49 + 343), metrics.getKernelCalls());
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Interface shared by the dense and sparse matrix representations, so that {@link MatrixFactory} can choose between
+ * them and pick the multiplication kernel that suits both operands.
+ */
+public interface MatrixOperand {
+    /**
+     * @return the number of rows of the matrix
+     */
+    int getRows();
+
+    /**
+     * @return the number of columns of the matrix
+     */
+    int getCols();
+
+    /**
+     * @param i the row of the element
+     * @param j the column of the element
+     * @return the element at row i and column j
+     */
+    double get(int i, int j);
+
+    /**
+     * @return the matrix in dense form, which is the matrix itself if it is already dense
+     */
+    Matrix toDense();
+}
@@ -0,0 +1,123 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that raises square matrices to integer powers by repeated squaring. A^k is the product of the powers A^(2^i)
+ * for the bits i set in k, so it takes at most 2 * log2(k) products instead of k - 1. All of the products are written
+ * into three buffers allocated up front, which take turns as the operands and the result, so the memory used does not
+ * grow with k.
+ */
+public final class MatrixPower {
+    /**
+     * Interface for following the progress of a long computation.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called after every product.
+         * @param done the number of products done so far
+         * @param total the number of products the whole computation takes
+         */
+        void progress(int done, int total);
+    }
+
+    private MatrixPower() {
+    }
+
+    /**
+     * Raises a matrix to a power using the cache-blocked kernel.
+     * @param matrix a square matrix
+     * @param exponent the power, at least 0
+     * @return a new matrix holding matrix^exponent, the identity matrix if the exponent is 0
+     */
+    public static Matrix pow(Matrix matrix, long exponent) {
+        return pow(matrix, exponent, MultiplyEngine.blocked(), null);
+    }
+
+    /**
+     * Raises a matrix to a power by squaring, walking the bits of the exponent from the lowest one.
+     * @param matrix a square matrix, which is not changed
+     * @param exponent the power, at least 0
+     * @param engine the algorithm each product is computed with
+     * @param listener the listener told about the progress after every product, or null
+     * @return a new matrix holding matrix^exponent, the identity matrix if the exponent is 0
+     */
+    public static Matrix pow(Matrix matrix, long exponent, MultiplyEngine engine, ProgressListener listener) {
+        int n = matrix.getRows();
+        if (matrix.getCols() != n) {
+            throw new IllegalArgumentException("Cannot raise a " + n + "x" + matrix.getCols() + " matrix to a power");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("The exponent cannot be negative, not " + exponent);
+        }
+
+        Matrix result = new Matrix(n, n);
+        if (exponent == 0) {
+            for (int i = 0; i < n; i++) {
+                result.set(i, i, 1.0);
+            }
+            return result;
+        }
+
+        int total = productCount(exponent);
+        int done = 0;
+        Matrix power = new Matrix(n, n); // matrix^(2^i) for the current bit i
+        Matrix spare = new Matrix(n, n); // where the next product is written before it is swapped in
+        copy(matrix, power);
+        boolean started = false; // whether result holds a product yet
+
+        while (true) {
+            if ((exponent & 1) != 0) {
+                if (started) {
+                    engine.multiply(result, power, spare);
+                    Matrix temp = result;
+                    result = spare;
+                    spare = temp;
+                    done++;
+                    report(listener, done, total);
+                }
+                else {
+                    copy(power, result);
+                    started = true;
+                }
+            }
+            exponent >>>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            engine.multiply(power, power, spare);
+            Matrix temp = power;
+            power = spare;
+            spare = temp;
+            done++;
+            report(listener, done, total);
+        }
+    }
+
+    /**
+     * @param exponent the power, at least 1
+     * @return the number of products needed: one squaring for every bit after the highest one, and one product for
+     * every set bit after the first
+     */
+    static int productCount(long exponent) {
+        return (63 - Long.numberOfLeadingZeros(exponent)) + (Long.bitCount(exponent) - 1);
+    }
+
+    /**
+     * Copies the elements of one matrix, which can be a view, into another of the same size.
+     */
+    private static void copy(Matrix source, Matrix target) {
+        for (int i = 0; i < source.getRows(); i++) {
+            System.arraycopy(source.getData(), source.index(i, 0), target.getData(), target.index(i, 0),
+                    source.getCols());
+        }
+    }
+
+    /**
+     * Tells the listener, if there is one, about the progress.
+     */
+    private static void report(ProgressListener listener, int done, int total) {
+        if (listener != null) {
+            listener.progress(done, total);
+        }
+    }
+}
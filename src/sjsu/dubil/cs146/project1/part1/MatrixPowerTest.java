@@ -0,0 +1,95 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class to handle testing of raising matrices to powers.
+ */
+public class MatrixPowerTest {
+    /**
+     * Helper method for the tests, generates a random nxn transition matrix, whose rows are non-negative and add up
+     * to 1, so that its powers neither blow up nor vanish.
+     * @param n the number of rows and columns of the generated matrix
+     * @return the generated matrix
+     */
+    private Matrix generateRandomNxNMatrix(int n) {
+        double[][] temp = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = Math.random();
+                sum += temp[i][j];
+            }
+            for (int j = 0; j < n; j++) {
+                temp[i][j] /= sum;
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure every exponent up to 20 matches repeated multiplication.
+     */
+    @Test
+    public void testSmallExponents() {
+        Matrix matrix = generateRandomNxNMatrix(9);
+        Matrix expected = new Matrix(new double[9][9]);
+        for (int i = 0; i < 9; i++) {
+            expected.set(i, i, 1.0);
+        }
+        for (int k = 0; k <= 20; k++) {
+            assertEquals("Failure: Exponent " + k, expected, matrix.pow(k));
+            expected = expected.multiply(matrix);
+        }
+    }
+
+    /**
+     * The powers of [[1, 1], [1, 0]] hold the Fibonacci numbers.
+     */
+    @Test
+    public void testFibonacci() {
+        Matrix fibonacci = new Matrix(new double[][]{{1, 1}, {1, 0}});
+        Matrix power = fibonacci.pow(40);
+
+        assertEquals(165580141, power.get(0, 0), 0.0);
+        assertEquals(102334155, power.get(0, 1), 0.0);
+    }
+
+    /**
+     * Make sure every engine gives the same power, and the progress counts every product.
+     */
+    @Test
+    public void testEnginesAndProgress() {
+        Matrix matrix = generateRandomNxNMatrix(37);
+        Matrix expected = matrix.pow(1000);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            MultiplyEngine[] engines = {MultiplyEngine.strassen(), MultiplyEngine.winograd(new StrassenWinograd(8)),
+                    MultiplyEngine.parallel(new ParallelMultiplier(pool))};
+            for (MultiplyEngine engine : engines) {
+                List<Integer> reports = new ArrayList<>();
+                Matrix power = MatrixPower.pow(matrix, 1000, engine, (done, total) -> {
+                    assertEquals(MatrixPower.productCount(1000), total);
+                    reports.add(done);
+                });
+                assertEquals(expected, power);
+                assertEquals(MatrixPower.productCount(1000), reports.size());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+        assertEquals(9 + 5, MatrixPower.productCount(1000)); // 1000 is 1111101000 in binary
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotSquare() {
+        new Matrix(3, 4).pow(2);
+    }
+}
@@ -58,6 +58,92 @@ public class MatrixTest {
         assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), m1.multiplyStrassen(m2));
     }
 
+    /**
+     * Helper method for matrix tests, generates an mxn matrix and fills it with random numbers from 0-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return an mxn matrix filled with random numbers from 0-10
+     */
+    private Matrix generateRandomMxNMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (Math.random() * 10);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Test with odd-sized square matrices, where Strassen's algorithm has to peel off a row and column at some levels.
+     */
+    @Test
+    public void testRandom15x15Matrices() {
+        int n = 15;
+        Matrix m1 = generateRandomNxNMatrix(n);
+        Matrix m2 = generateRandomNxNMatrix(n);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), m1.multiplyStrassen(m2));
+    }
+
+    /**
+     * Test with rectangular matrices whose sizes are not powers of two.
+     */
+    @Test
+    public void testRandomRectangularMatrices() {
+        Matrix m1 = generateRandomMxNMatrix(30, 17);
+        Matrix m2 = generateRandomMxNMatrix(17, 45);
+        Matrix product = m1.multiplyStrassen(m2);
+
+        assertEquals(30, product.getRows());
+        assertEquals(45, product.getCols());
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), product);
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), m1.multiplyWinograd(m2));
+    }
+
+    /**
+     * Multiplying matrices whose inner dimensions do not match should be rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedDimensions() {
+        generateRandomMxNMatrix(3, 4).multiplyStrassen(generateRandomMxNMatrix(3, 4));
+    }
+
+    /**
+     * Make sure a view reads and writes the elements of the matrix it was taken from, without copying them.
+     */
+    @Test
+    public void testViewSharesElements() {
+        Matrix m = generateRandomNxNMatrix(4);
+        Matrix view = m.view(2, 1, 2, 3);
+
+        assertEquals(2, view.getRows());
+        assertEquals(3, view.getCols());
+        assertEquals(m.get(3, 2), view.get(1, 1), 0.0);
+
+        view.set(0, 2, 42.0);
+        assertEquals(42.0, m.get(2, 3), 0.0);
+    }
+
+    /**
+     * Make sure both multiplication algorithms work when the operands are views into larger matrices, and that the
+     * equal products hash the same.
+     */
+    @Test
+    public void testMultiplyViews() {
+        Matrix m1 = generateRandomNxNMatrix(16);
+        Matrix m2 = generateRandomNxNMatrix(16);
+        Matrix v1 = m1.view(4, 8, 8, 8);
+        Matrix v2 = m2.view(0, 3, 8, 8);
+        Matrix copy1 = new Matrix(v1.toArray());
+        Matrix copy2 = new Matrix(v2.toArray());
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", copy1.multiply(copy2), v1.multiplyStrassen(v2));
+        assertEquals("Failure: Multiplication not resulting in equal arrays", v1.multiply(v2), v1.multiplyStrassen(v2));
+        assertEquals(copy1.multiply(copy2).hashCode(), v1.multiplyStrassen(v2).hashCode());
+    }
+
     /**
      * Test that measures the running time in milliseconds for the basic matrix multiplication algorithm on random nxn
      * matrices, for various values of n.
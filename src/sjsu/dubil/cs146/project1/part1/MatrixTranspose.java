@@ -0,0 +1,213 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that implements transposition and the products with a transposed operand. A naive transpose reads one matrix
+ * along its rows and writes the other down its columns, so every write touches a new cache line. Here the matrices are
+ * split in half along their larger dimension until the blocks are small enough for both to stay in cache, which works
+ * for every cache size without tuning. The products with a transposed operand are arranged so that both operands are
+ * only ever read along their rows, and the transpose is never built.
+ */
+final class MatrixTranspose {
+    private static final int LEAF_SIZE = 16; // rows and columns of a block small enough to transpose directly
+    private static final int ROW_BLOCK = 64; // rows of the result computed against the same rows of B
+
+    private MatrixTranspose() {
+    }
+
+    /**
+     * Writes the transpose of one block into another.
+     * @param source the block to transpose, an m x n matrix
+     * @param target the block the transpose is written to, an n x m matrix that does not overlap the source
+     */
+    static void transpose(Matrix source, Matrix target) {
+        transpose(source.getData(), source.getOffset(), source.getStride(), target.getData(), target.getOffset(),
+                target.getStride(), source.getRows(), source.getCols());
+    }
+
+    /**
+     * Recursive part of the out-of-place transpose, on blocks of row-major arrays described by an offset and a row
+     * stride.
+     */
+    private static void transpose(double[] a, int aOff, int aStride, double[] b, int bOff, int bStride, int rows,
+                                  int cols) {
+        if (rows <= LEAF_SIZE && cols <= LEAF_SIZE) {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    b[bOff + j * bStride + i] = a[aOff + i * aStride + j];
+                }
+            }
+        }
+        else if (rows >= cols) { // splitting the rows of the source, which are the columns of the target
+            int half = rows / 2;
+            transpose(a, aOff, aStride, b, bOff, bStride, half, cols);
+            transpose(a, aOff + half * aStride, aStride, b, bOff + half, bStride, rows - half, cols);
+        }
+        else {
+            int half = cols / 2;
+            transpose(a, aOff, aStride, b, bOff, bStride, rows, half);
+            transpose(a, aOff + half, aStride, b, bOff + half * bStride, bStride, rows, cols - half);
+        }
+    }
+
+    /**
+     * Transposes a square block in place. The diagonal quadrants are transposed recursively and the two off-diagonal
+     * quadrants are swapped with each other's transpose.
+     * @param matrix the block, which must be square
+     */
+    static void transposeInPlace(Matrix matrix) {
+        transposeInPlace(matrix.getData(), matrix.getOffset(), matrix.getStride(), matrix.getRows());
+    }
+
+    /**
+     * Recursive part of the in-place transpose of an n x n block.
+     */
+    private static void transposeInPlace(double[] a, int off, int stride, int n) {
+        if (n <= LEAF_SIZE) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    double temp = a[off + i * stride + j];
+                    a[off + i * stride + j] = a[off + j * stride + i];
+                    a[off + j * stride + i] = temp;
+                }
+            }
+            return;
+        }
+        int half = n / 2;
+        transposeInPlace(a, off, stride, half);
+        transposeInPlace(a, off + half * stride + half, stride, n - half);
+        swapTransposed(a, off + half, off + half * stride, stride, half, n - half);
+    }
+
+    /**
+     * Swaps a rows x cols block with the transpose of a cols x rows block of the same array, splitting the larger
+     * dimension in half until the blocks are small.
+     * @param a the array holding both blocks, which do not overlap
+     * @param xOff the index of the top left element of the rows x cols block
+     * @param yOff the index of the top left element of the cols x rows block
+     * @param stride the row stride of both blocks
+     */
+    private static void swapTransposed(double[] a, int xOff, int yOff, int stride, int rows, int cols) {
+        if (rows <= LEAF_SIZE && cols <= LEAF_SIZE) {
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    double temp = a[xOff + i * stride + j];
+                    a[xOff + i * stride + j] = a[yOff + j * stride + i];
+                    a[yOff + j * stride + i] = temp;
+                }
+            }
+        }
+        else if (rows >= cols) {
+            int half = rows / 2;
+            swapTransposed(a, xOff, yOff, stride, half, cols);
+            swapTransposed(a, xOff + half * stride, yOff + half, stride, rows - half, cols);
+        }
+        else {
+            int half = cols / 2;
+            swapTransposed(a, xOff, yOff, stride, rows, half);
+            swapTransposed(a, xOff + half, yOff + half * stride, stride, rows, cols - half);
+        }
+    }
+
+    /**
+     * Adds A^T * B to C. Row p of A and row p of B together add a rank one matrix to C, so each row of C is updated
+     * with a multiple of a row of B, and both operands are read along their rows. The rows of C are done in blocks
+     * that stay in cache while all of the rows of A and B pass over them.
+     * @param a a k x m matrix
+     * @param b a k x n matrix
+     * @param c the m x n matrix the product is added to
+     */
+    static void transposeMultiplyAdd(Matrix a, Matrix b, Matrix c) {
+        int k = a.getRows();
+        int m = a.getCols();
+        int n = b.getCols();
+        double[] x = a.getData();
+        double[] y = b.getData();
+        double[] z = c.getData();
+        for (int ii = 0; ii < m; ii += ROW_BLOCK) {
+            int iEnd = Math.min(ii + ROW_BLOCK, m);
+            for (int p = 0; p < k; p++) {
+                int aRow = a.index(p, 0);
+                int bRow = b.index(p, 0);
+                for (int i = ii; i < iEnd; i++) {
+                    double value = x[aRow + i];
+                    if (value == 0.0) {
+                        continue;
+                    }
+                    int cRow = c.index(i, 0);
+                    for (int j = 0; j < n; j++) {
+                        z[cRow + j] += value * y[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds A * B^T to C. Element (i, j) of the product is the dot product of row i of A and row j of B, so both are
+     * read along their rows. Blocks of rows of B stay in cache while every row of A passes over them, and each step
+     * computes a 2x2 block of C so every element loaded is used twice.
+     * @param a an m x k matrix
+     * @param b an n x k matrix
+     * @param c the m x n matrix the product is added to
+     */
+    static void multiplyTransposeAdd(Matrix a, Matrix b, Matrix c) {
+        int m = a.getRows();
+        int k = a.getCols();
+        int n = b.getRows();
+        double[] x = a.getData();
+        double[] y = b.getData();
+        double[] z = c.getData();
+        for (int jj = 0; jj < n; jj += ROW_BLOCK) {
+            int jEnd = Math.min(jj + ROW_BLOCK, n);
+            int i = 0;
+            for (; i + 1 < m; i += 2) {
+                int a0 = a.index(i, 0);
+                int a1 = a0 + a.getStride();
+                int c0 = c.index(i, 0);
+                int c1 = c0 + c.getStride();
+                int j = jj;
+                for (; j + 1 < jEnd; j += 2) {
+                    int b0 = b.index(j, 0);
+                    int b1 = b0 + b.getStride();
+                    double s00 = 0, s01 = 0, s10 = 0, s11 = 0;
+                    for (int p = 0; p < k; p++) {
+                        double u0 = x[a0 + p];
+                        double u1 = x[a1 + p];
+                        double v0 = y[b0 + p];
+                        double v1 = y[b1 + p];
+                        s00 += u0 * v0;
+                        s01 += u0 * v1;
+                        s10 += u1 * v0;
+                        s11 += u1 * v1;
+                    }
+                    z[c0 + j] += s00;
+                    z[c0 + j + 1] += s01;
+                    z[c1 + j] += s10;
+                    z[c1 + j + 1] += s11;
+                }
+                if (j < jEnd) { // odd column left in the block
+                    z[c0 + j] += dot(x, a0, y, b.index(j, 0), k);
+                    z[c1 + j] += dot(x, a1, y, b.index(j, 0), k);
+                }
+            }
+            if (i < m) { // odd row left
+                int a0 = a.index(i, 0);
+                int c0 = c.index(i, 0);
+                for (int j = jj; j < jEnd; j++) {
+                    z[c0 + j] += dot(x, a0, y, b.index(j, 0), k);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the dot product of k consecutive elements of two arrays
+     */
+    private static double dot(double[] x, int xOff, double[] y, int yOff, int k) {
+        double sum = 0;
+        for (int p = 0; p < k; p++) {
+            sum += x[xOff + p] * y[yOff + p];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,93 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of transposition and the products with a transposed operand.
+ */
+public class MatrixTransposeTest {
+    /**
+     * Helper method for the tests, generates an mxn matrix of random numbers from 1-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return the generated matrix
+     */
+    private Matrix generateRandomMxNMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = 1 + (Math.random() * 9);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Helper method that transposes a matrix with the naive double loop.
+     * @param matrix the matrix
+     * @return the transpose of the matrix
+     */
+    private Matrix naiveTranspose(Matrix matrix) {
+        Matrix result = new Matrix(matrix.getCols(), matrix.getRows());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                result.set(j, i, matrix.get(i, j));
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testTranspose() {
+        for (int[] size : new int[][]{{1, 1}, {1, 40}, {37, 5}, {100, 67}}) {
+            Matrix matrix = generateRandomMxNMatrix(size[0], size[1]);
+            assertEquals(naiveTranspose(matrix), matrix.transpose());
+        }
+        Matrix view = generateRandomMxNMatrix(50, 50).view(3, 4, 40, 33);
+        assertEquals(naiveTranspose(view), view.transpose());
+    }
+
+    /**
+     * Make sure the in-place transpose works for odd sizes, and only touches the elements of a view.
+     */
+    @Test
+    public void testTransposeInPlace() {
+        for (int n : new int[]{1, 2, 17, 33, 64, 101}) {
+            Matrix matrix = generateRandomMxNMatrix(n, n);
+            Matrix expected = naiveTranspose(matrix);
+            matrix.transposeInPlace();
+            assertEquals(expected, matrix);
+        }
+
+        Matrix outer = generateRandomMxNMatrix(40, 40);
+        double corner = outer.get(0, 39);
+        Matrix view = outer.view(5, 5, 30, 30);
+        Matrix expected = naiveTranspose(view);
+        view.transposeInPlace();
+        assertEquals(expected, view);
+        assertEquals(corner, outer.get(0, 39), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransposeInPlaceNotSquare() {
+        new Matrix(3, 4).transposeInPlace();
+    }
+
+    @Test
+    public void testTransposedProducts() {
+        Matrix a = generateRandomMxNMatrix(71, 45);
+        Matrix b = generateRandomMxNMatrix(71, 30);
+        Matrix c = generateRandomMxNMatrix(33, 45);
+
+        assertEquals(naiveTranspose(a).multiply(b), a.transposeMultiply(b));
+        assertEquals(a.multiply(naiveTranspose(c)), a.multiplyTranspose(c));
+        assertEquals(a.multiply(naiveTranspose(a)), a.multiplyTranspose(a));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransposedProductMismatch() {
+        generateRandomMxNMatrix(4, 3).multiplyTranspose(generateRandomMxNMatrix(3, 4));
+    }
+}
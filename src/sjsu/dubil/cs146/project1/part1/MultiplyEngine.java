@@ -0,0 +1,65 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Interface for any of the multiplication algorithms, written so that the product goes into a matrix the caller
+ * already has. Algorithms that repeat many products, such as {@link MatrixPower}, can then keep reusing the same
+ * buffers whichever algorithm does the multiplying.
+ */
+@FunctionalInterface
+public interface MultiplyEngine {
+    /**
+     * Multiplies two matrices into a third one.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param result the m x n matrix the product is written to, overwriting its contents, which must not share
+     *               elements with the operands
+     */
+    void multiply(Matrix a, Matrix b, Matrix result);
+
+    /**
+     * @return an engine using the cache-blocked kernel of the default {@link BlockedMultiplier}
+     */
+    static MultiplyEngine blocked() {
+        return (a, b, result) -> {
+            result.clear();
+            BlockedMultiplier.getDefault().multiplyAdd(a, b, result);
+        };
+    }
+
+    /**
+     * @return an engine using Strassen's algorithm, as in {@link Matrix#multiplyStrassen(Matrix)}
+     */
+    static MultiplyEngine strassen() {
+        return (a, b, result) -> a.multiplyStrassen(b, result);
+    }
+
+    /**
+     * Returns an engine using the Winograd variant of Strassen's algorithm. The engine keeps the workspace of the
+     * largest product it has done and passes it to every later product, so repeated products of the same size
+     * allocate nothing. The engine is therefore not safe to share between threads.
+     * @param winograd the settings of the algorithm
+     * @return an engine using the given algorithm
+     */
+    static MultiplyEngine winograd(StrassenWinograd winograd) {
+        return new MultiplyEngine() {
+            private double[] workspace = new double[0];
+
+            @Override
+            public void multiply(Matrix a, Matrix b, Matrix result) {
+                int size = winograd.workspaceSize(a.getRows(), b.getCols(), a.getCols());
+                if (this.workspace.length < size) {
+                    this.workspace = new double[size];
+                }
+                winograd.multiply(a, b, result, this.workspace);
+            }
+        };
+    }
+
+    /**
+     * @param multiplier the pool and settings to multiply with
+     * @return an engine using the parallel version of the basic algorithm
+     */
+    static MultiplyEngine parallel(ParallelMultiplier multiplier) {
+        return multiplier::multiply;
+    }
+}
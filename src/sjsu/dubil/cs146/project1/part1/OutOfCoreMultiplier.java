@@ -0,0 +1,111 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that multiplies matrices stored in files, keeping at most a fixed number of bytes of them on the heap. C is
+ * computed one square tile at a time: the tile stays in memory while thin tiles of A and B are streamed through it,
+ * and it is written back once it is complete. With a tile of s x s, A is read n / s times and B is read m / s times,
+ * so the tile is made as large as the budget allows. Consecutive tiles of C in the same band of rows walk the inner
+ * dimension in opposite directions, so the last tile of A read for one is the first one needed by the next.
+ */
+public class OutOfCoreMultiplier {
+    private static final int DEFAULT_DEPTH = 256;
+    private static final int MAX_TILE = 46340; // largest s with s * s elements still fitting in an array
+
+    private final long memoryBudget; // bytes of heap available for the three tiles
+    private final int depth; // columns of the tiles of A and rows of the tiles of B
+    private final BlockedMultiplier kernel;
+
+    /**
+     * Creates a multiplier that uses at most the given number of bytes of heap for its tiles.
+     * @param memoryBudget the number of bytes of heap the tiles may take up
+     */
+    public OutOfCoreMultiplier(long memoryBudget) {
+        this(memoryBudget, DEFAULT_DEPTH, BlockedMultiplier.getDefault());
+    }
+
+    /**
+     * Creates a multiplier with all of its settings given.
+     * @param memoryBudget the number of bytes of heap the tiles may take up
+     * @param depth the number of columns of the tiles of A and rows of the tiles of B
+     * @param kernel the kernel used to multiply the tiles
+     */
+    public OutOfCoreMultiplier(long memoryBudget, int depth, BlockedMultiplier kernel) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("The depth must be positive");
+        }
+        if (memoryBudget < 3L * depth * Double.BYTES) {
+            throw new IllegalArgumentException("A budget of " + memoryBudget + " bytes cannot hold tiles of depth "
+                    + depth);
+        }
+        this.memoryBudget = memoryBudget;
+        this.depth = depth;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Calculates the size s of the square tiles of C, the largest one for which s * s + 2 * s * depth doubles fit in
+     * the memory budget.
+     * @return the number of rows and columns of a tile of C
+     */
+    public int getTileSize() {
+        double budget = (double) this.memoryBudget / Double.BYTES;
+        int size = (int) (Math.sqrt((double) this.depth * this.depth + budget) - this.depth);
+        return Math.max(1, Math.min(size, MAX_TILE));
+    }
+
+    /**
+     * Multiplies two matrices stored in files, writing the product to a third file.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param c the m x n matrix the product is written to, overwriting its contents
+     */
+    public void multiply(MappedMatrix a, MappedMatrix b, MappedMatrix c) {
+        int m = a.getRows();
+        int k = a.getCols();
+        int n = b.getCols();
+        if (b.getRows() != k || c.getRows() != m || c.getCols() != n) {
+            throw new IllegalArgumentException("Cannot multiply a " + m + "x" + k + " matrix by a " + b.getRows() + "x"
+                    + n + " matrix into a " + c.getRows() + "x" + c.getCols() + " matrix");
+        }
+
+        int tileSize = this.getTileSize();
+        int tileRows = Math.min(tileSize, m);
+        int tileCols = Math.min(tileSize, n);
+        int tileDepth = Math.min(this.depth, k);
+
+        // the only heap used, allocated once and reused through views for the smaller tiles at the edges
+        Matrix cBuffer = new Matrix(tileRows, tileCols);
+        Matrix aBuffer = new Matrix(tileRows, tileDepth);
+        Matrix bBuffer = new Matrix(tileDepth, tileCols);
+        int loadedRow = -1; // position in A of the tile currently in aBuffer
+        int loadedCol = -1;
+
+        int kTiles = (tileDepth == 0) ? 0 : (k + tileDepth - 1) / tileDepth;
+        boolean forward = true;
+        for (int ii = 0; ii < m; ii += tileRows) {
+            int mb = Math.min(tileRows, m - ii);
+            for (int jj = 0; jj < n; jj += tileCols) {
+                int nb = Math.min(tileCols, n - jj);
+                Matrix cTile = cBuffer.view(0, 0, mb, nb);
+                cTile.clear();
+
+                for (int t = 0; t < kTiles; t++) {
+                    int pp = (forward ? t : kTiles - 1 - t) * tileDepth;
+                    int kb = Math.min(tileDepth, k - pp);
+                    Matrix aTile = aBuffer.view(0, 0, mb, kb);
+                    if (loadedRow != ii || loadedCol != pp) {
+                        a.readBlock(ii, pp, aTile);
+                        loadedRow = ii;
+                        loadedCol = pp;
+                    }
+                    Matrix bTile = bBuffer.view(0, 0, kb, nb);
+                    b.readBlock(pp, jj, bTile);
+                    this.kernel.multiplyAdd(aTile, bTile, cTile);
+                }
+
+                c.writeBlock(ii, jj, cTile);
+                forward = !forward;
+            }
+        }
+    }
+}
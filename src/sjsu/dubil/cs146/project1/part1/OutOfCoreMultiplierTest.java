@@ -0,0 +1,113 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Class to handle testing of file-backed matrices and the out-of-core multiplication that streams them through memory.
+ */
+public class OutOfCoreMultiplierTest {
+    private Path directory;
+
+    @Before
+    public void before() throws Exception {
+        directory = Files.createTempDirectory("matrix");
+    }
+
+    @After
+    public void after() throws Exception {
+        for (File file : directory.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Helper method for the tests, generates an mxn matrix and fills it with random numbers from 0-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return an mxn matrix filled with random numbers from 0-10
+     */
+    private Matrix generateRandomMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (Math.random() * 10);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Helper method that writes a matrix on the heap to a new file.
+     * @param name the name of the file in the temporary directory
+     * @param matrix the matrix to be written
+     * @return the file-backed copy of the matrix, open for reading and writing
+     */
+    private MappedMatrix writeToFile(String name, Matrix matrix) throws IOException {
+        MappedMatrix mapped = MappedMatrix.create(directory.resolve(name), matrix.getRows(), matrix.getCols());
+        mapped.writeBlock(0, 0, matrix);
+        return mapped;
+    }
+
+    /**
+     * Make sure blocks written to a file read back the same, including after reopening it.
+     */
+    @Test
+    public void testBlockRoundTrip() throws IOException {
+        Matrix matrix = generateRandomMatrix(20, 30);
+        try (MappedMatrix mapped = writeToFile("m.bin", matrix)) {
+            Matrix block = new Matrix(5, 7);
+            mapped.readBlock(10, 20, block);
+            assertEquals(matrix.view(10, 20, 5, 7), block);
+            mapped.flush();
+        }
+
+        try (MappedMatrix reopened = MappedMatrix.open(directory.resolve("m.bin"), 20, 30, false)) {
+            assertEquals(matrix.get(19, 29), reopened.get(19, 29), 0.0);
+            Matrix copy = new Matrix(20, 30);
+            reopened.readBlock(0, 0, copy);
+            assertEquals(matrix, copy);
+        }
+    }
+
+    /**
+     * Make sure a budget far smaller than the matrices, which forces many tiles in every direction including ragged
+     * ones at the edges, gives the same product as multiplying on the heap.
+     */
+    @Test
+    public void testSmallBudget() throws IOException {
+        Matrix m1 = generateRandomMatrix(70, 45);
+        Matrix m2 = generateRandomMatrix(45, 33);
+        OutOfCoreMultiplier multiplier = new OutOfCoreMultiplier(4000, 8, BlockedMultiplier.getDefault());
+        assertTrue(multiplier.getTileSize() < 33);
+
+        try (MappedMatrix a = writeToFile("a.bin", m1);
+             MappedMatrix b = writeToFile("b.bin", m2);
+             MappedMatrix c = MappedMatrix.create(directory.resolve("c.bin"), 70, 33)) {
+            multiplier.multiply(a, b, c);
+            Matrix product = new Matrix(70, 33);
+            c.readBlock(0, 0, product);
+            assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), product);
+        }
+    }
+
+    /**
+     * A file too short for the given dimensions should be rejected when it is opened.
+     */
+    @Test(expected = IOException.class)
+    public void testFileTooShort() throws IOException {
+        try (MappedMatrix mapped = writeToFile("small.bin", generateRandomMatrix(2, 2))) {
+            mapped.flush();
+        }
+        MappedMatrix.open(directory.resolve("small.bin"), 3, 3, false).close();
+    }
+}
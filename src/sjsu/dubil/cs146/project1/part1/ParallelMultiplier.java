@@ -0,0 +1,242 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class that runs the two matrix multiplication algorithms on a {@link ForkJoinPool}. The basic algorithm is split
+ * into bands of rows of the result, each multiplied by the blocked kernel, and Strassen's algorithm computes its seven
+ * products as separate tasks for the first few levels of the recursion. Below those levels, or once the blocks are no
+ * larger than the crossover, each product is finished sequentially by {@link StrassenWinograd}, which hands blocks at
+ * the crossover to the same blocked kernel instead of recursing down to single elements.
+ */
+public class ParallelMultiplier {
+    private static final int DEFAULT_ROW_BAND = 64;
+    private static final int DEFAULT_PARALLEL_DEPTH = 2; // 7^2 = 49 tasks, enough to keep 32 cores busy
+
+    private final ForkJoinPool pool;
+    private final BlockedMultiplier kernel;
+    private final int rowBand; // largest band of rows multiplied by a single task
+    private final int parallelDepth; // number of Strassen levels whose products are forked as tasks
+    private final StrassenWinograd leaf; // sequential multiplier for the products that are not split any further
+
+    /**
+     * Creates a multiplier that runs on the common pool with the default kernel, band size and depth.
+     */
+    public ParallelMultiplier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a multiplier that runs on the given pool with the default kernel, band size and depth.
+     * @param pool the pool the tasks are run on
+     */
+    public ParallelMultiplier(ForkJoinPool pool) {
+        this(pool, BlockedMultiplier.getDefault(), DEFAULT_ROW_BAND, DEFAULT_PARALLEL_DEPTH);
+    }
+
+    /**
+     * Creates a multiplier with all of its settings given.
+     * @param pool the pool the tasks are run on
+     * @param kernel the kernel used to multiply each band of rows
+     * @param rowBand the largest number of rows of the result multiplied by a single task
+     * @param parallelDepth the number of levels of Strassen's recursion whose seven products run as separate tasks
+     */
+    public ParallelMultiplier(ForkJoinPool pool, BlockedMultiplier kernel, int rowBand, int parallelDepth) {
+        this(pool, kernel, rowBand, parallelDepth, StrassenWinograd.DEFAULT_CROSSOVER);
+    }
+
+    /**
+     * Creates a multiplier with all of its settings given, including the crossover of Strassen's algorithm.
+     * @param pool the pool the tasks are run on
+     * @param kernel the kernel used to multiply each band of rows and the blocks at the crossover
+     * @param rowBand the largest number of rows of the result multiplied by a single task
+     * @param parallelDepth the number of levels of Strassen's recursion whose seven products run as separate tasks
+     * @param crossover the size at or below which Strassen's algorithm uses the kernel instead of splitting further
+     */
+    public ParallelMultiplier(ForkJoinPool pool, BlockedMultiplier kernel, int rowBand, int parallelDepth,
+                              int crossover) {
+        if (pool == null || kernel == null) {
+            throw new IllegalArgumentException("The pool and kernel cannot be null");
+        }
+        if (rowBand < 1 || parallelDepth < 0) {
+            throw new IllegalArgumentException("The row band must be positive and the depth cannot be negative");
+        }
+        this.pool = pool;
+        this.kernel = kernel;
+        this.rowBand = rowBand;
+        this.parallelDepth = parallelDepth;
+        this.leaf = new StrassenWinograd(crossover, kernel);
+    }
+
+    /**
+     * Implements the basic matrix multiplication algorithm, with bands of rows of the result computed in parallel.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @return the m x n product of the two matrices
+     */
+    public Matrix multiply(Matrix a, Matrix b) {
+        Matrix.checkMultiplicable(a, b);
+        Matrix result = new Matrix(a.getRows(), b.getCols());
+        this.pool.invoke(new BandTask(a, b, result, 0, a.getRows()));
+        return result;
+    }
+
+    /**
+     * Implements the basic matrix multiplication algorithm into an existing matrix, with bands of rows of the result
+     * computed in parallel.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param result the m x n matrix the product is written to, overwriting its contents, which can be a view but must
+     *               not share elements with the operands
+     */
+    public void multiply(Matrix a, Matrix b, Matrix result) {
+        Matrix.checkMultiplicable(a, b);
+        if (result.getRows() != a.getRows() || result.getCols() != b.getCols()) {
+            throw new IllegalArgumentException("Cannot write a " + a.getRows() + "x" + b.getCols()
+                    + " product into a " + result.getRows() + "x" + result.getCols() + " matrix");
+        }
+        result.clear();
+        this.pool.invoke(new BandTask(a, b, result, 0, a.getRows()));
+    }
+
+    /**
+     * Implements Strassen's algorithm, with the seven products of the first levels of the recursion computed in
+     * parallel. Odd sizes are handled by the same dynamic peeling as {@link Matrix#multiplyStrassen(Matrix)}.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @return the m x n product of the two matrices
+     */
+    public Matrix multiplyStrassen(Matrix a, Matrix b) {
+        Matrix.checkMultiplicable(a, b);
+        Matrix result = new Matrix(a.getRows(), b.getCols());
+        this.pool.invoke(new StrassenTask(a, b, result, 0));
+        return result;
+    }
+
+    /**
+     * Task that multiplies a band of rows of A by B, splitting the band in half until it is small enough.
+     */
+    private class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Matrix a;
+        private final Matrix b;
+        private final Matrix result;
+        private final int startRow;
+        private final int endRow; // exclusive
+
+        BandTask(Matrix a, Matrix b, Matrix result, int startRow, int endRow) {
+            this.a = a;
+            this.b = b;
+            this.result = result;
+            this.startRow = startRow;
+            this.endRow = endRow;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = this.endRow - this.startRow;
+            if (rows <= ParallelMultiplier.this.rowBand) {
+                ParallelMultiplier.this.kernel.multiplyAdd(this.a.view(this.startRow, 0, rows, this.a.getCols()), this.b,
+                        this.result.view(this.startRow, 0, rows, this.result.getCols()));
+                return;
+            }
+
+            int middle = this.startRow + rows / 2;
+            invokeAll(new BandTask(this.a, this.b, this.result, this.startRow, middle),
+                    new BandTask(this.a, this.b, this.result, middle, this.endRow));
+        }
+    }
+
+    /**
+     * Task that computes one level of Strassen's algorithm, forking the seven products as subtasks while the depth is
+     * below the parallel depth and the blocks are larger than the crossover, and finishing the product with
+     * {@link StrassenWinograd} after that.
+     */
+    private class StrassenTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Matrix a;
+        private final Matrix b;
+        private final Matrix result;
+        private final int depth;
+
+        StrassenTask(Matrix a, Matrix b, Matrix result, int depth) {
+            this.a = a;
+            this.b = b;
+            this.result = result;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            int m = this.a.getRows();
+            int k = this.a.getCols();
+            int n = this.b.getCols();
+            StrassenWinograd leaf = ParallelMultiplier.this.leaf;
+            int smallest = Math.min(m, Math.min(k, n));
+            if (this.depth >= ParallelMultiplier.this.parallelDepth || smallest <= leaf.getCrossover()) {
+                leaf.multiply(this.a, this.b, this.result, null);
+                return;
+            }
+
+            if (m % 2 != 0 || k % 2 != 0 || n % 2 != 0) { // Peel at the same depth, so the even part still forks
+                int mEven = m & ~1;
+                int kEven = k & ~1;
+                int nEven = n & ~1;
+                new StrassenTask(this.a.view(0, 0, mEven, kEven), this.b.view(0, 0, kEven, nEven),
+                        this.result.view(0, 0, mEven, nEven), this.depth).compute();
+                Matrix.multiplyPeeledEdges(this.a, this.b, this.result);
+                return;
+            }
+
+            int halfRows = m / 2;
+            int halfInner = k / 2;
+            int halfCols = n / 2;
+            Matrix a00 = this.a.view(0, 0, halfRows, halfInner);
+            Matrix a01 = this.a.view(0, halfInner, halfRows, halfInner);
+            Matrix a10 = this.a.view(halfRows, 0, halfRows, halfInner);
+            Matrix a11 = this.a.view(halfRows, halfInner, halfRows, halfInner);
+
+            Matrix b00 = this.b.view(0, 0, halfInner, halfCols);
+            Matrix b01 = this.b.view(0, halfCols, halfInner, halfCols);
+            Matrix b10 = this.b.view(halfInner, 0, halfInner, halfCols);
+            Matrix b11 = this.b.view(halfInner, halfCols, halfInner, halfCols);
+
+            // Every product needs its own temporaries since they are all computed at the same time
+            Matrix m1 = new Matrix(halfRows, halfCols);
+            Matrix m2 = new Matrix(halfRows, halfCols);
+            Matrix m3 = new Matrix(halfRows, halfCols);
+            Matrix m4 = new Matrix(halfRows, halfCols);
+            Matrix m5 = new Matrix(halfRows, halfCols);
+            Matrix m6 = new Matrix(halfRows, halfCols);
+            Matrix m7 = new Matrix(halfRows, halfCols);
+
+            int next = this.depth + 1;
+            invokeAll(new StrassenTask(sum(a00, a11), sum(b00, b11), m1, next),
+                    new StrassenTask(sum(a10, a11), b00, m2, next),
+                    new StrassenTask(a00, difference(b01, b11), m3, next),
+                    new StrassenTask(a11, difference(b10, b00), m4, next),
+                    new StrassenTask(sum(a00, a01), b11, m5, next),
+                    new StrassenTask(difference(a10, a00), sum(b00, b01), m6, next),
+                    new StrassenTask(difference(a01, a11), sum(b10, b11), m7, next));
+
+            Matrix.combineStrassenProducts(m1, m2, m3, m4, m5, m6, m7, this.result);
+        }
+    }
+
+    /**
+     * @return a new matrix holding x + y
+     */
+    private static Matrix sum(Matrix x, Matrix y) {
+        return x.add(y, new Matrix(x.getRows(), x.getCols()));
+    }
+
+    /**
+     * @return a new matrix holding x - y
+     */
+    private static Matrix difference(Matrix x, Matrix y) {
+        return x.sub(y, new Matrix(x.getRows(), x.getCols()));
+    }
+}
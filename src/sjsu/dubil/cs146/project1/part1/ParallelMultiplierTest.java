@@ -0,0 +1,107 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class to handle testing of the parallel versions of the two multiplication algorithms.
+ */
+public class ParallelMultiplierTest {
+    private ForkJoinPool pool;
+
+    @Before
+    public void before() throws Exception {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void after() throws Exception {
+        pool.shutdown();
+    }
+
+    /**
+     * Helper method for the tests, generates an mxn matrix and fills it with random numbers from 0-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return an mxn matrix filled with random numbers from 0-10
+     */
+    private Matrix generateRandomMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (Math.random() * 10);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure splitting into small row bands gives the same result as the sequential kernel.
+     */
+    @Test
+    public void testParallelMultiply() {
+        Matrix m1 = generateRandomMatrix(100, 70);
+        Matrix m2 = generateRandomMatrix(70, 50);
+        ParallelMultiplier multiplier = new ParallelMultiplier(pool, BlockedMultiplier.getDefault(), 8, 2);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), multiplier.multiply(m1, m2));
+    }
+
+    /**
+     * Make sure forking the seven products gives the same result as the sequential Strassen algorithm.
+     */
+    @Test
+    public void testParallelStrassen() {
+        Matrix m1 = generateRandomMatrix(64, 64);
+        Matrix m2 = generateRandomMatrix(64, 64);
+        ParallelMultiplier multiplier = new ParallelMultiplier(pool, BlockedMultiplier.getDefault(), 8, 3, 4);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2),
+                multiplier.multiplyStrassen(m1, m2));
+    }
+
+    /**
+     * Make sure odd and rectangular sizes are peeled without losing the parallel levels below them.
+     */
+    @Test
+    public void testParallelStrassenOddSizes() {
+        Matrix m1 = generateRandomMatrix(45, 31);
+        Matrix m2 = generateRandomMatrix(31, 27);
+        ParallelMultiplier multiplier = new ParallelMultiplier(pool, BlockedMultiplier.getDefault(), 8, 3, 4);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2),
+                multiplier.multiplyStrassen(m1, m2));
+    }
+
+    /**
+     * Make sure a depth deeper than the recursion itself is handled.
+     */
+    @Test
+    public void testParallelStrassenDepthBeyondRecursion() {
+        Matrix m1 = generateRandomMatrix(4, 4);
+        Matrix m2 = generateRandomMatrix(4, 4);
+        ParallelMultiplier multiplier = new ParallelMultiplier(pool, BlockedMultiplier.getDefault(), 8, 10, 1);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2),
+                multiplier.multiplyStrassen(m1, m2));
+    }
+
+    /**
+     * Make sure products with the default crossover, where the forked levels end in blocks the kernel multiplies
+     * directly, match the sequential kernel.
+     */
+    @Test
+    public void testParallelStrassenDefaultCrossover() {
+        Matrix m1 = generateRandomMatrix(600, 520);
+        Matrix m2 = generateRandomMatrix(520, 513);
+        ParallelMultiplier multiplier = new ParallelMultiplier(pool);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2),
+                multiplier.multiplyStrassen(m1, m2));
+    }
+}
@@ -0,0 +1,157 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class that checks results in O(n^2) time instead of recomputing them. {@link #verifyProduct} uses Freivalds'
+ * algorithm: if C = A * B then A * (B * r) = C * r for every vector r, and if C is wrong then a random vector of +1 and
+ * -1 exposes it with probability at least 1/2, so k rounds miss a wrong product with probability at most 2^-k, at the
+ * cost of three matrix-vector products per round. {@link #fingerprint} hashes the exact contents of a matrix, in a
+ * form that can be updated in O(1) when one element changes.
+ */
+public final class ProductVerifier {
+    /**
+     * Relative difference between A * (B * r) and C * r allowed per element, to absorb rounding. Strassen's algorithm
+     * rounds differently from the basic algorithm, so this is well above the precision of a double but still far
+     * below the effect of a wrong element.
+     */
+    public static final double TOLERANCE = 1e-9;
+
+    private ProductVerifier() {
+    }
+
+    /**
+     * Checks whether a matrix is the product of two others, using a new random source.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param c the supposed m x n product
+     * @param rounds the number of random vectors to try, each halving the chance of missing a wrong product
+     * @return false if c is certainly not the product, true if it is the product with probability at least
+     * 1 - 2^-rounds
+     */
+    public static boolean verifyProduct(Matrix a, Matrix b, Matrix c, int rounds) {
+        return verifyProduct(a, b, c, rounds, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Checks whether a matrix is the product of two others with Freivalds' algorithm.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param c the supposed m x n product
+     * @param rounds the number of random vectors to try, each halving the chance of missing a wrong product
+     * @param random the source of the random vectors
+     * @return false if c is certainly not the product, true if it is the product with probability at least
+     * 1 - 2^-rounds
+     */
+    public static boolean verifyProduct(Matrix a, Matrix b, Matrix c, int rounds, Random random) {
+        Matrix.checkMultiplicable(a, b);
+        if (c.getRows() != a.getRows() || c.getCols() != b.getCols()) {
+            return false;
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("At least one round is needed, not " + rounds);
+        }
+
+        int m = a.getRows();
+        int k = a.getCols();
+        int n = b.getCols();
+        double[] r = new double[n];
+        double[] br = new double[k];
+        double[] cr = new double[m];
+        for (int round = 0; round < rounds; round++) {
+            for (int j = 0; j < n; j++) {
+                r[j] = random.nextBoolean() ? 1.0 : -1.0;
+            }
+            multiplyVector(b, r, br);
+            multiplyVector(c, r, cr);
+
+            for (int i = 0; i < m; i++) {
+                double sum = 0; // row i of A * (B * r)
+                double magnitude = 0; // size of the terms of that sum, which the rounding error is proportional to
+                for (int p = 0; p < k; p++) {
+                    double term = a.get(i, p) * br[p];
+                    sum += term;
+                    magnitude += Math.abs(term);
+                }
+                double difference = Math.abs(sum - cr[i]);
+                if (!(difference <= TOLERANCE * (magnitude + Math.abs(cr[i])))) { // also rejects NaN
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes y = M * x.
+     * @param matrix the matrix M
+     * @param x a vector with as many elements as M has columns
+     * @param y the vector the product is written to, with as many elements as M has rows
+     */
+    private static void multiplyVector(Matrix matrix, double[] x, double[] y) {
+        double[] data = matrix.getData();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            int row = matrix.index(i, 0);
+            double sum = 0;
+            for (int j = 0; j < matrix.getCols(); j++) {
+                sum += data[row + j] * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Computes a 64-bit hash of the size and exact elements of a matrix, which only depends on the values, so a view
+     * and a copy of the same elements have the same fingerprint. It is a sum of the bits of every element times a
+     * pseudo-random weight for its position, so changing one element only needs {@link #updateFingerprint}.
+     * @param matrix the matrix
+     * @return the fingerprint of the matrix
+     */
+    public static long fingerprint(Matrix matrix) {
+        long hash = mix(((long) matrix.getRows() << 32) | matrix.getCols());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                hash += weight(i, j) * bits(matrix.get(i, j));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Updates a fingerprint for a change to one element, in O(1).
+     * @param fingerprint the fingerprint of the matrix before the change
+     * @param i the row of the element
+     * @param j the column of the element
+     * @param oldValue the element before the change
+     * @param newValue the element after the change
+     * @return the fingerprint of the matrix after the change
+     */
+    public static long updateFingerprint(long fingerprint, int i, int j, double oldValue, double newValue) {
+        return fingerprint + weight(i, j) * (bits(newValue) - bits(oldValue));
+    }
+
+    /**
+     * @return the bits of a value, with -0.0 counted as 0.0 and every NaN counted as the same NaN
+     */
+    private static long bits(double value) {
+        return Double.doubleToLongBits(value + 0.0);
+    }
+
+    /**
+     * @return the odd pseudo-random weight of the element at row i and column j
+     */
+    private static long weight(int i, int j) {
+        return mix(((long) i << 32) | (j & 0xFFFFFFFFL)) | 1L;
+    }
+
+    /**
+     * Scrambles the bits of a number with the finalizer of the SplitMix64 generator.
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,83 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+/**
+ * Class to handle testing of Freivalds' verification and of matrix fingerprints.
+ */
+public class ProductVerifierTest {
+    /**
+     * Helper method for the tests, generates an mxn matrix of random numbers from 1-10.
+     * @param m the number of rows of the generated matrix
+     * @param n the number of columns of the generated matrix
+     * @return the generated matrix
+     */
+    private Matrix generateRandomMxNMatrix(int m, int n) {
+        double[][] temp = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = 1 + (Math.random() * 9);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure the products of every algorithm pass, including their different rounding.
+     */
+    @Test
+    public void testCorrectProducts() {
+        Matrix m1 = generateRandomMxNMatrix(257, 300);
+        Matrix m2 = generateRandomMxNMatrix(300, 190);
+
+        assertTrue(ProductVerifier.verifyProduct(m1, m2, m1.multiply(m2), 20));
+        assertTrue(ProductVerifier.verifyProduct(m1, m2, m1.multiplyStrassen(m2), 20));
+        assertTrue(ProductVerifier.verifyProduct(m1, m2, m1.multiplyWinograd(m2), 20));
+    }
+
+    /**
+     * A single wrong element should be caught by the first round, since the random vector has no zeros.
+     */
+    @Test
+    public void testWrongElement() {
+        Matrix m1 = generateRandomMxNMatrix(64, 64);
+        Matrix m2 = generateRandomMxNMatrix(64, 64);
+        Matrix product = m1.multiplyStrassen(m2);
+        product.set(17, 40, product.get(17, 40) + 0.01);
+
+        assertFalse(ProductVerifier.verifyProduct(m1, m2, product, 1, new Random(146)));
+    }
+
+    @Test
+    public void testWrongSize() {
+        Matrix m1 = generateRandomMxNMatrix(5, 4);
+        Matrix m2 = generateRandomMxNMatrix(4, 3);
+
+        assertFalse(ProductVerifier.verifyProduct(m1, m2, new Matrix(5, 4), 5));
+    }
+
+    /**
+     * Make sure equal contents give equal fingerprints, and that updating a fingerprint gives the same value as
+     * computing it again.
+     */
+    @Test
+    public void testFingerprint() {
+        Matrix m1 = generateRandomMxNMatrix(30, 20);
+        Matrix copy = new Matrix(40, 40);
+        m1.add(new Matrix(30, 20), copy.view(5, 7, 30, 20));
+        long fingerprint = ProductVerifier.fingerprint(m1);
+        assertEquals(fingerprint, ProductVerifier.fingerprint(copy.view(5, 7, 30, 20)));
+
+        double old = m1.get(12, 3);
+        m1.set(12, 3, old + 1);
+        long updated = ProductVerifier.updateFingerprint(fingerprint, 12, 3, old, old + 1);
+        assertNotEquals(fingerprint, updated);
+        assertEquals(ProductVerifier.fingerprint(m1), updated);
+
+        assertNotEquals(ProductVerifier.fingerprint(new Matrix(2, 3)), ProductVerifier.fingerprint(new Matrix(3, 2)));
+    }
+}
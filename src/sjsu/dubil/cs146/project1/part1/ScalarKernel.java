@@ -0,0 +1,153 @@
+package sjsu.dubil.cs146.project1.part1;
+
+/**
+ * Class that implements the matrix kernels with plain scalar loops, written so the JIT can keep the working values in
+ * registers. Used when the Vector API is not available.
+ */
+class ScalarKernel implements MatrixKernel {
+    private static final int MICRO_SIZE = 4; // rows and columns of C computed by one call of the micro-kernel
+
+    /**
+     * Multiplies one tile, handing every full 4x4 block of C to the micro-kernel and the ragged edges to a scalar loop.
+     */
+    @Override
+    public void multiplyTile(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff,
+                             int bStride, double[] c, int cOff, int cStride) {
+        int mMain = m - (m % MICRO_SIZE);
+        int nMain = n - (n % MICRO_SIZE);
+
+        for (int i = 0; i < mMain; i += MICRO_SIZE) {
+            for (int j = 0; j < nMain; j += MICRO_SIZE) {
+                microKernel(k, a, aOff + i * aStride, aStride, b, bOff + j, bStride, c, cOff + i * cStride + j, cStride);
+            }
+        }
+
+        if (nMain < n) { // Columns to the right of the last full block
+            multiplyScalar(mMain, n - nMain, k, a, aOff, aStride, b, bOff + nMain, bStride, c, cOff + nMain, cStride);
+        }
+        if (mMain < m) { // Rows below the last full block, across the whole width
+            multiplyScalar(m - mMain, n, k, a, aOff + mMain * aStride, aStride, b, bOff, bStride,
+                    c, cOff + mMain * cStride, cStride);
+        }
+    }
+
+    /**
+     * Computes a 4x4 block of C += A * B, keeping the block in sixteen locals so each loaded element of A and B is used
+     * four times before it leaves the registers.
+     */
+    private static void microKernel(int k, double[] a, int aOff, int aStride, double[] b, int bOff, int bStride,
+                                    double[] c, int cOff, int cStride) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        int a0 = aOff;
+        int a1 = a0 + aStride;
+        int a2 = a1 + aStride;
+        int a3 = a2 + aStride;
+        int bRow = bOff;
+        for (int p = 0; p < k; p++) {
+            double b0 = b[bRow];
+            double b1 = b[bRow + 1];
+            double b2 = b[bRow + 2];
+            double b3 = b[bRow + 3];
+
+            double x = a[a0 + p];
+            c00 += x * b0;
+            c01 += x * b1;
+            c02 += x * b2;
+            c03 += x * b3;
+
+            x = a[a1 + p];
+            c10 += x * b0;
+            c11 += x * b1;
+            c12 += x * b2;
+            c13 += x * b3;
+
+            x = a[a2 + p];
+            c20 += x * b0;
+            c21 += x * b1;
+            c22 += x * b2;
+            c23 += x * b3;
+
+            x = a[a3 + p];
+            c30 += x * b0;
+            c31 += x * b1;
+            c32 += x * b2;
+            c33 += x * b3;
+
+            bRow += bStride;
+        }
+
+        int cRow = cOff;
+        c[cRow] += c00;
+        c[cRow + 1] += c01;
+        c[cRow + 2] += c02;
+        c[cRow + 3] += c03;
+        cRow += cStride;
+        c[cRow] += c10;
+        c[cRow + 1] += c11;
+        c[cRow + 2] += c12;
+        c[cRow + 3] += c13;
+        cRow += cStride;
+        c[cRow] += c20;
+        c[cRow + 1] += c21;
+        c[cRow + 2] += c22;
+        c[cRow + 3] += c23;
+        cRow += cStride;
+        c[cRow] += c30;
+        c[cRow + 1] += c31;
+        c[cRow + 2] += c32;
+        c[cRow + 3] += c33;
+    }
+
+    /**
+     * Computes C += A * B one row at a time in i-k-j order, used for the edges of a tile.
+     */
+    private static void multiplyScalar(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff,
+                                       int bStride, double[] c, int cOff, int cStride) {
+        for (int i = 0; i < m; i++) {
+            int aRow = aOff + i * aStride;
+            int cRow = cOff + i * cStride;
+            for (int p = 0; p < k; p++) {
+                double x = a[aRow + p];
+                int bRow = bOff + p * bStride;
+                for (int j = 0; j < n; j++) {
+                    c[cRow + j] += x * b[bRow + j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void add(int rows, int cols, double[] x, int xOff, int xStride, double[] y, int yOff, int yStride,
+                    double[] z, int zOff, int zStride) {
+        for (int i = 0; i < rows; i++) {
+            int xRow = xOff + i * xStride;
+            int yRow = yOff + i * yStride;
+            int zRow = zOff + i * zStride;
+            for (int j = 0; j < cols; j++) {
+                z[zRow + j] = x[xRow + j] + y[yRow + j];
+            }
+        }
+    }
+
+    @Override
+    public void sub(int rows, int cols, double[] x, int xOff, int xStride, double[] y, int yOff, int yStride,
+                    double[] z, int zOff, int zStride) {
+        for (int i = 0; i < rows; i++) {
+            int xRow = xOff + i * xStride;
+            int yRow = yOff + i * yStride;
+            int zRow = zOff + i * zStride;
+            for (int j = 0; j < cols; j++) {
+                z[zRow + j] = x[xRow + j] - y[yRow + j];
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
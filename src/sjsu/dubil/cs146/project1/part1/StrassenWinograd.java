@@ -0,0 +1,245 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.util.Arrays;
+
+/**
+ * Class that implements the Winograd variant of Strassen's algorithm, which needs 15 additions per level instead of 18.
+ * The additions follow the schedule of Boyer, Dumas, Pernet and Zhou, which writes the products straight into the
+ * quadrants of the result and needs only two temporaries per level. The temporaries of every level live in a single
+ * workspace that is sized before the recursion starts, so the total allocation is O(n^2) no matter how deep the
+ * recursion goes. Below the crossover size the blocked kernel is used instead, since it is faster on small blocks.
+ * Matrices of any shape are handled by dynamic peeling, so odd sizes are never padded.
+ */
+public class StrassenWinograd {
+    /**
+     * Crossover size measured on 1024x1024 and 2048x2048 products with the default blocked kernel on a 64-bit JDK 17.
+     * Crossovers from 64 to 256 were within about 10% of each other and 1.7-2x faster than the kernel alone, while 512
+     * lost most of the gain at n = 1024. The larger end of the flat region is used to keep rounding error down.
+     */
+    public static final int DEFAULT_CROSSOVER = 128;
+
+    private final int crossover; // largest size multiplied by the kernel instead of recursing
+    private final BlockedMultiplier kernel;
+    private final MatrixKernel ops = MatrixKernel.getDefault(); // additions and subtractions of blocks
+
+    /**
+     * Creates a multiplier using the default crossover and the default blocked kernel.
+     */
+    public StrassenWinograd() {
+        this(Integer.getInteger("matrix.strassen.crossover", DEFAULT_CROSSOVER));
+    }
+
+    /**
+     * Creates a multiplier using the given crossover and the default blocked kernel.
+     * @param crossover the size at or below which the blocked kernel is used instead of recursing
+     */
+    public StrassenWinograd(int crossover) {
+        this(crossover, BlockedMultiplier.getDefault());
+    }
+
+    /**
+     * Creates a multiplier using the given crossover and kernel.
+     * @param crossover the size at or below which the kernel is used instead of recursing
+     * @param kernel the kernel used for the base case
+     */
+    public StrassenWinograd(int crossover, BlockedMultiplier kernel) {
+        if (crossover < 1) {
+            throw new IllegalArgumentException("The crossover must be positive");
+        }
+        if (kernel == null) {
+            throw new IllegalArgumentException("The kernel cannot be null");
+        }
+        this.crossover = crossover;
+        this.kernel = kernel;
+    }
+
+    /**
+     * @return the size at or below which the kernel is used instead of recursing
+     */
+    public int getCrossover() {
+        return this.crossover;
+    }
+
+    /**
+     * Multiplies two matrices, allocating the result and the workspace.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @return the m x n product of the two matrices
+     */
+    public Matrix multiply(Matrix a, Matrix b) {
+        Matrix result = new Matrix(a.getRows(), b.getCols());
+        this.multiply(a, b, result, null);
+        return result;
+    }
+
+    /**
+     * Multiplies two matrices into an existing matrix, overwriting its contents. Passing the same workspace to
+     * repeated calls makes them allocation-free.
+     * @param a the left operand, an m x k matrix
+     * @param b the right operand, a k x n matrix
+     * @param c the m x n matrix the product is written to, which cannot share elements with a or b
+     * @param workspace an array of at least {@link #workspaceSize(int, int, int)} elements, or null to allocate one
+     */
+    public void multiply(Matrix a, Matrix b, Matrix c, double[] workspace) {
+        int m = a.getRows();
+        int n = b.getCols();
+        int k = a.getCols();
+        if (k != b.getRows() || c.getRows() != m || c.getCols() != n) {
+            throw new IllegalArgumentException("Cannot multiply a " + m + "x" + k + " matrix by a " + b.getRows() + "x"
+                    + n + " matrix into a " + c.getRows() + "x" + c.getCols() + " matrix");
+        }
+
+        int size = this.workspaceSize(m, n, k);
+        if (workspace == null) {
+            workspace = new double[size];
+        }
+        else if (workspace.length < size) {
+            throw new IllegalArgumentException("The workspace needs " + size + " elements but has " + workspace.length);
+        }
+
+        this.multiply(m, n, k, a.getData(), a.getOffset(), a.getStride(), b.getData(), b.getOffset(), b.getStride(),
+                c.getData(), c.getOffset(), c.getStride(), workspace, 0);
+    }
+
+    /**
+     * Calculates the size of the workspace needed for a product, which is the two temporaries of every level of the
+     * recursion added up.
+     * @param m the number of rows of A and C
+     * @param n the number of columns of B and C
+     * @param k the number of columns of A and rows of B
+     * @return the number of elements the workspace needs
+     */
+    public int workspaceSize(int m, int n, int k) {
+        long size = 0;
+        while (this.recurses(m, n, k)) {
+            m /= 2;
+            n /= 2;
+            k /= 2;
+            size += (long) m * Math.max(k, n) + (long) k * n;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The workspace for this product does not fit in an array");
+        }
+        return (int) size;
+    }
+
+    /**
+     * @return whether a product of the given size is split into quadrants instead of being handed to the kernel
+     */
+    private boolean recurses(int m, int n, int k) {
+        return m > this.crossover && n > this.crossover && k > this.crossover;
+    }
+
+    /**
+     * Recursive part of the algorithm, computing C = A * B on row-major arrays described by an offset and a row stride.
+     * The temporaries of this level are X, an hm x max(hk, hn) block, and Y, an hk x hn block, at the start of the
+     * workspace region; the levels below use the rest of the region.
+     */
+    private void multiply(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff, int bStride,
+                          double[] c, int cOff, int cStride, double[] w, int wOff) {
+        if (!this.recurses(m, n, k)) {
+            for (int i = 0; i < m; i++) {
+                Arrays.fill(c, cOff + i * cStride, cOff + i * cStride + n, 0.0);
+            }
+            this.kernel.multiplyAdd(m, n, k, a, aOff, aStride, b, bOff, bStride, c, cOff, cStride);
+            return;
+        }
+
+        if (m % 2 != 0 || n % 2 != 0 || k % 2 != 0) {
+            this.multiplyPeeled(m, n, k, a, aOff, aStride, b, bOff, bStride, c, cOff, cStride, w, wOff);
+            return;
+        }
+
+        int hm = m / 2;
+        int hn = n / 2;
+        int hk = k / 2;
+
+        // quadrants, named as in the paper with 1-based indices
+        int a11 = aOff;
+        int a12 = aOff + hk;
+        int a21 = aOff + hm * aStride;
+        int a22 = a21 + hk;
+        int b11 = bOff;
+        int b12 = bOff + hn;
+        int b21 = bOff + hk * bStride;
+        int b22 = b21 + hn;
+        int c11 = cOff;
+        int c12 = cOff + hn;
+        int c21 = cOff + hm * cStride;
+        int c22 = c21 + hn;
+
+        // temporaries of this level, followed by the region used by the levels below
+        int x = wOff;
+        int xStride = Math.max(hk, hn);
+        int y = x + hm * xStride;
+        int yStride = hn;
+        int next = y + hk * yStride;
+
+        // S3 = A11 - A21, T3 = B22 - B12, P7 = S3 * T3
+        this.ops.sub(hm, hk, a, a11, aStride, a, a21, aStride, w, x, xStride);
+        this.ops.sub(hk, hn, b, b22, bStride, b, b12, bStride, w, y, yStride);
+        this.multiply(hm, hn, hk, w, x, xStride, w, y, yStride, c, c21, cStride, w, next);
+
+        // S1 = A21 + A22, T1 = B12 - B11, P5 = S1 * T1
+        this.ops.add(hm, hk, a, a21, aStride, a, a22, aStride, w, x, xStride);
+        this.ops.sub(hk, hn, b, b12, bStride, b, b11, bStride, w, y, yStride);
+        this.multiply(hm, hn, hk, w, x, xStride, w, y, yStride, c, c22, cStride, w, next);
+
+        // S2 = S1 - A11, T2 = B22 - T1, P6 = S2 * T2
+        this.ops.sub(hm, hk, w, x, xStride, a, a11, aStride, w, x, xStride);
+        this.ops.sub(hk, hn, b, b22, bStride, w, y, yStride, w, y, yStride);
+        this.multiply(hm, hn, hk, w, x, xStride, w, y, yStride, c, c12, cStride, w, next);
+
+        // S4 = A12 - S2, P3 = S4 * B22
+        this.ops.sub(hm, hk, a, a12, aStride, w, x, xStride, w, x, xStride);
+        this.multiply(hm, hn, hk, w, x, xStride, b, b22, bStride, c, c11, cStride, w, next);
+
+        // P1 = A11 * B11, kept in X until the end
+        this.multiply(hm, hn, hk, a, a11, aStride, b, b11, bStride, w, x, xStride, w, next);
+
+        // U2 = P1 + P6, U3 = U2 + P7, U4 = U2 + P5, U7 = U3 + P5, U5 = U4 + P3
+        this.ops.add(hm, hn, w, x, xStride, c, c12, cStride, c, c12, cStride);
+        this.ops.add(hm, hn, c, c12, cStride, c, c21, cStride, c, c21, cStride);
+        this.ops.add(hm, hn, c, c12, cStride, c, c22, cStride, c, c12, cStride);
+        this.ops.add(hm, hn, c, c21, cStride, c, c22, cStride, c, c22, cStride);
+        this.ops.add(hm, hn, c, c12, cStride, c, c11, cStride, c, c12, cStride);
+
+        // T4 = T2 - B21, P4 = A22 * T4, U6 = U3 - P4
+        this.ops.sub(hk, hn, w, y, yStride, b, b21, bStride, w, y, yStride);
+        this.multiply(hm, hn, hk, a, a22, aStride, w, y, yStride, c, c11, cStride, w, next);
+        this.ops.sub(hm, hn, c, c21, cStride, c, c11, cStride, c, c21, cStride);
+
+        // P2 = A12 * B21, U1 = P1 + P2
+        this.multiply(hm, hn, hk, a, a12, aStride, b, b21, bStride, c, c11, cStride, w, next);
+        this.ops.add(hm, hn, w, x, xStride, c, c11, cStride, c, c11, cStride);
+    }
+
+    /**
+     * Dynamic peeling for odd sizes. The even top left parts are multiplied recursively, using the same workspace
+     * region since their halves have the same size, and then the kernel adds the contribution of an odd last column
+     * of A and fills in an odd last column and row of C.
+     */
+    private void multiplyPeeled(int m, int n, int k, double[] a, int aOff, int aStride, double[] b, int bOff,
+                                int bStride, double[] c, int cOff, int cStride, double[] w, int wOff) {
+        int mEven = m & ~1;
+        int nEven = n & ~1;
+        int kEven = k & ~1;
+        this.multiply(mEven, nEven, kEven, a, aOff, aStride, b, bOff, bStride, c, cOff, cStride, w, wOff);
+
+        if (kEven < k) { // rank one update with the peeled column of A and row of B
+            this.kernel.multiplyAdd(mEven, nEven, 1, a, aOff + kEven, aStride, b, bOff + kEven * bStride, bStride,
+                    c, cOff, cStride);
+        }
+        if (nEven < n) { // peeled column of C, a matrix-vector product
+            for (int i = 0; i < m; i++) {
+                c[cOff + i * cStride + nEven] = 0.0;
+            }
+            this.kernel.multiplyAdd(m, 1, k, a, aOff, aStride, b, bOff + nEven, bStride, c, cOff + nEven, cStride);
+        }
+        if (mEven < m) { // peeled row of C, a vector-matrix product
+            int cRow = cOff + mEven * cStride;
+            Arrays.fill(c, cRow, cRow + nEven, 0.0);
+            this.kernel.multiplyAdd(1, nEven, k, a, aOff + mEven * aStride, aStride, b, bOff, bStride, c, cRow, cStride);
+        }
+    }
+}
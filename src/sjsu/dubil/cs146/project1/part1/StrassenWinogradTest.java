@@ -0,0 +1,124 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Class to handle testing of the Winograd variant of Strassen's algorithm and its workspace.
+ */
+public class StrassenWinogradTest {
+    /**
+     * Helper method for the tests, generates an nxn matrix and fills it with random numbers from 0-10.
+     * @param n the value used for the dimensions of the generated matrix
+     * @return an nxn matrix filled with random numbers from 0-10
+     */
+    private Matrix generateRandomNxNMatrix(int n) {
+        double[][] temp = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                temp[i][j] = (Math.random() * 10);
+            }
+        }
+
+        return new Matrix(temp);
+    }
+
+    /**
+     * Make sure several levels of recursion give the same result as the basic algorithm.
+     */
+    @Test
+    public void testSeveralLevels() {
+        Matrix m1 = generateRandomNxNMatrix(128);
+        Matrix m2 = generateRandomNxNMatrix(128);
+        StrassenWinograd winograd = new StrassenWinograd(8);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), winograd.multiply(m1, m2));
+    }
+
+    /**
+     * Make sure recursing all the way down to 1x1 blocks works.
+     */
+    @Test
+    public void testCrossoverOfOne() {
+        Matrix m1 = generateRandomNxNMatrix(16);
+        Matrix m2 = generateRandomNxNMatrix(16);
+        StrassenWinograd winograd = new StrassenWinograd(1);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), winograd.multiply(m1, m2));
+    }
+
+    /**
+     * Make sure dynamic peeling handles rectangular matrices with odd sizes at several levels of the recursion.
+     */
+    @Test
+    public void testRectangularOddSizes() {
+        double[][] a = new double[150][85];
+        double[][] b = new double[85][203];
+        for (double[] row : a) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = (Math.random() * 10);
+            }
+        }
+        for (double[] row : b) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = (Math.random() * 10);
+            }
+        }
+        Matrix m1 = new Matrix(a);
+        Matrix m2 = new Matrix(b);
+        StrassenWinograd winograd = new StrassenWinograd(4);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), winograd.multiply(m1, m2));
+    }
+
+    /**
+     * Make sure the default settings used by Matrix give the same result as the basic algorithm.
+     */
+    @Test
+    public void testMatrixMultiplyWinograd() {
+        Matrix m1 = generateRandomNxNMatrix(512);
+        Matrix m2 = generateRandomNxNMatrix(512);
+
+        assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), m1.multiplyWinograd(m2));
+    }
+
+    /**
+     * Make sure a workspace can be reused, and that the result matrix is overwritten rather than added to.
+     */
+    @Test
+    public void testReusedWorkspace() {
+        StrassenWinograd winograd = new StrassenWinograd(4);
+        double[] workspace = new double[winograd.workspaceSize(32, 32, 32)];
+        Matrix result = generateRandomNxNMatrix(32);
+
+        for (int run = 0; run < 3; run++) {
+            Matrix m1 = generateRandomNxNMatrix(32);
+            Matrix m2 = generateRandomNxNMatrix(32);
+            winograd.multiply(m1, m2, result, workspace);
+            assertEquals("Failure: Multiplication not resulting in equal arrays", m1.multiply(m2), result);
+        }
+    }
+
+    /**
+     * The workspace should be the temporaries of every level added up, which is less than two matrices of the same size.
+     */
+    @Test
+    public void testWorkspaceSize() {
+        StrassenWinograd winograd = new StrassenWinograd(4);
+
+        assertEquals(0, winograd.workspaceSize(4, 4, 4));
+        assertEquals(2 * 16, winograd.workspaceSize(8, 8, 8));
+        assertEquals(2 * 64 + 2 * 16, winograd.workspaceSize(16, 16, 16));
+        assertTrue(winograd.workspaceSize(1024, 1024, 1024) < 2 * 1024 * 1024);
+    }
+
+    /**
+     * A workspace smaller than the product needs should be rejected before anything is written.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWorkspaceTooSmall() {
+        StrassenWinograd winograd = new StrassenWinograd(4);
+        Matrix m1 = generateRandomNxNMatrix(16);
+        winograd.multiply(m1, m1, new Matrix(16, 16), new double[10]);
+    }
+}
@@ -0,0 +1,137 @@
+package sjsu.dubil.cs146.project1.part1;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class that starts {@link DistributedWorker} processes on this machine, each in its own JVM with the same class path
+ * and JVM options as the current one, so a {@link DistributedMultiplier} can be run without any other machines. The
+ * options carry over the modules, such as jdk.incubator.vector for the vector kernel, and the heap size, so the workers
+ * multiply the way the current JVM would. Every worker picks a free port and reports it on its standard output once it
+ * is listening.
+ */
+public class WorkerLauncher implements Closeable {
+    private static final String READY = "LISTENING ";
+    // options that open a debugger or agent port or an output file, which every worker would try to take at once
+    private static final String[] EXCLUSIVE_OPTIONS = {"-agentlib:", "-agentpath:", "-javaagent:", "-Xdebug",
+            "-Xrunjdwp", "-XX:StartFlightRecording", "-XX:FlightRecorderOptions", "-Xlog", "-XX:HeapDumpPath"};
+
+    private final List<Process> processes = new ArrayList<>();
+    private final List<InetSocketAddress> addresses = new ArrayList<>();
+
+    /**
+     * Starts the given number of workers and waits for all of them to be listening.
+     * @param count the number of workers to start
+     * @throws IOException if a worker cannot be started or stops before it is listening
+     */
+    public WorkerLauncher(int count) throws IOException {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one worker is needed");
+        }
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions(ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DistributedWorker.class.getName());
+        try {
+            for (int w = 0; w < count; w++) {
+                ProcessBuilder builder = new ProcessBuilder(command);
+                builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+                this.processes.add(builder.start());
+            }
+            // the workers start up at the same time, and are only waited for here
+            for (Process process : this.processes) {
+                this.addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), readPort(process)));
+            }
+        }
+        catch (IOException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Picks the options of the current JVM that are passed on to the workers: all of them, such as --add-modules, -Xmx
+     * and -D properties, except those that open a port or file of their own.
+     * @param inputArguments the options the current JVM was started with
+     * @return the options to start a worker with
+     */
+    static List<String> jvmOptions(List<String> inputArguments) {
+        List<String> options = new ArrayList<>();
+        for (String argument : inputArguments) {
+            boolean exclusive = false;
+            for (String option : EXCLUSIVE_OPTIONS) {
+                exclusive |= argument.startsWith(option);
+            }
+            if (!exclusive) {
+                options.add(argument);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Reads the port a worker reports once it is listening.
+     * @param process the worker
+     * @return the port the worker listens on
+     * @throws IOException if the worker stops before reporting its port
+     */
+    private static int readPort(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                StandardCharsets.US_ASCII));
+        String line = reader.readLine();
+        if (line == null || !line.startsWith(READY)) {
+            throw new IOException("Worker did not start, it reported " + line);
+        }
+        return Integer.parseInt(line.substring(READY.length()).trim());
+    }
+
+    /**
+     * @return the addresses of the workers, in the order they were started
+     */
+    public List<InetSocketAddress> getAddresses() {
+        return Collections.unmodifiableList(this.addresses);
+    }
+
+    /**
+     * Kills one of the workers, as if its machine had failed.
+     * @param worker the index of the worker
+     * @throws InterruptedException if interrupted while waiting for the worker to stop
+     */
+    public void kill(int worker) throws InterruptedException {
+        Process process = this.processes.get(worker);
+        process.destroyForcibly();
+        process.waitFor();
+    }
+
+    /**
+     * Stops every worker and waits for them to exit.
+     */
+    @Override
+    public void close() {
+        for (Process process : this.processes) {
+            process.destroy();
+        }
+        for (Process process : this.processes) {
+            try {
+                process.waitFor();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
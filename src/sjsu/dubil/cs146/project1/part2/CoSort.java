@@ -0,0 +1,275 @@
+package sjsu.dubil.cs146.project1.part2;
+
+/**
+ * Class that sorts records kept as parallel arrays, one array per field, without building an object per record. The
+ * int keys are sorted with introsort, and every swap of two keys swaps the same two elements of each payload array, so
+ * the fields of a record stay at the same index as its key. Nothing is allocated for each element; the sort is not
+ * stable. {@link #argsort} finds the order of the keys without moving them at all.
+ */
+public final class CoSort {
+    private static final int INSERTION_CUTOFF = 16; // areas this short are finished with insertion sort
+    private static final int NINTHER_THRESHOLD = 128; // areas longer than this take the pivot from nine elements
+    private static final int[][] NO_INTS = new int[0][];
+    private static final long[][] NO_LONGS = new long[0][];
+    private static final double[][] NO_DOUBLES = new double[0][];
+
+    private CoSort() {
+    }
+
+    /**
+     * Sorts an area of the keys and moves the elements of an int payload along with them.
+     * @param keys the keys to be sorted
+     * @param start the index signifying the start of the area in the arrays, should be 0 for whole arrays
+     * @param end the index signifying the end of the area in the arrays, should be length - 1 for whole arrays
+     * @param payload the array whose elements are moved with the keys
+     * @return the sorted keys
+     */
+    public static int[] sort(int[] keys, int start, int end, int[] payload) {
+        return sort(keys, start, end, new int[][] {payload}, NO_LONGS, NO_DOUBLES);
+    }
+
+    /**
+     * Sorts an area of the keys and moves the elements of a long payload along with them.
+     * @param keys the keys to be sorted
+     * @param start the index signifying the start of the area in the arrays, should be 0 for whole arrays
+     * @param end the index signifying the end of the area in the arrays, should be length - 1 for whole arrays
+     * @param payload the array whose elements are moved with the keys
+     * @return the sorted keys
+     */
+    public static int[] sort(int[] keys, int start, int end, long[] payload) {
+        return sort(keys, start, end, NO_INTS, new long[][] {payload}, NO_DOUBLES);
+    }
+
+    /**
+     * Sorts an area of the keys and moves the elements of a double payload along with them.
+     * @param keys the keys to be sorted
+     * @param start the index signifying the start of the area in the arrays, should be 0 for whole arrays
+     * @param end the index signifying the end of the area in the arrays, should be length - 1 for whole arrays
+     * @param payload the array whose elements are moved with the keys
+     * @return the sorted keys
+     */
+    public static int[] sort(int[] keys, int start, int end, double[] payload) {
+        return sort(keys, start, end, NO_INTS, NO_LONGS, new double[][] {payload});
+    }
+
+    /**
+     * Sorts an area of the keys and moves the elements of any number of payloads of each type along with them.
+     * @param keys the keys to be sorted
+     * @param start the index signifying the start of the area in the arrays, should be 0 for whole arrays
+     * @param end the index signifying the end of the area in the arrays, should be length - 1 for whole arrays
+     * @param intPayloads the int arrays whose elements are moved with the keys, null for none
+     * @param longPayloads the long arrays whose elements are moved with the keys, null for none
+     * @param doublePayloads the double arrays whose elements are moved with the keys, null for none
+     * @return the sorted keys
+     * @throws IllegalArgumentException if a payload is null or too short for the area
+     */
+    public static int[] sort(int[] keys, int start, int end, int[][] intPayloads, long[][] longPayloads,
+                             double[][] doublePayloads) {
+        Payloads payloads = new Payloads(keys, (intPayloads == null) ? NO_INTS : intPayloads,
+                (longPayloads == null) ? NO_LONGS : longPayloads,
+                (doublePayloads == null) ? NO_DOUBLES : doublePayloads);
+        payloads.check(end);
+        if (start < end) {
+            payloads.introSort(start, end, 2 * (31 - Integer.numberOfLeadingZeros(end - start + 1)));
+        }
+        return keys;
+    }
+
+    /**
+     * Finds the order of an area of the keys without moving them. Each key is packed with its index into a long, the
+     * key in the high half, and the longs are sorted with {@link LongQuicksort}, so equal keys come out in the order of
+     * their indices and the sort reads the keys in order rather than through the indices.
+     * @param keys the keys to be ordered, which are not changed
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the indices of the keys of the area from the smallest key to the largest, so that keys[result[i]] is the
+     * i-th smallest key
+     */
+    public static int[] argsort(int[] keys, int start, int end) {
+        int n = Math.max(0, end - start + 1);
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) keys[start + i] << 32) | (start + i); // Indices are not negative, so no sign to mask
+        }
+        LongQuicksort.sort(packed, 0, n - 1);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * The keys and payloads of one sort, so that the recursion does not have to pass all four along.
+     */
+    private static final class Payloads {
+        private final int[] keys;
+        private final int[][] ints;
+        private final long[][] longs;
+        private final double[][] doubles;
+
+        Payloads(int[] keys, int[][] ints, long[][] longs, double[][] doubles) {
+            this.keys = keys;
+            this.ints = ints;
+            this.longs = longs;
+            this.doubles = doubles;
+        }
+
+        /**
+         * Makes sure every payload exists and reaches the end of the area.
+         * @param end the index signifying the end of the area
+         * @throws IllegalArgumentException if a payload is null or too short
+         */
+        void check(int end) {
+            int shortest = Integer.MAX_VALUE;
+            for (int[] payload : this.ints) {
+                shortest = Math.min(shortest, (payload == null) ? -1 : payload.length);
+            }
+            for (long[] payload : this.longs) {
+                shortest = Math.min(shortest, (payload == null) ? -1 : payload.length);
+            }
+            for (double[] payload : this.doubles) {
+                shortest = Math.min(shortest, (payload == null) ? -1 : payload.length);
+            }
+            if (shortest <= end) {
+                throw new IllegalArgumentException("Every payload must hold at least " + (end + 1) + " elements");
+            }
+        }
+
+        /**
+         * Introsort on an area, as in {@link Quicksort#introSort(int[], int, int)}.
+         * @param start the index signifying the start of the area in the arrays
+         * @param end the index signifying the end of the area in the arrays
+         * @param depthLimit the number of levels of partitioning left before falling back to heapsort
+         */
+        void introSort(int start, int end, int depthLimit) {
+            while (end - start + 1 > INSERTION_CUTOFF) {
+                if (depthLimit == 0) {
+                    this.heapSort(start, end);
+                    return;
+                }
+                depthLimit--;
+
+                // Three-way partition around the pivot, as in Quicksort.partitionThreeWay
+                int pivot = this.keys[this.choosePivot(start, end)];
+                int lowerBarrier = start;
+                int upperBarrier = end;
+                int current = start;
+                while (current <= upperBarrier) {
+                    int value = this.keys[current];
+                    if (value < pivot) {
+                        this.swap(current++, lowerBarrier++);
+                    }
+                    else if (value > pivot) {
+                        this.swap(current, upperBarrier--);
+                    }
+                    else {
+                        current++;
+                    }
+                }
+
+                if (lowerBarrier - start < end - upperBarrier) { // Recurse on the smaller side, loop on the larger one
+                    this.introSort(start, lowerBarrier - 1, depthLimit);
+                    start = upperBarrier + 1;
+                }
+                else {
+                    this.introSort(upperBarrier + 1, end, depthLimit);
+                    end = lowerBarrier - 1;
+                }
+            }
+
+            // Insertion sort by swaps, as there is nowhere to hold the payloads of the element being inserted
+            for (int i = start + 1; i <= end; i++) {
+                for (int j = i; j > start && this.keys[j - 1] > this.keys[j]; j--) {
+                    this.swap(j - 1, j);
+                }
+            }
+        }
+
+        /**
+         * @return the index of the median of three keys, or of Tukey's ninther for long areas
+         */
+        private int choosePivot(int start, int end) {
+            int middle = start + (end - start) / 2;
+            if (end - start + 1 <= NINTHER_THRESHOLD) {
+                return this.medianOfThree(start, middle, end);
+            }
+            int step = (end - start) / 8;
+            int low = this.medianOfThree(start, (start + step), (start + 2 * step));
+            int mid = this.medianOfThree((middle - step), middle, (middle + step));
+            int high = this.medianOfThree((end - 2 * step), (end - step), end);
+            return this.medianOfThree(low, mid, high);
+        }
+
+        /**
+         * @return the index of the median of the keys at three indices
+         */
+        private int medianOfThree(int i, int j, int k) {
+            if (this.keys[i] > this.keys[j]) {
+                int temp = i;
+                i = j;
+                j = temp;
+            }
+            if (this.keys[j] <= this.keys[k]) {
+                return j;
+            }
+            return (this.keys[i] > this.keys[k]) ? i : k;
+        }
+
+        /**
+         * Heapsort on an area, used when partitioning goes too deep.
+         */
+        private void heapSort(int start, int end) {
+            int n = end - start + 1;
+            for (int i = n / 2 - 1; i >= 0; i--) {
+                this.siftDown(start, i, n);
+            }
+            for (int size = n - 1; size > 0; size--) {
+                this.swap(start, start + size);
+                this.siftDown(start, 0, size);
+            }
+        }
+
+        /**
+         * Moves a key of a heap rooted at start down until both of its children are smaller.
+         */
+        private void siftDown(int start, int i, int size) {
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && this.keys[start + child + 1] > this.keys[start + child]) {
+                    child++;
+                }
+                if (this.keys[start + child] <= this.keys[start + i]) {
+                    return;
+                }
+                this.swap(start + i, start + child);
+                i = child;
+            }
+        }
+
+        /**
+         * Swaps two keys and the elements at the same indices of every payload.
+         */
+        private void swap(int i, int j) {
+            int key = this.keys[i];
+            this.keys[i] = this.keys[j];
+            this.keys[j] = key;
+            for (int[] payload : this.ints) {
+                int temp = payload[i];
+                payload[i] = payload[j];
+                payload[j] = temp;
+            }
+            for (long[] payload : this.longs) {
+                long temp = payload[i];
+                payload[i] = payload[j];
+                payload[j] = temp;
+            }
+            for (double[] payload : this.doubles) {
+                double temp = payload[i];
+                payload[i] = payload[j];
+                payload[j] = temp;
+            }
+        }
+    }
+}
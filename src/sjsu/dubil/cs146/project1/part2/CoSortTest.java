@@ -0,0 +1,118 @@
+package sjsu.dubil.cs146.project1.part2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Class to handle testing of the sorting of keys with payload arrays and of argsort.
+ */
+public class CoSortTest {
+    private final Random random = new Random(146);
+
+    /**
+     * Helper method for the tests, creates an array filled with random numbers.
+     * @param n the length of the array to be generated
+     * @param range the number of different values in the array
+     * @return an array of length n filled with random numbers from -range / 2 to range - range / 2 - 1
+     */
+    private int[] generateRandomNLengthArray(int n, int range) {
+        int[] array = new int[n];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = this.random.nextInt(range) - range / 2;
+        }
+        return array;
+    }
+
+    /**
+     * Make sure the keys are sorted and every payload is moved with them, so that each index still holds the fields of
+     * one record, and that nothing outside of the area is touched.
+     */
+    @Test
+    public void testSortWithPayloads() {
+        for (int n : new int[] {0, 1, 2, 17, 200, 100000}) {
+            for (int range : new int[] {1, 10, Integer.MAX_VALUE}) {
+                int[] keys = this.generateRandomNLengthArray(n + 2, range);
+                int[] originalKeys = Arrays.copyOf(keys, keys.length);
+                int[] ids = new int[n + 2];
+                long[] longs = new long[n + 2];
+                double[] doubles = new double[n + 2];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = i;
+                    longs[i] = this.random.nextLong();
+                    doubles[i] = this.random.nextDouble();
+                }
+                long[] originalLongs = Arrays.copyOf(longs, longs.length);
+                double[] originalDoubles = Arrays.copyOf(doubles, doubles.length);
+                int[] correctKeys = Arrays.copyOf(keys, keys.length);
+                Arrays.sort(correctKeys, 1, n + 1);
+
+                CoSort.sort(keys, 1, n, new int[][] {ids}, new long[][] {longs}, new double[][] {doubles});
+                assertArrayEquals(correctKeys, keys);
+                boolean[] seen = new boolean[ids.length];
+                for (int i = 0; i < ids.length; i++) {
+                    assertFalse(seen[ids[i]]);
+                    seen[ids[i]] = true;
+                    assertEquals(originalKeys[ids[i]], keys[i]);
+                    assertEquals(originalLongs[ids[i]], longs[i]);
+                    assertEquals(originalDoubles[ids[i]], doubles[i], 0.0);
+                }
+                assertEquals(0, ids[0]);
+                assertEquals(n + 1, ids[n + 1]);
+            }
+        }
+    }
+
+    /**
+     * Make sure the single payload overloads move their payload, and that payloads too short for the area are refused.
+     */
+    @Test
+    public void testSinglePayload() {
+        int[] keys = {5, 3, 9, 1};
+        long[] longs = {50, 30, 90, 10};
+        assertArrayEquals(new int[] {1, 3, 5, 9}, CoSort.sort(keys, 0, 3, longs));
+        assertArrayEquals(new long[] {10, 30, 50, 90}, longs);
+
+        double[] doubles = {0.9, 0.1, 0.5};
+        CoSort.sort(new int[] {9, 1, 5}, 0, 2, doubles);
+        assertArrayEquals(new double[] {0.1, 0.5, 0.9}, doubles, 0.0);
+
+        try {
+            CoSort.sort(new int[] {2, 1, 0}, 0, 2, new int[2]);
+            fail("A payload shorter than the area should be refused");
+        }
+        catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * Make sure argsort leaves the keys alone and returns the indices of the keys in sorted order, equal keys in the
+     * order of their indices, the same as a stable sort of the indices.
+     */
+    @Test
+    public void testArgsort() {
+        for (int range : new int[] {1, 10, Integer.MAX_VALUE}) {
+            int[] keys = this.generateRandomNLengthArray(50000, range);
+            keys[7] = Integer.MIN_VALUE;
+            keys[8] = Integer.MAX_VALUE;
+            int[] originalKeys = Arrays.copyOf(keys, keys.length);
+            Integer[] correctOrder = new Integer[keys.length - 10];
+            for (int i = 0; i < correctOrder.length; i++) {
+                correctOrder[i] = i + 5;
+            }
+            Arrays.sort(correctOrder, Comparator.comparingInt(i -> keys[i])); // Stable, as it sorts objects
+
+            int[] order = CoSort.argsort(keys, 5, keys.length - 6);
+            assertArrayEquals(originalKeys, keys);
+            assertEquals(correctOrder.length, order.length);
+            for (int i = 0; i < order.length; i++) {
+                assertEquals(correctOrder[i].intValue(), order[i]);
+            }
+        }
+        assertEquals(0, CoSort.argsort(new int[0], 0, -1).length);
+    }
+}
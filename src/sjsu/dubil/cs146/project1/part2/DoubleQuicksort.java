@@ -0,0 +1,299 @@
+package sjsu.dubil.cs146.project1.part2;
+
+/**
+ * Class that implements introsort and introselect for double arrays, in the total order of {@link Double#compare}:
+ * -0.0 comes before 0.0 and NaN after everything else. Comparing every pair with {@link Double#compare} would cost
+ * several branches each, so a first pass moves the NaNs to the end of the area and turns -0.0 into 0.0, the numbers
+ * are sorted with plain operators, and the negative zeros are put back in front of the positive ones at the end.
+ */
+public final class DoubleQuicksort {
+    private static final int INSERTION_CUTOFF = 16; // areas this short are finished with insertion sort
+    private static final int NINTHER_THRESHOLD = 128; // areas longer than this take the pivot from nine elements
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
+
+    private DoubleQuicksort() {
+    }
+
+    /**
+     * Sorts an area of an array with introsort, in the order of {@link Double#compare}.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the sorted array
+     */
+    public static double[] sort(double[] array, int start, int end) {
+        if (start < end) {
+            long prepared = prepare(array, start, end);
+            int last = (int) (prepared >>> 32) - 1;
+            if (start < last) {
+                introSort(array, start, last, 2 * (31 - Integer.numberOfLeadingZeros(last - start + 1)));
+            }
+            restoreNegativeZeros(array, firstNotNegative(array, start, last), last, (int) prepared);
+        }
+        return array;
+    }
+
+    /**
+     * Finds the k-th smallest element of an area with introselect, in the order of {@link Double#compare}.
+     * @param array the array in which the element is selected from
+     * @param start the index marking the start of the area in the array in which the element is selected
+     * @param end the index marking the end of the area in the array in which the element is selected
+     * @param k the order of the element to be selected, from 0 to end - start
+     * @return the k-th smallest element, which is left at start + k with no larger elements before it and no smaller
+     * ones after it
+     */
+    public static double select(double[] array, int start, int end, int k) {
+        Quicksort.checkOrder(start, end, k);
+        long prepared = prepare(array, start, end);
+        int last = (int) (prepared >>> 32) - 1;
+        if (start + k <= last) { // Otherwise the element is a NaN, and the NaNs are already after every number
+            introSelect(array, start, last, start + k);
+        }
+        // The zeros before start + k are turned back first, so the order around it holds for the signed zeros too
+        restoreNegativeZeros(array, start, last, (int) prepared);
+        return array[start + k];
+    }
+
+    /**
+     * Introsort on an area, as in {@link Quicksort#introSort(int[], int, int)}.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     * @param depthLimit the number of levels of partitioning left before falling back to heapsort
+     */
+    private static void introSort(double[] array, int start, int end, int depthLimit) {
+        while (end - start + 1 > INSERTION_CUTOFF) {
+            if (depthLimit == 0) {
+                heapSort(array, start, end);
+                return;
+            }
+            depthLimit--;
+
+            long bounds = partition(array, start, end, array[choosePivot(array, start, end)]);
+            int lowEnd = (int) (bounds >>> 32) - 1;
+            int highStart = (int) bounds + 1;
+            if (lowEnd - start < end - highStart) { // Recurse on the smaller side and keep looping on the larger one
+                introSort(array, start, lowEnd, depthLimit);
+                start = highStart;
+            }
+            else {
+                introSort(array, highStart, end, depthLimit);
+                end = lowEnd;
+            }
+        }
+
+        insertionSort(array, start, end);
+    }
+
+    /**
+     * Introselect on an area, as in {@link Quicksort#selectIndex(int[], int, int, int)}, except that it falls back to
+     * heapsort when the pivots go badly.
+     * @param array the array in which the element is selected from
+     * @param start the index marking the start of the area
+     * @param end the index marking the end of the area
+     * @param target the index the selected element is to end up at
+     */
+    private static void introSelect(double[] array, int start, int end, int target) {
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(end - start + 1));
+        while (end - start + 1 > INSERTION_CUTOFF) {
+            if (depthLimit == 0) {
+                heapSort(array, start, end);
+                return;
+            }
+            depthLimit--;
+
+            long bounds = partition(array, start, end, array[choosePivot(array, start, end)]);
+            int lower = (int) (bounds >>> 32);
+            int upper = (int) bounds;
+            if (target < lower) {
+                end = lower - 1;
+            }
+            else if (target > upper) {
+                start = upper + 1;
+            }
+            else {
+                return;
+            }
+        }
+
+        insertionSort(array, start, end);
+    }
+
+    /**
+     * Partitions an area three ways around a pivot, as in {@link Quicksort#partitionThreeWay}.
+     * @param array the array to be partitioned
+     * @param start the index signifying the start of the area
+     * @param end the index signifying the end of the area
+     * @param pivot the value of the pivot
+     * @return the indices of the first and last elements equal to the pivot, packed into the high and low halves of a
+     * long so that nothing is allocated
+     */
+    private static long partition(double[] array, int start, int end, double pivot) {
+        int lowerBarrier = start;
+        int upperBarrier = end;
+        int current = start;
+        while (current <= upperBarrier) {
+            double value = array[current];
+            if (value < pivot) {
+                array[current] = array[lowerBarrier];
+                array[lowerBarrier] = value;
+                lowerBarrier++;
+                current++;
+            }
+            else if (value > pivot) {
+                array[current] = array[upperBarrier];
+                array[upperBarrier] = value;
+                upperBarrier--;
+            }
+            else {
+                current++;
+            }
+        }
+        return ((long) lowerBarrier << 32) | (upperBarrier & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the index of the median of three elements, or of Tukey's ninther for long areas
+     */
+    private static int choosePivot(double[] array, int start, int end) {
+        int middle = start + (end - start) / 2;
+        if (end - start + 1 <= NINTHER_THRESHOLD) {
+            return medianOfThree(array, start, middle, end);
+        }
+        int step = (end - start) / 8;
+        int low = medianOfThree(array, start, (start + step), (start + 2 * step));
+        int mid = medianOfThree(array, (middle - step), middle, (middle + step));
+        int high = medianOfThree(array, (end - 2 * step), (end - step), end);
+        return medianOfThree(array, low, mid, high);
+    }
+
+    /**
+     * @return the index of the median of the elements at three indices
+     */
+    private static int medianOfThree(double[] array, int i, int j, int k) {
+        if (array[i] > array[j]) {
+            int temp = i;
+            i = j;
+            j = temp;
+        }
+        if (array[j] <= array[k]) {
+            return j;
+        }
+        return (array[i] > array[k]) ? i : k;
+    }
+
+    /**
+     * Insertion sort on a short area.
+     */
+    private static void insertionSort(double[] array, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            double value = array[i];
+            int j = i - 1;
+            while (j >= start && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**
+     * Heapsort on an area, used when partitioning goes too deep.
+     */
+    private static void heapSort(double[] array, int start, int end) {
+        int n = end - start + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, start, i, n);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            double temp = array[start];
+            array[start] = array[start + size];
+            array[start + size] = temp;
+            siftDown(array, start, 0, size);
+        }
+    }
+
+    /**
+     * Moves an element of a heap rooted at start down until both of its children are smaller.
+     */
+    private static void siftDown(double[] array, int start, int i, int size) {
+        double value = array[start + i];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && array[start + child + 1] > array[start + child]) {
+                child++;
+            }
+            if (array[start + child] <= value) {
+                break;
+            }
+            array[start + i] = array[start + child];
+            i = child;
+        }
+        array[start + i] = value;
+    }
+
+    /**
+     * Moves the NaNs of an area to its end and turns its negative zeros into positive ones, in a single pass, so that
+     * the rest of the sort can compare with plain operators.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area
+     * @param end the index signifying the end of the area
+     * @return the index of the first NaN, or end + 1 if there are none, and the number of negative zeros, packed into
+     * the high and low halves of a long
+     */
+    private static long prepare(double[] array, int start, int end) {
+        int negativeZeros = 0;
+        int last = end;
+        int i = start;
+        while (i <= last) {
+            double value = array[i];
+            if (value != value) { // Only NaN is not equal to itself
+                array[i] = array[last];
+                array[last] = value;
+                last--;
+            }
+            else {
+                if (Double.doubleToRawLongBits(value) == NEGATIVE_ZERO_BITS) {
+                    array[i] = 0;
+                    negativeZeros++;
+                }
+                i++;
+            }
+        }
+        return ((long) (last + 1) << 32) | negativeZeros;
+    }
+
+    /**
+     * Turns the first zeros found from an index back into negative zeros.
+     * @param array the array holding the zeros
+     * @param from the index the search starts at
+     * @param end the index the search stops at
+     * @param count the number of negative zeros taken out by {@link #prepare}
+     */
+    private static void restoreNegativeZeros(double[] array, int from, int end, int count) {
+        for (int i = from; count > 0 && i <= end; i++) {
+            if (array[i] == 0) {
+                array[i] = -0.0;
+                count--;
+            }
+        }
+    }
+
+    /**
+     * @return the index of the first element of a sorted area that is not negative, end + 1 if there is none
+     */
+    private static int firstNotNegative(double[] array, int start, int end) {
+        int low = start;
+        int high = end + 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (array[middle] < 0) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
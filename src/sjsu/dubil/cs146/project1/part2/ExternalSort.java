@@ -0,0 +1,453 @@
+package sjsu.dubil.cs146.project1.part2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class that sorts files of ints too large to fit in memory. The files hold the ints one after another in big-endian
+ * order, as written by {@link java.io.DataOutputStream}. The input is read through a {@link FileChannel} in chunks as
+ * large as the memory budget allows, each chunk is sorted with {@link Quicksort#introSort} and spilled to a temporary
+ * file as a sorted run, and the runs are then merged k at a time with a loser tree until one is left. When there are
+ * more runs than can be merged at once within the budget, groups of them are merged into longer runs first.
+ * <p>
+ * The disk is kept busy while the processor works: a chunk is written out by a background thread while the next one is
+ * read and sorted, and while merging every run reads its next block and the output writes its last one in the
+ * background, each into the second of its two buffers.
+ */
+public class ExternalSort {
+    private static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+    private static final long MIN_MEMORY_BUDGET = 1 << 16;
+    private static final int MAX_BLOCK_BYTES = 1 << 20; // largest single read or write
+    private static final int MAX_RUN_LENGTH = Integer.MAX_VALUE - 8; // longest array the JVM will allocate
+    private static final int IO_THREADS = 2; // so a read and a write can be waiting on the disk at the same time
+    private static final long EXHAUSTED = Long.MAX_VALUE; // head of a run with nothing left, larger than every int
+
+    private final Path tempDirectory;
+    private final int blockBytes;
+    private final int runLength; // ints in each of the two chunks sorted in memory
+    private final int fanIn; // runs merged at once
+    private final Quicksort quicksort = new Quicksort(Quicksort.Partitioning.THREE_WAY);
+    private int runCount;
+    private int mergePasses;
+
+    /**
+     * Creates an external sort with the default memory budget of 64 MB, putting its runs in the system's temporary
+     * directory.
+     */
+    public ExternalSort() {
+        this(DEFAULT_MEMORY_BUDGET, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Creates an external sort.
+     * @param memoryBudget the number of bytes the chunks and I/O buffers may take, at least 64 KB
+     * @param tempDirectory the directory the runs are put in while they are merged
+     */
+    public ExternalSort(long memoryBudget, Path tempDirectory) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("The memory budget must be at least " + MIN_MEMORY_BUDGET + " bytes");
+        }
+        if (tempDirectory == null) {
+            throw new IllegalArgumentException("The temporary directory cannot be null");
+        }
+        this.tempDirectory = tempDirectory;
+        this.blockBytes = (int) Math.min(MAX_BLOCK_BYTES, memoryBudget / 16) / Integer.BYTES * Integer.BYTES;
+
+        // While runs are made: two chunks, a block to read into and a block to write each chunk from
+        this.runLength = (int) Math.min(MAX_RUN_LENGTH, (memoryBudget - 3L * this.blockBytes) / (2 * Integer.BYTES));
+        // While merging: two blocks for every run being read and two for the output
+        this.fanIn = (int) Math.min(Integer.MAX_VALUE, memoryBudget / (2L * this.blockBytes) - 1);
+    }
+
+    /**
+     * Sorts the ints of a file into another file.
+     * @param input the file to be sorted
+     * @param output the file the sorted ints are written to, replaced if it exists
+     * @throws IOException if a file cannot be read or written, or the input does not hold a whole number of ints
+     */
+    public void sort(Path input, Path output) throws IOException {
+        ExecutorService io = Executors.newFixedThreadPool(IO_THREADS, task -> {
+            Thread thread = new Thread(task, "external-sort-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Path> runs = new ArrayList<>();
+        List<Path> merged = new ArrayList<>();
+        try {
+            this.createRuns(input, runs, io);
+            this.runCount = runs.size();
+            this.mergePasses = 0;
+
+            while (runs.size() > this.fanIn) { // Too many runs for one merge, so make fewer and longer ones first
+                for (int i = 0; i < runs.size(); i += this.fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + this.fanIn, runs.size()));
+                    Path run = Files.createTempFile(this.tempDirectory, "run", ".ints");
+                    merged.add(run);
+                    this.merge(group, run, io);
+                    for (Path done : group) {
+                        Files.delete(done);
+                    }
+                }
+                runs.clear();
+                runs.addAll(merged);
+                merged.clear();
+                this.mergePasses++;
+            }
+            this.merge(runs, output, io);
+            this.mergePasses++;
+        }
+        finally {
+            io.shutdownNow();
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            for (Path run : merged) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Method to return the number of sorted runs the input was split into by the last sort.
+     * @return the number of runs made by the last sort
+     */
+    public int getRunCount() {
+        return this.runCount;
+    }
+
+    /**
+     * Method to return the number of times the last sort read and wrote every int while merging.
+     * @return the number of merge passes made by the last sort, including the final one into the output
+     */
+    public int getMergePasses() {
+        return this.mergePasses;
+    }
+
+    /**
+     * Splits the input into chunks, sorts each one and writes it to a run file. Each chunk is written by a background
+     * thread while the other chunk is read and sorted.
+     * @param input the file to be sorted
+     * @param runs the list the run files are added to, in the order they are made
+     * @param io the threads that write the runs
+     * @throws IOException if the input cannot be read, or a run cannot be written
+     */
+    private void createRuns(Path input, List<Path> runs, ExecutorService io) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException(input + " does not hold a whole number of ints");
+            }
+            int chunkLength = (int) Math.min(this.runLength, size / Integer.BYTES);
+            int[][] chunks = {new int[chunkLength], new int[chunkLength]};
+            ByteBuffer[] writeBlocks = {ByteBuffer.allocateDirect(this.blockBytes),
+                    ByteBuffer.allocateDirect(this.blockBytes)};
+            ByteBuffer readBlock = ByteBuffer.allocateDirect(this.blockBytes);
+            Future<?>[] writes = {done(), done()};
+
+            int current = 0;
+            while (true) {
+                await(writes[current]); // The chunk is only filled again once its last run has been written
+                int[] chunk = chunks[current];
+                int length = readInts(in, readBlock, chunk);
+                if (length == 0) {
+                    break;
+                }
+                this.quicksort.introSort(chunk, 0, length - 1);
+
+                Path run = Files.createTempFile(this.tempDirectory, "run", ".ints");
+                runs.add(run);
+                ByteBuffer writeBlock = writeBlocks[current];
+                writes[current] = io.submit(() -> {
+                    writeInts(run, writeBlock, chunk, length);
+                    return null;
+                });
+                current ^= 1;
+            }
+            await(writes[0]);
+            await(writes[1]);
+        }
+    }
+
+    /**
+     * Fills a chunk with ints read from a channel.
+     * @param in the channel to be read
+     * @param block the buffer each block is read into
+     * @param chunk the array the ints are put in
+     * @return the number of ints read, less than the length of the chunk only at the end of the channel
+     * @throws IOException if the channel cannot be read
+     */
+    private static int readInts(FileChannel in, ByteBuffer block, int[] chunk) throws IOException {
+        int length = 0;
+        while (length < chunk.length) {
+            block.clear();
+            block.limit((int) Math.min(block.capacity(), (long) (chunk.length - length) * Integer.BYTES));
+            fill(in, block);
+            int ints = block.remaining() / Integer.BYTES;
+            if (ints == 0) {
+                break;
+            }
+            block.asIntBuffer().get(chunk, length, ints);
+            length += ints;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the start of a chunk to a new file, one block at a time.
+     * @param file the file to be written
+     * @param block the buffer each block is written from
+     * @param chunk the array holding the ints
+     * @param length the number of ints to be written
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeInts(Path file, ByteBuffer block, int[] chunk, int length) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int blockInts = block.capacity() / Integer.BYTES;
+            for (int i = 0; i < length; i += blockInts) {
+                int ints = Math.min(blockInts, length - i);
+                block.clear();
+                block.asIntBuffer().put(chunk, i, ints);
+                block.limit(ints * Integer.BYTES);
+                while (block.hasRemaining()) {
+                    out.write(block);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges sorted runs into one file. The smallest head of the runs is found with a loser tree, which keeps the run
+     * that lost the match at each node, so replacing the winner takes one comparison per level of the tree, and the
+     * heads are held as longs so that an exhausted run can lose to every int.
+     * @param runs the files to be merged
+     * @param output the file the merged ints are written to
+     * @param io the threads that read the runs and write the output
+     * @throws IOException if a run cannot be read or the output cannot be written
+     */
+    private void merge(List<Path> runs, Path output, ExecutorService io) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        try (BlockWriter writer = new BlockWriter(output, this.blockBytes, io)) {
+            if (k == 0) {
+                return;
+            }
+            long[] heads = new long[k];
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), this.blockBytes, io);
+                heads[i] = readers[i].next();
+            }
+
+            // Node i has children 2i and 2i + 1, and leaf k + r stands for run r, so nodes 1 to k - 1 hold losers
+            int[] losers = new int[k];
+            int winner = build(heads, losers, 1, k);
+            while (heads[winner] != EXHAUSTED) {
+                writer.write((int) heads[winner]);
+                heads[winner] = readers[winner].next();
+                for (int node = (winner + k) / 2; node > 0; node /= 2) { // Replay the winner's matches up to the root
+                    int loser = losers[node];
+                    if (heads[loser] < heads[winner]) {
+                        losers[node] = winner;
+                        winner = loser;
+                    }
+                }
+            }
+        }
+        finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the loser tree below a node by playing the matches of its subtrees.
+     * @param heads the smallest remaining int of every run
+     * @param losers the tree, in which the loser of each match is stored at its node
+     * @param node the node to be built
+     * @param k the number of runs
+     * @return the run that won every match below the node
+     */
+    private static int build(long[] heads, int[] losers, int node, int k) {
+        if (node >= k) {
+            return node - k;
+        }
+        int left = build(heads, losers, 2 * node, k);
+        int right = build(heads, losers, 2 * node + 1, k);
+        if (heads[left] <= heads[right]) {
+            losers[node] = right;
+            return left;
+        }
+        losers[node] = left;
+        return right;
+    }
+
+    /**
+     * Reads from a channel until the buffer is full or the channel ends, then flips the buffer to be read.
+     * @param in the channel to be read
+     * @param block the buffer to be filled
+     * @throws IOException if the channel cannot be read
+     */
+    private static void fill(FileChannel in, ByteBuffer block) throws IOException {
+        while (block.hasRemaining() && in.read(block) >= 0) {
+            // Keep reading, a read may stop short of the end of the buffer
+        }
+        block.flip();
+    }
+
+    /**
+     * @return a future that is already done, for the buffers that have not been used yet
+     */
+    private static Future<Void> done() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Waits for a read or write on a background thread to finish.
+     * @param future the future of the read or write
+     * @return the result of the read or write
+     * @throws IOException if the read or write failed, or the wait was interrupted
+     */
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Background I/O failed", e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for background I/O", e);
+        }
+    }
+
+    /**
+     * Reader of a run that has its next block read in the background while the current one is merged.
+     */
+    private static final class RunReader {
+        private final FileChannel in;
+        private final ExecutorService io;
+        private final ByteBuffer[] blocks;
+        private int next; // index of the block being read in the background
+        private Future<ByteBuffer> pending;
+        private IntBuffer current = IntBuffer.allocate(0);
+
+        RunReader(Path run, int blockBytes, ExecutorService io) throws IOException {
+            this.in = FileChannel.open(run, StandardOpenOption.READ);
+            this.io = io;
+            this.blocks = new ByteBuffer[] {ByteBuffer.allocateDirect(blockBytes),
+                    ByteBuffer.allocateDirect(blockBytes)};
+            this.pending = this.readAhead();
+        }
+
+        /**
+         * @return the next int of the run, or {@link #EXHAUSTED} once every int has been read
+         */
+        long next() throws IOException {
+            if (!this.current.hasRemaining()) {
+                ByteBuffer block = await(this.pending);
+                if (!block.hasRemaining()) {
+                    return EXHAUSTED;
+                }
+                this.current = block.asIntBuffer();
+                this.next ^= 1; // The block just used up is free to be read into
+                this.pending = this.readAhead();
+            }
+            return this.current.get();
+        }
+
+        /**
+         * @return the future of a read of the next block into the free buffer
+         */
+        private Future<ByteBuffer> readAhead() {
+            ByteBuffer block = this.blocks[this.next];
+            Callable<ByteBuffer> read = () -> {
+                block.clear();
+                fill(this.in, block);
+                return block;
+            };
+            return this.io.submit(read);
+        }
+
+        void close() throws IOException {
+            this.in.close(); // A read still going on in the background fails, but nothing waits for it
+        }
+    }
+
+    /**
+     * Writer of the merged ints that writes each full block in the background while the next one is filled.
+     */
+    private static final class BlockWriter implements AutoCloseable {
+        private final FileChannel out;
+        private final ExecutorService io;
+        private final ByteBuffer[] blocks;
+        private int filling; // index of the block being filled
+        private IntBuffer current;
+        private Future<Void> pending = done();
+
+        BlockWriter(Path file, int blockBytes, ExecutorService io) throws IOException {
+            this.out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.io = io;
+            this.blocks = new ByteBuffer[] {ByteBuffer.allocateDirect(blockBytes),
+                    ByteBuffer.allocateDirect(blockBytes)};
+            this.current = this.blocks[0].asIntBuffer();
+        }
+
+        void write(int value) throws IOException {
+            if (!this.current.hasRemaining()) {
+                this.flush();
+            }
+            this.current.put(value);
+        }
+
+        /**
+         * Starts writing the block being filled in the background, once the write of the other block is done.
+         */
+        private void flush() throws IOException {
+            ByteBuffer block = this.blocks[this.filling];
+            block.clear();
+            block.limit(this.current.position() * Integer.BYTES);
+            await(this.pending); // Writes must reach the file in order, and the other block must be free
+            this.pending = this.io.submit(() -> {
+                while (block.hasRemaining()) {
+                    this.out.write(block);
+                }
+                return null;
+            });
+            this.filling ^= 1;
+            this.blocks[this.filling].clear(); // Its write was waited for above
+            this.current = this.blocks[this.filling].asIntBuffer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (this.current.position() > 0) {
+                    this.flush();
+                }
+                await(this.pending);
+            }
+            finally {
+                this.out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package sjsu.dubil.cs146.project1.part2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Class to handle testing of the external merge sort, with memory budgets small enough to force many runs and more
+ * than one merge pass.
+ */
+public class ExternalSortTest {
+    private Path directory;
+    private Path runDirectory; // kept apart so that runs left behind can be noticed
+    private final Random random = new Random(146);
+
+    @Before
+    public void before() throws Exception {
+        directory = Files.createTempDirectory("external-sort-test");
+        runDirectory = Files.createDirectory(directory.resolve("runs"));
+    }
+
+    @After
+    public void after() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Helper method for the tests, writes ints to a file the way the external sort reads them.
+     * @param file the file to be written
+     * @param array the ints to be written
+     * @return the file
+     */
+    private Path writeInts(Path file, int[] array) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (int value : array) {
+                out.writeInt(value);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Helper method for the tests, reads back the ints of a file.
+     * @param file the file to be read
+     * @return the ints in the file
+     */
+    private int[] readInts(Path file) throws IOException {
+        int[] array = new int[(int) (Files.size(file) / Integer.BYTES)];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = in.readInt();
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Helper method for the tests, sorts an array through files and checks the result against {@link Arrays#sort}.
+     * @param sorter the external sort to be used
+     * @param array the ints to be sorted
+     */
+    private void assertSortsLikeArrays(ExternalSort sorter, int[] array) throws IOException {
+        Path input = this.writeInts(directory.resolve("input"), array);
+        Path output = directory.resolve("output");
+        sorter.sort(input, output);
+
+        int[] correctArray = Arrays.copyOf(array, array.length);
+        Arrays.sort(correctArray);
+        assertArrayEquals(correctArray, this.readInts(output));
+        assertArrayEquals(array, this.readInts(input));
+        try (Stream<Path> runs = Files.list(runDirectory)) {
+            assertEquals(0, runs.count());
+        }
+    }
+
+    /**
+     * Make sure an input many times larger than the memory budget is split into many runs, merged in more than one
+     * pass and sorted, with both ends of the int range in it.
+     */
+    @Test
+    public void testManyRuns() throws IOException {
+        int[] array = new int[300000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (i % 5 == 0) ? this.random.nextInt(100) : this.random.nextInt();
+        }
+        array[17] = Integer.MAX_VALUE;
+        array[18] = Integer.MIN_VALUE;
+
+        ExternalSort sorter = new ExternalSort(1 << 16, runDirectory);
+        this.assertSortsLikeArrays(sorter, array);
+        assertTrue(sorter.getRunCount() > 40);
+        assertTrue(sorter.getMergePasses() >= 2);
+    }
+
+    /**
+     * Make sure an input that fits in one run is sorted in a single merge pass.
+     */
+    @Test
+    public void testOneRun() throws IOException {
+        int[] array = new int[10000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = array.length - i;
+        }
+
+        ExternalSort sorter = new ExternalSort(1 << 20, runDirectory);
+        this.assertSortsLikeArrays(sorter, array);
+        assertEquals(1, sorter.getRunCount());
+        assertEquals(1, sorter.getMergePasses());
+    }
+
+    /**
+     * Make sure empty and single element inputs are handled, and that inputs that are not whole ints and budgets too
+     * small to work in are refused.
+     */
+    @Test
+    public void testEdgeCases() throws IOException {
+        ExternalSort sorter = new ExternalSort(1 << 16, runDirectory);
+        this.assertSortsLikeArrays(sorter, new int[0]);
+        this.assertSortsLikeArrays(sorter, new int[] {-7});
+
+        Path broken = Files.write(directory.resolve("broken"), new byte[] {1, 2, 3, 4, 5});
+        try {
+            sorter.sort(broken, directory.resolve("output"));
+            fail("A file that is not a whole number of ints should be refused");
+        }
+        catch (IOException e) {
+            // Expected
+        }
+
+        try {
+            new ExternalSort(1000, runDirectory);
+            fail("A memory budget below 64 KB should be refused");
+        }
+        catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test to measure the timing of the external sort on a file of 10^8 ints, 400 MB, with the default budget of
+     * 64 MB, against the first implementation of quicksort in memory.
+     */
+    @Test
+    public void testExternalSortTiming() throws IOException {
+        int n = 100000000;
+        int[] array = new int[n];
+        for (int i = 0; i < n; i++) {
+            array[i] = this.random.nextInt(n / 10);
+        }
+        Path input = this.writeInts(directory.resolve("input"), array);
+
+        long begin = System.currentTimeMillis();
+        new Quicksort().quickSort1(array, 0, n - 1);
+        long end = System.currentTimeMillis();
+        System.out.println("Time (in ms) for QS1 to sort an array with " + n + " elements: " + (end - begin));
+
+        ExternalSort sorter = new ExternalSort(64L << 20, runDirectory);
+        begin = System.currentTimeMillis();
+        sorter.sort(input, directory.resolve("output"));
+        end = System.currentTimeMillis();
+        System.out.println("Time (in ms) for the external sort to sort a file with " + n + " ints in "
+                + sorter.getRunCount() + " runs: " + (end - begin));
+    }
+}
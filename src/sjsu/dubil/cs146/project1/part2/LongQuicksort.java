@@ -0,0 +1,220 @@
+package sjsu.dubil.cs146.project1.part2;
+
+/**
+ * Class that implements introsort and introselect for long arrays. The code is written out for long rather than shared
+ * with the other types through generics or boxing, so every comparison is a single machine instruction.
+ */
+public final class LongQuicksort {
+    private static final int INSERTION_CUTOFF = 16; // areas this short are finished with insertion sort
+    private static final int NINTHER_THRESHOLD = 128; // areas longer than this take the pivot from nine elements
+
+    private LongQuicksort() {
+    }
+
+    /**
+     * Sorts an area of an array with introsort.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the sorted array
+     */
+    public static long[] sort(long[] array, int start, int end) {
+        if (start < end) {
+            introSort(array, start, end, 2 * (31 - Integer.numberOfLeadingZeros(end - start + 1)));
+        }
+        return array;
+    }
+
+    /**
+     * Finds the k-th smallest element of an area with introselect.
+     * @param array the array in which the element is selected from
+     * @param start the index marking the start of the area in the array in which the element is selected
+     * @param end the index marking the end of the area in the array in which the element is selected
+     * @param k the order of the element to be selected, from 0 to end - start
+     * @return the k-th smallest element, which is left at start + k with no larger elements before it and no smaller
+     * ones after it
+     */
+    public static long select(long[] array, int start, int end, int k) {
+        Quicksort.checkOrder(start, end, k);
+        introSelect(array, start, end, start + k);
+        return array[start + k];
+    }
+
+    /**
+     * Introsort on an area, as in {@link Quicksort#introSort(int[], int, int)}.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     * @param depthLimit the number of levels of partitioning left before falling back to heapsort
+     */
+    private static void introSort(long[] array, int start, int end, int depthLimit) {
+        while (end - start + 1 > INSERTION_CUTOFF) {
+            if (depthLimit == 0) {
+                heapSort(array, start, end);
+                return;
+            }
+            depthLimit--;
+
+            long bounds = partition(array, start, end, array[choosePivot(array, start, end)]);
+            int lowEnd = (int) (bounds >>> 32) - 1;
+            int highStart = (int) bounds + 1;
+            if (lowEnd - start < end - highStart) { // Recurse on the smaller side and keep looping on the larger one
+                introSort(array, start, lowEnd, depthLimit);
+                start = highStart;
+            }
+            else {
+                introSort(array, highStart, end, depthLimit);
+                end = lowEnd;
+            }
+        }
+
+        insertionSort(array, start, end);
+    }
+
+    /**
+     * Introselect on an area, as in {@link Quicksort#selectIndex(int[], int, int, int)}, except that it falls back to
+     * heapsort when the pivots go badly.
+     * @param array the array in which the element is selected from
+     * @param start the index marking the start of the area
+     * @param end the index marking the end of the area
+     * @param target the index the selected element is to end up at
+     */
+    private static void introSelect(long[] array, int start, int end, int target) {
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(end - start + 1));
+        while (end - start + 1 > INSERTION_CUTOFF) {
+            if (depthLimit == 0) {
+                heapSort(array, start, end);
+                return;
+            }
+            depthLimit--;
+
+            long bounds = partition(array, start, end, array[choosePivot(array, start, end)]);
+            int lower = (int) (bounds >>> 32);
+            int upper = (int) bounds;
+            if (target < lower) {
+                end = lower - 1;
+            }
+            else if (target > upper) {
+                start = upper + 1;
+            }
+            else {
+                return;
+            }
+        }
+
+        insertionSort(array, start, end);
+    }
+
+    /**
+     * Partitions an area three ways around a pivot, as in {@link Quicksort#partitionThreeWay}.
+     * @param array the array to be partitioned
+     * @param start the index signifying the start of the area
+     * @param end the index signifying the end of the area
+     * @param pivot the value of the pivot
+     * @return the indices of the first and last elements equal to the pivot, packed into the high and low halves of a
+     * long so that nothing is allocated
+     */
+    private static long partition(long[] array, int start, int end, long pivot) {
+        int lowerBarrier = start;
+        int upperBarrier = end;
+        int current = start;
+        while (current <= upperBarrier) {
+            long value = array[current];
+            if (value < pivot) {
+                array[current] = array[lowerBarrier];
+                array[lowerBarrier] = value;
+                lowerBarrier++;
+                current++;
+            }
+            else if (value > pivot) {
+                array[current] = array[upperBarrier];
+                array[upperBarrier] = value;
+                upperBarrier--;
+            }
+            else {
+                current++;
+            }
+        }
+        return ((long) lowerBarrier << 32) | (upperBarrier & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the index of the median of three elements, or of Tukey's ninther for long areas
+     */
+    private static int choosePivot(long[] array, int start, int end) {
+        int middle = start + (end - start) / 2;
+        if (end - start + 1 <= NINTHER_THRESHOLD) {
+            return medianOfThree(array, start, middle, end);
+        }
+        int step = (end - start) / 8;
+        int low = medianOfThree(array, start, (start + step), (start + 2 * step));
+        int mid = medianOfThree(array, (middle - step), middle, (middle + step));
+        int high = medianOfThree(array, (end - 2 * step), (end - step), end);
+        return medianOfThree(array, low, mid, high);
+    }
+
+    /**
+     * @return the index of the median of the elements at three indices
+     */
+    private static int medianOfThree(long[] array, int i, int j, int k) {
+        if (array[i] > array[j]) {
+            int temp = i;
+            i = j;
+            j = temp;
+        }
+        if (array[j] <= array[k]) {
+            return j;
+        }
+        return (array[i] > array[k]) ? i : k;
+    }
+
+    /**
+     * Insertion sort on a short area.
+     */
+    private static void insertionSort(long[] array, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            long value = array[i];
+            int j = i - 1;
+            while (j >= start && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**
+     * Heapsort on an area, used when partitioning goes too deep.
+     */
+    private static void heapSort(long[] array, int start, int end) {
+        int n = end - start + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, start, i, n);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            long temp = array[start];
+            array[start] = array[start + size];
+            array[start + size] = temp;
+            siftDown(array, start, 0, size);
+        }
+    }
+
+    /**
+     * Moves an element of a heap rooted at start down until both of its children are smaller.
+     */
+    private static void siftDown(long[] array, int start, int i, int size) {
+        long value = array[start + i];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && array[start + child + 1] > array[start + child]) {
+                child++;
+            }
+            if (array[start + child] <= value) {
+                break;
+            }
+            array[start + i] = array[start + child];
+            i = child;
+        }
+        array[start + i] = value;
+    }
+}
@@ -0,0 +1,228 @@
+package sjsu.dubil.cs146.project1.part2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class that runs quicksort on a {@link ForkJoinPool}. Every partition leaves two areas that have nothing to do with
+ * each other, so both are sorted as separate tasks until they are short enough to be sorted sequentially with
+ * introsort. A single partition of the whole array would still take O(n) on one thread, so the longest areas are
+ * partitioned in parallel too: the area is cut into blocks that are partitioned at the same time, and the three parts
+ * of every block are then copied to their places through a buffer as long as the array.
+ * <p>
+ * Each task counts its comparisons in a {@link Quicksort} of its own and adds them to a shared {@link LongAdder} once
+ * it is done, so the count is exact without the tasks ever writing to the same field.
+ */
+public class ParallelQuicksort {
+    private static final int DEFAULT_SEQUENTIAL_CUTOFF = 1 << 13;
+    private static final int DEFAULT_PARALLEL_PARTITION = 1 << 20;
+    private static final int MIN_BLOCK = 1 << 14; // shortest block worth partitioning as a task of its own
+    private static final int BLOCKS_PER_THREAD = 4; // so threads that finish early can take more blocks
+
+    private final ForkJoinPool pool;
+    private final Quicksort.Partitioning partitioning;
+    private final int sequentialCutoff; // areas this short are sorted by a single task
+    private final int parallelPartition; // areas this long are partitioned in parallel
+    private final LongAdder comparisonCount = new LongAdder();
+
+    /**
+     * Creates a quicksort that runs on the common pool with the default settings.
+     */
+    public ParallelQuicksort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a quicksort that runs on the given pool with the default settings.
+     * @param pool the pool the tasks are run on
+     */
+    public ParallelQuicksort(ForkJoinPool pool) {
+        this(pool, Quicksort.Partitioning.THREE_WAY, DEFAULT_SEQUENTIAL_CUTOFF, DEFAULT_PARALLEL_PARTITION);
+    }
+
+    /**
+     * Creates a quicksort with all of its settings given.
+     * @param pool the pool the tasks are run on
+     * @param partitioning the partitioning used by the sequential introsort of the short areas
+     * @param sequentialCutoff the length at or below which an area is sorted by a single task
+     * @param parallelPartition the length at or above which an area is partitioned in parallel, Integer.MAX_VALUE to
+     *                          never do so and never allocate the buffer
+     */
+    public ParallelQuicksort(ForkJoinPool pool, Quicksort.Partitioning partitioning, int sequentialCutoff,
+                             int parallelPartition) {
+        if (pool == null || partitioning == null) {
+            throw new IllegalArgumentException("The pool and partitioning cannot be null");
+        }
+        if (sequentialCutoff < 1 || parallelPartition < 2 * MIN_BLOCK) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive and the parallel partition "
+                    + "length at least " + (2 * MIN_BLOCK));
+        }
+        this.pool = pool;
+        this.partitioning = partitioning;
+        this.sequentialCutoff = sequentialCutoff;
+        this.parallelPartition = parallelPartition;
+    }
+
+    /**
+     * Sorts an area of an array in parallel.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the sorted array
+     */
+    public int[] sort(int[] array, int start, int end) {
+        int n = end - start + 1;
+        if (n > 1) {
+            int[] buffer = (n >= this.parallelPartition) ? new int[n] : null;
+            int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n)); // 2 * floor(log2(n)), as in introsort
+            this.pool.invoke(new SortTask(array, buffer, start, start, end, depthLimit));
+        }
+
+        return array;
+    }
+
+    /**
+     * Method to return the number of comparisons after calling sort.
+     * @return the number of comparisons used in a run of the sort
+     */
+    public long getComparisonCount() {
+        return this.comparisonCount.sum();
+    }
+
+    /**
+     * Resets the current count of comparisons to 0, so that an accurate count can be reached for a new sort.
+     */
+    public void resetComparisonCount() {
+        this.comparisonCount.reset();
+    }
+
+    /**
+     * Task that partitions an area and sorts the two sides as subtasks, or sorts the area itself once it is short.
+     */
+    private class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int[] buffer; // null when no area is long enough to be partitioned in parallel
+        private final int base; // index in the array of the first element of the buffer
+        private final int start;
+        private final int end;
+        private final int depthLimit;
+
+        SortTask(int[] array, int[] buffer, int base, int start, int end, int depthLimit) {
+            this.array = array;
+            this.buffer = buffer;
+            this.base = base;
+            this.start = start;
+            this.end = end;
+            this.depthLimit = depthLimit;
+        }
+
+        @Override
+        protected void compute() {
+            int n = this.end - this.start + 1;
+            Quicksort counter = new Quicksort(ParallelQuicksort.this.partitioning); // Comparisons of this task only
+            if (n <= ParallelQuicksort.this.sequentialCutoff || this.depthLimit == 0) {
+                // Introsort has its own depth limit, so a run of bad pivots here still ends in O(n log n)
+                counter.introSort(this.array, this.start, this.end);
+                ParallelQuicksort.this.comparisonCount.add(counter.getComparisonCount());
+                return;
+            }
+
+            int pivot = this.array[counter.choosePivot(this.array, this.start, this.end)];
+            int[] bounds;
+            if (n >= ParallelQuicksort.this.parallelPartition) {
+                bounds = this.partitionInParallel(pivot);
+            }
+            else {
+                bounds = counter.partitionThreeWay(this.array, this.start, this.end, pivot);
+            }
+            ParallelQuicksort.this.comparisonCount.add(counter.getComparisonCount());
+
+            invokeAll(new SortTask(this.array, this.buffer, this.base, this.start, bounds[0] - 1, this.depthLimit - 1),
+                    new SortTask(this.array, this.buffer, this.base, bounds[1] + 1, this.end, this.depthLimit - 1));
+        }
+
+        /**
+         * Partitions the area in parallel. Every block is split into its smaller, equal and larger elements by a
+         * three-way partition of its own, then each part is copied to its place in the buffer after the same parts of
+         * the blocks before it, and finally the buffer is copied back.
+         * @param pivot the value of the pivot
+         * @return the indices of the first and last elements equal to the pivot after the partition
+         */
+        private int[] partitionInParallel(int pivot) {
+            int n = this.end - this.start + 1;
+            int blocks = Math.max(2, Math.min(n / MIN_BLOCK, ParallelQuicksort.this.pool.getParallelism()
+                    * BLOCKS_PER_THREAD));
+            int blockSize = (n + blocks - 1) / blocks;
+            int[][] blockBounds = new int[blocks][];
+
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int b = 0; b < blocks; b++) {
+                int block = b;
+                int blockStart = this.start + b * blockSize;
+                int blockEnd = Math.min(blockStart + blockSize, this.end + 1) - 1;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    Quicksort counter = new Quicksort(ParallelQuicksort.this.partitioning);
+                    blockBounds[block] = counter.partitionThreeWay(this.array, blockStart, blockEnd, pivot);
+                    ParallelQuicksort.this.comparisonCount.add(counter.getComparisonCount());
+                }));
+            }
+            invokeAll(tasks);
+
+            // Where each part of each block goes, after the same parts of all of the blocks before it
+            int smaller = 0;
+            int equal = 0;
+            int[] smallerOffset = new int[blocks];
+            int[] equalOffset = new int[blocks];
+            int[] largerOffset = new int[blocks];
+            for (int b = 0; b < blocks; b++) {
+                int blockStart = this.start + b * blockSize;
+                smallerOffset[b] = smaller;
+                equalOffset[b] = equal;
+                smaller += blockBounds[b][0] - blockStart;
+                equal += blockBounds[b][1] - blockBounds[b][0] + 1;
+            }
+            int larger = 0;
+            for (int b = 0; b < blocks; b++) {
+                int blockEnd = Math.min(this.start + (b + 1) * blockSize, this.end + 1) - 1;
+                largerOffset[b] = smaller + equal + larger;
+                equalOffset[b] += smaller;
+                larger += blockEnd - blockBounds[b][1];
+            }
+
+            int offset = this.start - this.base; // index in the buffer of the start of the area
+            tasks.clear();
+            for (int b = 0; b < blocks; b++) {
+                int block = b;
+                int blockStart = this.start + b * blockSize;
+                int blockEnd = Math.min(blockStart + blockSize, this.end + 1) - 1;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    int lower = blockBounds[block][0];
+                    int upper = blockBounds[block][1];
+                    System.arraycopy(this.array, blockStart, this.buffer, offset + smallerOffset[block],
+                            lower - blockStart);
+                    System.arraycopy(this.array, lower, this.buffer, offset + equalOffset[block], upper - lower + 1);
+                    System.arraycopy(this.array, upper + 1, this.buffer, offset + largerOffset[block],
+                            blockEnd - upper);
+                }));
+            }
+            invokeAll(tasks);
+
+            tasks.clear();
+            for (int b = 0; b < blocks; b++) {
+                int blockStart = this.start + b * blockSize;
+                int length = Math.min(blockSize, this.end + 1 - blockStart);
+                tasks.add(ForkJoinTask.adapt(() -> System.arraycopy(this.buffer, blockStart - this.base, this.array,
+                        blockStart, length)));
+            }
+            invokeAll(tasks);
+
+            return new int[] {this.start + smaller, this.start + smaller + equal - 1};
+        }
+    }
+}
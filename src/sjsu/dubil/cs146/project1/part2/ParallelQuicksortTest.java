@@ -0,0 +1,121 @@
+package sjsu.dubil.cs146.project1.part2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class to handle testing of the parallel quicksort, including the partitioning of long areas in parallel and the
+ * counting of comparisons across threads.
+ */
+public class ParallelQuicksortTest {
+    private ForkJoinPool pool;
+
+    @Before
+    public void before() throws Exception {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void after() throws Exception {
+        pool.shutdown();
+    }
+
+    /**
+     * Helper method for the tests, creates an array filled with random numbers.
+     * @param n the length of the array to be generated
+     * @param range the number of different values in the array
+     * @return an array of length n filled with random numbers from 0 to range - 1
+     */
+    private int[] generateRandomNLengthArray(int n, int range) {
+        int[] array = new int[n];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (int) (Math.random() * range);
+        }
+        return array;
+    }
+
+    /**
+     * Make sure arrays long enough to be partitioned in parallel are sorted, with and without many duplicates, and that
+     * an area in the middle of an array is sorted without touching the rest.
+     */
+    @Test
+    public void testParallelSort() {
+        ParallelQuicksort sorter = new ParallelQuicksort(pool, Quicksort.Partitioning.THREE_WAY, 1000, 1 << 15);
+        for (int range : new int[] {1, 3, 1000, Integer.MAX_VALUE}) {
+            int[] testArray = this.generateRandomNLengthArray(200000, range);
+            int[] correctArray = Arrays.copyOf(testArray, testArray.length);
+            Arrays.sort(correctArray, 1000, 199000);
+
+            sorter.sort(testArray, 1000, 198999);
+            assertArrayEquals("range " + range, correctArray, testArray);
+        }
+    }
+
+    /**
+     * Make sure sorted, reverse sorted, empty and single element arrays are handled.
+     */
+    @Test
+    public void testEdgeCases() {
+        ParallelQuicksort sorter = new ParallelQuicksort(pool, Quicksort.Partitioning.DUAL_PIVOT, 100, 1 << 15);
+        int[] sorted = new int[100000];
+        int[] reversed = new int[100000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+            reversed[i] = sorted.length - i;
+        }
+        int[] correctArray = Arrays.copyOf(reversed, reversed.length);
+        Arrays.sort(correctArray);
+
+        assertArrayEquals(Arrays.copyOf(sorted, sorted.length), sorter.sort(sorted, 0, sorted.length - 1));
+        assertArrayEquals(correctArray, sorter.sort(reversed, 0, reversed.length - 1));
+        assertArrayEquals(new int[0], sorter.sort(new int[0], 0, -1));
+        assertArrayEquals(new int[] {5}, sorter.sort(new int[] {5}, 0, 0));
+    }
+
+    /**
+     * Make sure the comparisons counted on many threads add up the same every time, and match the sequential introsort
+     * when the whole array is sorted by one task.
+     */
+    @Test
+    public void testComparisonCount() {
+        int[] testArray = this.generateRandomNLengthArray(300000, 50000);
+        ParallelQuicksort sorter = new ParallelQuicksort(pool, Quicksort.Partitioning.THREE_WAY, 500, 1 << 15);
+        sorter.sort(Arrays.copyOf(testArray, testArray.length), 0, testArray.length - 1);
+        long first = sorter.getComparisonCount();
+        sorter.resetComparisonCount();
+        sorter.sort(Arrays.copyOf(testArray, testArray.length), 0, testArray.length - 1);
+        assertEquals(first, sorter.getComparisonCount());
+
+        ParallelQuicksort oneTask = new ParallelQuicksort(pool, Quicksort.Partitioning.LOMUTO, testArray.length,
+                Integer.MAX_VALUE);
+        oneTask.sort(Arrays.copyOf(testArray, testArray.length), 0, testArray.length - 1);
+        Quicksort sequential = new Quicksort(Quicksort.Partitioning.LOMUTO);
+        sequential.introSort(Arrays.copyOf(testArray, testArray.length), 0, testArray.length - 1);
+        assertEquals(sequential.getComparisonCount(), oneTask.getComparisonCount());
+    }
+
+    /**
+     * Test to measure the timing of the parallel quicksort against the sequential introsort on large random arrays.
+     */
+    @Test
+    public void testParallelSortTiming() {
+        int[] array = this.generateRandomNLengthArray(10000000, 1000000);
+        int[] copy = Arrays.copyOf(array, array.length);
+
+        long begin = System.currentTimeMillis();
+        new Quicksort(Quicksort.Partitioning.THREE_WAY).introSort(array, 0, array.length - 1);
+        long end = System.currentTimeMillis();
+        System.out.println("Time (in ms) for introsort to sort an array with 10000000 elements: " + (end - begin));
+
+        begin = System.currentTimeMillis();
+        new ParallelQuicksort(ForkJoinPool.commonPool()).sort(copy, 0, copy.length - 1);
+        end = System.currentTimeMillis();
+        System.out.println("Time (in ms) for the parallel quicksort to sort an array with 10000000 elements on "
+                + ForkJoinPool.commonPool().getParallelism() + " threads: " + (end - begin));
+    }
+}
@@ -0,0 +1,215 @@
+package sjsu.dubil.cs146.project1.part2;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Class to handle testing of the sorts and selections specialized for long, double, float and short arrays, checked
+ * against {@link Arrays#sort}, whose order for floating point numbers is the same total order.
+ */
+public class PrimitiveQuicksortTest {
+    private static final int[] LENGTHS = {0, 1, 2, 16, 17, 129, 1000, 5000, 100000};
+
+    private final Random random = new Random(146);
+
+    /**
+     * Helper method for the tests, creates an array of doubles with many duplicates, signed zeros, infinities and NaNs
+     * of different bit patterns mixed in.
+     * @param n the length of the array to be generated
+     * @return an array of length n
+     */
+    private double[] generateDoubles(int n) {
+        double[] specials = {0.0, -0.0, Double.NaN, Double.longBitsToDouble(0x7ff0000000000123L),
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MIN_VALUE};
+        double[] array = new double[n];
+        for (int i = 0; i < n; i++) {
+            int kind = this.random.nextInt(4);
+            if (kind == 0) {
+                array[i] = specials[this.random.nextInt(specials.length)];
+            }
+            else if (kind == 1) {
+                array[i] = this.random.nextInt(20) - 10;
+            }
+            else {
+                array[i] = this.random.nextGaussian() * 1000;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Helper method for the tests, checks that the element at an index has no larger elements before it and no
+     * smaller ones after it in the total order of {@link Double#compare}.
+     * @param array the array the element was selected in
+     * @param start the index marking the start of the area
+     * @param end the index marking the end of the area
+     * @param index the index of the selected element
+     */
+    private void assertSelected(double[] array, int start, int end, int index) {
+        for (int i = start; i < index; i++) {
+            assertTrue(Double.compare(array[i], array[index]) <= 0);
+        }
+        for (int i = index + 1; i <= end; i++) {
+            assertTrue(Double.compare(array[i], array[index]) >= 0);
+        }
+    }
+
+    /**
+     * Make sure longs are sorted and selected, including both ends of the long range, without touching the rest of
+     * the array.
+     */
+    @Test
+    public void testLong() {
+        for (int length : LENGTHS) {
+            long[] testArray = new long[length + 2];
+            for (int i = 0; i < testArray.length; i++) {
+                testArray[i] = (i % 3 == 0) ? this.random.nextInt(5) : this.random.nextLong();
+            }
+            testArray[testArray.length / 2] = Long.MIN_VALUE;
+            long[] correctArray = Arrays.copyOf(testArray, testArray.length);
+            Arrays.sort(correctArray, 1, length + 1);
+
+            long[] selectArray = Arrays.copyOf(testArray, testArray.length);
+            assertArrayEquals(correctArray, LongQuicksort.sort(testArray, 1, length));
+            for (int k = 0; k < length; k += Math.max(1, length / 7)) {
+                assertEquals(correctArray[1 + k], LongQuicksort.select(selectArray, 1, length, k));
+            }
+        }
+    }
+
+    /**
+     * Make sure doubles are sorted in the total order, with -0.0 before 0.0 and every NaN at the end, and that the
+     * rest of the array is not touched.
+     */
+    @Test
+    public void testDouble() {
+        for (int length : LENGTHS) {
+            double[] testArray = this.generateDoubles(length + 2);
+            double[] correctArray = Arrays.copyOf(testArray, testArray.length);
+            Arrays.sort(correctArray, 1, length + 1);
+
+            DoubleQuicksort.sort(testArray, 1, length);
+            for (int i = 0; i < testArray.length; i++) { // Compared by bits, as -0.0 == 0.0 and NaN != NaN
+                assertEquals("index " + i, Double.doubleToLongBits(correctArray[i]),
+                        Double.doubleToLongBits(testArray[i]));
+            }
+        }
+    }
+
+    /**
+     * Make sure the selected double is the same as the one at its index in the sorted array, signed zeros and NaNs
+     * included, and that the area is left partitioned around it.
+     */
+    @Test
+    public void testDoubleSelect() {
+        for (int length : new int[] {1, 2, 17, 1000, 20000}) {
+            double[] testArray = this.generateDoubles(length);
+            double[] correctArray = Arrays.copyOf(testArray, length);
+            Arrays.sort(correctArray);
+
+            for (int k = 0; k < length; k += Math.max(1, length / 31)) {
+                double[] selectArray = Arrays.copyOf(testArray, length);
+                double selected = DoubleQuicksort.select(selectArray, 0, length - 1, k);
+                assertEquals(0, Double.compare(correctArray[k], selected));
+                this.assertSelected(selectArray, 0, length - 1, k);
+            }
+        }
+
+        double[] zeros = {0.0, -0.0, 0.0, -0.0, 0.0};
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(DoubleQuicksort.select(zeros, 0, 4, 1)));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(DoubleQuicksort.select(zeros, 0, 4, 2)));
+        assertTrue(Double.isNaN(DoubleQuicksort.select(new double[] {Double.NaN, 1.0, Double.NaN}, 0, 2, 1)));
+    }
+
+    /**
+     * Make sure floats are sorted and selected in the same total order as the doubles.
+     */
+    @Test
+    public void testFloat() {
+        for (int length : LENGTHS) {
+            double[] doubles = this.generateDoubles(length);
+            float[] testArray = new float[length];
+            for (int i = 0; i < length; i++) {
+                testArray[i] = (float) doubles[i];
+            }
+            float[] correctArray = Arrays.copyOf(testArray, length);
+            Arrays.sort(correctArray);
+
+            for (int k = 0; k < length; k += Math.max(1, length / 7)) {
+                float selected = FloatQuicksort.select(Arrays.copyOf(testArray, length), 0, length - 1, k);
+                assertEquals(0, Float.compare(correctArray[k], selected));
+            }
+            FloatQuicksort.sort(testArray, 0, length - 1);
+            for (int i = 0; i < length; i++) {
+                assertEquals("index " + i, Float.floatToIntBits(correctArray[i]), Float.floatToIntBits(testArray[i]));
+            }
+        }
+    }
+
+    /**
+     * Make sure shorts are sorted and selected both by introsort and, past the threshold, by counting sort.
+     */
+    @Test
+    public void testShort() {
+        for (int length : LENGTHS) {
+            short[] testArray = new short[length + 2];
+            for (int i = 0; i < testArray.length; i++) {
+                testArray[i] = (short) this.random.nextInt();
+            }
+            short[] correctArray = Arrays.copyOf(testArray, testArray.length);
+            Arrays.sort(correctArray, 1, length + 1);
+
+            short[] selectArray = Arrays.copyOf(testArray, testArray.length);
+            assertArrayEquals(correctArray, ShortQuicksort.sort(testArray, 1, length));
+            for (int k = 0; k < length; k += Math.max(1, length / 7)) {
+                assertEquals(correctArray[1 + k], ShortQuicksort.select(selectArray, 1, length, k));
+            }
+        }
+    }
+
+    /**
+     * Make sure sorted, reversed and all equal areas, which would make a bad pivot choice quadratic, are sorted.
+     */
+    @Test
+    public void testPatterns() {
+        int n = 1 << 18;
+        long[] sorted = new long[n];
+        long[] reversed = new long[n];
+        double[] equal = new double[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+            reversed[i] = n - i;
+            equal[i] = 1.5;
+        }
+        long[] correctArray = Arrays.copyOf(reversed, n);
+        Arrays.sort(correctArray);
+
+        assertArrayEquals(Arrays.copyOf(sorted, n), LongQuicksort.sort(sorted, 0, n - 1));
+        assertArrayEquals(correctArray, LongQuicksort.sort(reversed, 0, n - 1));
+        assertArrayEquals(Arrays.copyOf(equal, n), DoubleQuicksort.sort(equal, 0, n - 1), 0.0);
+        assertEquals(n / 2 + 1, LongQuicksort.select(reversed, 0, n - 1, n / 2)); // The values run from 1 to n
+    }
+
+    /**
+     * Test to measure the timing of the double sort against {@link Arrays#sort}.
+     */
+    @Test
+    public void testDoubleSortTiming() {
+        double[] array = this.generateDoubles(10000000);
+        double[] copy = Arrays.copyOf(array, array.length);
+
+        long begin = System.currentTimeMillis();
+        DoubleQuicksort.sort(array, 0, array.length - 1);
+        long end = System.currentTimeMillis();
+        System.out.println("Time (in ms) for the double introsort to sort an array with 10000000 elements: "
+                + (end - begin));
+
+        begin = System.currentTimeMillis();
+        Arrays.sort(copy);
+        end = System.currentTimeMillis();
+        System.out.println("Time (in ms) for Arrays.sort to sort an array with 10000000 elements: " + (end - begin));
+    }
+}
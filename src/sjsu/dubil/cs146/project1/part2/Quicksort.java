@@ -4,11 +4,66 @@ import java.util.Arrays;
 
 /**
  * Class that implements two methods of Quicksort, one that chooses the partition as the last element, and one that
- * uses the median of the array as the partition.
+ * uses the median of the array as the partition. Both can partition in one of three ways, see {@link Partitioning}.
  */
 public class Quicksort {
+    /**
+     * The ways an area of the array can be partitioned around its pivots.
+     */
+    public enum Partitioning {
+        /**
+         * Lomuto's scheme, which puts the elements equal to the pivot on the same side as the smaller ones. Many equal
+         * elements make it quadratic.
+         */
+        LOMUTO,
+        /**
+         * Dijkstra's Dutch national flag scheme, which gathers the elements equal to the pivot in the middle so they
+         * are never looked at again. Linear when all of the elements are equal.
+         */
+        THREE_WAY,
+        /**
+         * Yaroslavskiy's scheme with two pivots, which splits the area into three parts in one pass. Parts between two
+         * equal pivots hold nothing but that value and are not sorted again.
+         */
+        DUAL_PIVOT
+    }
+
+    private static final int DEFAULT_INSERTION_CUTOFF = 16;
+    private static final int NINTHER_THRESHOLD = 128; // areas longer than this take the pivot from nine elements
+    private static final int FLOYD_RIVEST_SAMPLE = 600; // areas longer than this are narrowed down with a sample
+
+    private final Partitioning partitioning;
+    private final int insertionCutoff; // areas this short are finished with insertion sort by introsort
     private long comparisonCount;
 
+    /**
+     * Creates a quicksort that uses Lomuto's partitioning.
+     */
+    public Quicksort() {
+        this(Partitioning.LOMUTO);
+    }
+
+    /**
+     * Creates a quicksort that uses the given partitioning.
+     * @param partitioning the way areas of the array are partitioned
+     */
+    public Quicksort(Partitioning partitioning) {
+        this(partitioning, DEFAULT_INSERTION_CUTOFF);
+    }
+
+    /**
+     * Creates a quicksort with all of its settings given.
+     * @param partitioning the way areas of the array are partitioned
+     * @param insertionCutoff the length at or below which introsort uses insertion sort
+     */
+    public Quicksort(Partitioning partitioning, int insertionCutoff) {
+        if (insertionCutoff < 1) {
+            throw new IllegalArgumentException("The insertion sort cutoff must be positive");
+        }
+        this.partitioning = partitioning;
+        this.insertionCutoff = insertionCutoff;
+    }
+
     /**
      * First implementation of quicksort, always uses the last element as the pivot for partitioning.
      * @param array the array to be sorted
@@ -18,9 +73,24 @@ public class Quicksort {
      */
     public int[] quickSort1(int[] array, int start, int end) {
         if (start < end) {
-            int q = this.partition(array, start, end, array[end]); // Just using last element of array for pivot
-            this.quickSort1(array, start, (q - 1));
-            this.quickSort1(array, (q + 1), end);
+            if (this.partitioning == Partitioning.THREE_WAY) {
+                int[] bounds = this.partitionThreeWay(array, start, end, array[end]); // Last element as pivot
+                this.quickSort1(array, start, (bounds[0] - 1));
+                this.quickSort1(array, (bounds[1] + 1), end);
+            }
+            else if (this.partitioning == Partitioning.DUAL_PIVOT) {
+                int[] pivots = this.partitionDualPivot(array, start, end, start, end); // First and last as pivots
+                this.quickSort1(array, start, (pivots[0] - 1));
+                if (array[pivots[0]] != array[pivots[1]]) { // Otherwise the middle is all equal to the pivots
+                    this.quickSort1(array, (pivots[0] + 1), (pivots[1] - 1));
+                }
+                this.quickSort1(array, (pivots[1] + 1), end);
+            }
+            else {
+                int q = this.partition(array, start, end, end); // Just using last element of array for pivot
+                this.quickSort1(array, start, (q - 1));
+                this.quickSort1(array, (q + 1), end);
+            }
         }
 
         return array;
@@ -36,18 +106,137 @@ public class Quicksort {
      */
     public int[] quickSort2(int[] array, int start, int end) {
         if (start < end) {
-            int pivot = this.select(array, start, end, ((end - start + 1) / 2)); // Finding median using select algorithm
-            int q = this.partition(array, start, end, pivot); // Use median as pivot
-            this.quickSort2(array, start, (q - 1));
-            this.quickSort2(array, (q + 1), end);
+            int n = end - start + 1;
+            if (this.partitioning == Partitioning.DUAL_PIVOT) {
+                // Select leaves the k-th smallest element at start + k, so the second select only searches past it
+                int k1 = n / 3;
+                int k2 = (2 * n) / 3;
+                this.select(array, start, end, k1);
+                this.select(array, (start + k1 + 1), end, (k2 - k1 - 1));
+                int[] pivots = this.partitionDualPivot(array, start, end, (start + k1), (start + k2)); // Use tertiles
+                this.quickSort2(array, start, (pivots[0] - 1));
+                if (array[pivots[0]] != array[pivots[1]]) { // Otherwise the middle is all equal to the pivots
+                    this.quickSort2(array, (pivots[0] + 1), (pivots[1] - 1));
+                }
+                this.quickSort2(array, (pivots[1] + 1), end);
+            }
+            else {
+                this.select(array, start, end, (n / 2)); // Finding median using select algorithm, left at start + n / 2
+                if (this.partitioning == Partitioning.THREE_WAY) {
+                    int[] bounds = this.partitionThreeWay(array, start, end, array[start + n / 2]); // Median as pivot
+                    this.quickSort2(array, start, (bounds[0] - 1));
+                    this.quickSort2(array, (bounds[1] + 1), end);
+                }
+                else {
+                    int q = this.partition(array, start, end, (start + n / 2)); // Use median as pivot
+                    this.quickSort2(array, start, (q - 1));
+                    this.quickSort2(array, (q + 1), end);
+                }
+            }
+        }
+
+        return array;
+    }
+
+    /**
+     * Introsort, a quicksort that cannot go quadratic or overflow the stack. The pivot is the median of the first,
+     * middle and last elements, and only the smaller side of each partition is sorted recursively while the larger one
+     * is sorted by the loop, so the stack holds O(log n) calls. Areas at or below the insertion sort cutoff are left to
+     * insertion sort, and an area still being partitioned after 2 * log2(n) levels is heapsorted, so it runs in
+     * O(n log n) even on input built to defeat the pivot choice.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the sorted array
+     */
+    public int[] introSort(int[] array, int start, int end) {
+        if (start < end) {
+            int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(end - start + 1)); // 2 * floor(log2(n))
+            this.introSort(array, start, end, depthLimit);
         }
 
         return array;
     }
 
+    /**
+     * Recursive part of introsort.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     * @param depthLimit the number of levels of partitioning left before falling back to heapsort
+     */
+    void introSort(int[] array, int start, int end, int depthLimit) {
+        while (end - start + 1 > this.insertionCutoff) {
+            if (depthLimit == 0) { // Partitioning is going badly, so finish with a guaranteed O(n log n)
+                this.heapSort(array, start, end);
+                return;
+            }
+            depthLimit--;
+
+            if (this.partitioning == Partitioning.DUAL_PIVOT) {
+                int third = (end - start) / 3; // Keeps the two pivots apart down to areas of two elements
+                int[] pivots = this.partitionDualPivot(array, start, end, (start + third), (end - third));
+                int lowEnd = pivots[0] - 1;
+                int highStart = pivots[1] + 1;
+                boolean middleEqual = (array[pivots[0]] == array[pivots[1]]); // Then the middle is already sorted
+                // Recurse on the two smallest of the three parts and keep looping on the largest
+                int lowLength = lowEnd - start;
+                int middleLength = middleEqual ? -1 : (pivots[1] - pivots[0] - 2);
+                int highLength = end - highStart;
+                if (lowLength >= middleLength && lowLength >= highLength) {
+                    if (!middleEqual) {
+                        this.introSort(array, (pivots[0] + 1), (pivots[1] - 1), depthLimit);
+                    }
+                    this.introSort(array, highStart, end, depthLimit);
+                    end = lowEnd;
+                }
+                else if (highLength >= middleLength) {
+                    this.introSort(array, start, lowEnd, depthLimit);
+                    if (!middleEqual) {
+                        this.introSort(array, (pivots[0] + 1), (pivots[1] - 1), depthLimit);
+                    }
+                    start = highStart;
+                }
+                else {
+                    this.introSort(array, start, lowEnd, depthLimit);
+                    this.introSort(array, highStart, end, depthLimit);
+                    start = pivots[0] + 1;
+                    end = pivots[1] - 1;
+                }
+                continue;
+            }
+
+            int pivotIndex = this.choosePivot(array, start, end);
+            int lowEnd;
+            int highStart;
+            if (this.partitioning == Partitioning.THREE_WAY) {
+                int[] bounds = this.partitionThreeWay(array, start, end, array[pivotIndex]);
+                lowEnd = bounds[0] - 1;
+                highStart = bounds[1] + 1;
+            }
+            else {
+                int q = this.partition(array, start, end, pivotIndex);
+                lowEnd = q - 1;
+                highStart = q + 1;
+            }
+
+            if (lowEnd - start < end - highStart) { // Recurse on the smaller side and keep looping on the larger one
+                this.introSort(array, start, lowEnd, depthLimit);
+                start = highStart;
+            }
+            else {
+                this.introSort(array, highStart, end, depthLimit);
+                end = lowEnd;
+            }
+        }
+
+        this.insertionSort(array, start, end);
+    }
+
     /**
      * Algorithm that returns the k-th smallest element between the specified boundaries of the given array. Used to
-     * select the median as a pivot in the second implementation of quicksort.
+     * select the median as a pivot in the second implementation of quicksort. The element is left at index start + k,
+     * with no larger elements before it and no smaller ones after it.
      * @param array the array in which the element is selected from
      * @param start the index marking the start of the area in the array in which the element is selected
      * @param end the index marking the end of the area in the array in which the element is selected
@@ -72,8 +261,8 @@ public class Quicksort {
             this.swap(array, start + i, newStart + 2);
         }
 
-        int medianOfMedians = this.select(array, start, start + numberOfGroups - 1, numberOfGroups / 2);
-        int position = this.partition(array, start, end, medianOfMedians); // Partition around median of medians
+        this.select(array, start, start + numberOfGroups - 1, numberOfGroups / 2); // Left at start + groups / 2
+        int position = this.partition(array, start, end, start + numberOfGroups / 2); // Partition around it
 
         if (position == (start + k)) { // The median of medians is the median of the whole array
             return array[position];
@@ -87,24 +276,265 @@ public class Quicksort {
         }
     }
 
+    /**
+     * Introselect, which finds the k-th smallest element like {@link #select} but with quickselect's constant factor:
+     * the area is partitioned three ways around a median of three or ninther pivot and only the side holding the
+     * element is kept. Should that go on for more than 2 * log2(n) levels, the rest is left to the median of medians
+     * in {@link #select}, which keeps the worst case linear when the keys are distinct. {@link #select} partitions two
+     * ways, so an area left to it with many equal keys can still take quadratic time.
+     * @param array the array in which the element is selected from
+     * @param start the index marking the start of the area in the array in which the element is selected
+     * @param end the index marking the end of the area in the array in which the element is selected
+     * @param k the order of the element to be selected, from 0 to end - start
+     * @return start + k, the index the k-th smallest element is left at, with no larger elements before it and no
+     * smaller ones after it
+     */
+    public int selectIndex(int[] array, int start, int end, int k) {
+        checkOrder(start, end, k);
+        int target = start + k;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(end - start + 1));
+        while (end - start + 1 > this.insertionCutoff) {
+            if (depthLimit == 0) { // Pivots are going badly, so finish in linear time for distinct keys
+                this.select(array, start, end, target - start);
+                return target;
+            }
+            depthLimit--;
+
+            int[] bounds = this.partitionThreeWay(array, start, end, array[this.choosePivot(array, start, end)]);
+            if (target < bounds[0]) {
+                end = bounds[0] - 1;
+            }
+            else if (target > bounds[1]) {
+                start = bounds[1] + 1;
+            }
+            else { // The element is one of those equal to the pivot, which are all in place
+                return target;
+            }
+        }
+
+        this.insertionSort(array, start, end);
+        return target;
+    }
+
+    /**
+     * Floyd and Rivest's selection algorithm. Before partitioning, it recursively selects from a small sample two
+     * elements that are just below and just above the k-th smallest, so each partition throws away nearly all of the
+     * area and the whole search takes about n + min(k, n - k) comparisons. Partitions go inwards from both ends, so
+     * runs of equal elements are split evenly. Like {@link #selectIndex}, it falls back to the median of medians if
+     * the area is not shrinking.
+     * @param array the array in which the element is selected from
+     * @param start the index marking the start of the area in the array in which the element is selected
+     * @param end the index marking the end of the area in the array in which the element is selected
+     * @param k the order of the element to be selected, from 0 to end - start
+     * @return start + k, the index the k-th smallest element is left at, with no larger elements before it and no
+     * smaller ones after it
+     */
+    public int selectIndexFloydRivest(int[] array, int start, int end, int k) {
+        checkOrder(start, end, k);
+        this.floydRivest(array, start, end, start + k);
+        return start + k;
+    }
+
+    /**
+     * Recursive part of Floyd and Rivest's algorithm.
+     * @param array the array in which the element is selected from
+     * @param left the index marking the start of the area
+     * @param right the index marking the end of the area
+     * @param target the index the selected element is to end up at, between left and right
+     */
+    private void floydRivest(int[] array, int left, int right, int target) {
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(right - left + 1));
+        while (right > left) {
+            if (depthLimit == 0) {
+                this.select(array, left, right, target - left);
+                return;
+            }
+            depthLimit--;
+
+            if (right - left > FLOYD_RIVEST_SAMPLE) { // Narrow down around the target using a sample first
+                double n = right - left + 1;
+                double i = target - left + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2);
+                int sampleLeft = (int) Math.max(left, Math.floor(target - i * s / n + sd));
+                int sampleRight = (int) Math.min(right, Math.floor(target + (n - i) * s / n + sd));
+                this.floydRivest(array, sampleLeft, sampleRight, target);
+            }
+
+            // Hoare partition around the element now at the target, which is moved to the left end
+            int pivot = array[target];
+            int i = left;
+            int j = right;
+            this.swap(array, left, target);
+            this.comparisonCount++;
+            if (array[right] > pivot) {
+                this.swap(array, right, left);
+            }
+            while (i < j) {
+                this.swap(array, i, j);
+                i++;
+                j--;
+                while (true) {
+                    this.comparisonCount++;
+                    if (array[i] >= pivot) {
+                        break;
+                    }
+                    i++;
+                }
+                while (true) {
+                    this.comparisonCount++;
+                    if (array[j] <= pivot) {
+                        break;
+                    }
+                    j--;
+                }
+            }
+            this.comparisonCount++;
+            if (array[left] == pivot) { // The pivot is at the left end, so move it to the end of the smaller elements
+                this.swap(array, left, j);
+            }
+            else { // The pivot was swapped to the right end
+                j++;
+                this.swap(array, j, right);
+            }
+
+            // The pivot is now in its sorted place at j
+            if (j <= target) {
+                left = j + 1;
+            }
+            if (target <= j) {
+                right = j - 1;
+            }
+        }
+    }
+
+    /**
+     * Finds several order statistics at once. The area is partitioned recursively as in {@link #selectIndex}, but a
+     * side is only kept while one of the orders is in it, so the partitions near the top are shared by all of them.
+     * Each order is left at its own index, as if the area had been sorted.
+     * @param array the array in which the elements are selected from
+     * @param start the index marking the start of the area in the array in which the elements are selected
+     * @param end the index marking the end of the area in the array in which the elements are selected
+     * @param ks the orders of the elements to be selected, from 0 to end - start, in any order
+     * @return the indices the elements are left at, start + ks[i] for each i
+     */
+    public int[] selectIndices(int[] array, int start, int end, int... ks) {
+        int[] targets = new int[ks.length];
+        for (int i = 0; i < ks.length; i++) {
+            checkOrder(start, end, ks[i]);
+            targets[i] = start + ks[i];
+        }
+        int[] sortedTargets = Arrays.copyOf(targets, targets.length);
+        Arrays.sort(sortedTargets);
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(1, end - start + 1)));
+        this.selectIndices(array, start, end, sortedTargets, 0, sortedTargets.length, depthLimit);
+        return targets;
+    }
+
+    /**
+     * Finds the elements at the given quantiles, such as the 50th, 90th, 99th and 99.9th percentiles of a set of
+     * latencies, with {@link #selectIndices}. The q quantile of n elements is the ceil(q * n)-th smallest, counting
+     * from 1, as in the nearest-rank definition of a percentile.
+     * @param array the array in which the elements are selected from, which is reordered
+     * @param start the index marking the start of the area in the array
+     * @param end the index marking the end of the area in the array, at least start
+     * @param quantiles the quantiles, each from 0 to 1
+     * @return the value at each quantile
+     */
+    public int[] selectQuantiles(int[] array, int start, int end, double... quantiles) {
+        int n = end - start + 1;
+        if (n < 1) {
+            throw new IllegalArgumentException("Cannot take quantiles of an empty area");
+        }
+        int[] ks = new int[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            if (!(quantiles[i] >= 0 && quantiles[i] <= 1)) {
+                throw new IllegalArgumentException("A quantile must be from 0 to 1, not " + quantiles[i]);
+            }
+            ks[i] = Math.max(0, (int) Math.ceil(quantiles[i] * n) - 1);
+        }
+
+        int[] indices = this.selectIndices(array, start, end, ks);
+        int[] values = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            values[i] = array[indices[i]];
+        }
+        return values;
+    }
+
+    /**
+     * Recursive part of the multiple selection.
+     * @param array the array in which the elements are selected from
+     * @param start the index marking the start of the area
+     * @param end the index marking the end of the area
+     * @param targets the indices the elements are to end up at, sorted
+     * @param from the first of the targets inside the area
+     * @param to one past the last of the targets inside the area
+     * @param depthLimit the number of levels of partitioning left before sorting the area instead
+     */
+    private void selectIndices(int[] array, int start, int end, int[] targets, int from, int to, int depthLimit) {
+        while (from < to) {
+            if (end - start + 1 <= this.insertionCutoff) {
+                this.insertionSort(array, start, end);
+                return;
+            }
+            if (depthLimit == 0) { // Pivots are going badly, so sort what is left in guaranteed O(n log n)
+                this.heapSort(array, start, end);
+                return;
+            }
+            depthLimit--;
+
+            int[] bounds = this.partitionThreeWay(array, start, end, array[this.choosePivot(array, start, end)]);
+            int lower = from; // Targets before this are left of the elements equal to the pivot
+            while (lower < to && targets[lower] < bounds[0]) {
+                lower++;
+            }
+            int upper = lower; // Targets from this on are right of them, the ones in between are already in place
+            while (upper < to && targets[upper] <= bounds[1]) {
+                upper++;
+            }
+
+            // Recurse on the side with fewer elements and keep looping on the other
+            if (bounds[0] - start < end - bounds[1]) {
+                this.selectIndices(array, start, bounds[0] - 1, targets, from, lower, depthLimit);
+                start = bounds[1] + 1;
+                from = upper;
+            }
+            else {
+                this.selectIndices(array, bounds[1] + 1, end, targets, upper, to, depthLimit);
+                end = bounds[0] - 1;
+                to = lower;
+            }
+        }
+    }
+
+    /**
+     * Makes sure an order statistic exists in an area.
+     * @param start the index marking the start of the area
+     * @param end the index marking the end of the area
+     * @param k the order of the element to be selected
+     * @throws IllegalArgumentException if k is not from 0 to end - start
+     */
+    static void checkOrder(int start, int end, int k) {
+        if (k < 0 || k > end - start) {
+            throw new IllegalArgumentException("Cannot select element " + k + " of an area of " + (end - start + 1)
+                    + " elements");
+        }
+    }
+
     /**
      * Helper method created for the different types of partitioning used in the two implementations of quicksort, so
      * that two different methods did not need to be created just to use different pivots.
      * @param array the array to be partitioned
      * @param start the index signifying the start of the area in the array being partitioned
      * @param end the index signifying the end of the area in the array being partitioned
-     * @param pivot the value of the pivot used in the partition
+     * @param pivotIndex the index of the pivot used in the partition
      * @return the index of the pivot after the partition is complete and the pivot is in its sorted location
      */
-    private int partition(int[] array, int start, int end, int pivot) {
-        if (array[end] != pivot) { // Check if need to swap pivot to the end of the array, and do so if needed
-            for (int i = start; i <= end; i++) {
-                if (array[i] == pivot) {
-                    this.swap(array, i, end);
-                    break;
-                }
-            }
-        }
+    private int partition(int[] array, int start, int end, int pivotIndex) {
+        this.swap(array, pivotIndex, end); // Move the pivot to the end of the array
+        int pivot = array[end];
         int lowerBarrier = start - 1;
         for (int upperBarrier = start; upperBarrier < end; upperBarrier++) {
             if (array[upperBarrier] <= pivot) { // Only need to swap if the current element is smaller than the pivot
@@ -118,6 +548,207 @@ public class Quicksort {
         return (lowerBarrier + 1);
     }
 
+    /**
+     * Partitions an area of the array into the elements smaller than the pivot, those equal to it, and those larger
+     * than it, in a single pass.
+     * @param array the array to be partitioned
+     * @param start the index signifying the start of the area in the array being partitioned
+     * @param end the index signifying the end of the area in the array being partitioned
+     * @param pivot the value of the pivot, which does not have to be in the area
+     * @return the indices of the first and last elements equal to the pivot after the partition, with the last one
+     * before the first if there are none
+     */
+    int[] partitionThreeWay(int[] array, int start, int end, int pivot) {
+        int lowerBarrier = start; // Everything before this is smaller than the pivot
+        int upperBarrier = end; // Everything after this is larger than the pivot
+        int current = start;
+        while (current <= upperBarrier) {
+            this.comparisonCount++;
+            if (array[current] < pivot) {
+                this.swap(array, lowerBarrier, current);
+                lowerBarrier++;
+                current++;
+                continue;
+            }
+            this.comparisonCount++;
+            if (array[current] > pivot) { // The element swapped in has not been looked at yet, so stay on it
+                this.swap(array, current, upperBarrier);
+                upperBarrier--;
+            }
+            else {
+                current++;
+            }
+        }
+        return new int[] {lowerBarrier, upperBarrier};
+    }
+
+    /**
+     * Partitions an area of the array around two pivots p <= q into the elements smaller than p, those from p to q,
+     * and those larger than q, in a single pass.
+     * @param array the array to be partitioned
+     * @param start the index signifying the start of the area in the array being partitioned, before end
+     * @param end the index signifying the end of the area in the array being partitioned
+     * @param lowIndex the index of one of the pivots
+     * @param highIndex the index of the other pivot, different from lowIndex
+     * @return the indices of the two pivots after the partition is complete and they are in their sorted locations
+     */
+    private int[] partitionDualPivot(int[] array, int start, int end, int lowIndex, int highIndex) {
+        this.swap(array, lowIndex, start); // Move the pivots to the two ends of the area
+        if (highIndex == start) {
+            highIndex = lowIndex;
+        }
+        this.swap(array, highIndex, end);
+        this.comparisonCount++;
+        if (array[start] > array[end]) {
+            this.swap(array, start, end);
+        }
+        int low = array[start];
+        int high = array[end];
+
+        int lowerBarrier = start + 1; // Everything before this is smaller than the low pivot
+        int upperBarrier = end - 1; // Everything after this is larger than the high pivot
+        for (int current = lowerBarrier; current <= upperBarrier; current++) {
+            this.comparisonCount++;
+            if (array[current] < low) {
+                this.swap(array, current, lowerBarrier);
+                lowerBarrier++;
+                continue;
+            }
+            this.comparisonCount++;
+            if (array[current] > high) {
+                while (current < upperBarrier) { // Skip over the elements at the top that are already in place
+                    this.comparisonCount++;
+                    if (array[upperBarrier] <= high) {
+                        break;
+                    }
+                    upperBarrier--;
+                }
+                this.swap(array, current, upperBarrier);
+                upperBarrier--;
+                this.comparisonCount++;
+                if (array[current] < low) { // The element swapped in can still belong in the lower part
+                    this.swap(array, current, lowerBarrier);
+                    lowerBarrier++;
+                }
+            }
+        }
+
+        lowerBarrier--;
+        upperBarrier++;
+        this.swap(array, start, lowerBarrier); // Move pivots to their correct positions
+        this.swap(array, end, upperBarrier);
+        return new int[] {lowerBarrier, upperBarrier};
+    }
+
+    /**
+     * Chooses the pivot for introsort: the median of the first, middle and last elements, or for long areas Tukey's
+     * ninther, the median of the medians of three groups of three spread over the area.
+     * @param array the array holding the area
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     * @return the index of the pivot
+     */
+    int choosePivot(int[] array, int start, int end) {
+        int middle = start + (end - start) / 2;
+        if (end - start + 1 <= NINTHER_THRESHOLD) {
+            return this.medianOfThree(array, start, middle, end);
+        }
+        int step = (end - start) / 8;
+        int low = this.medianOfThree(array, start, (start + step), (start + 2 * step));
+        int mid = this.medianOfThree(array, (middle - step), middle, (middle + step));
+        int high = this.medianOfThree(array, (end - 2 * step), (end - step), end);
+        return this.medianOfThree(array, low, mid, high);
+    }
+
+    /**
+     * Finds the median of three elements, used as the pivot by introsort.
+     * @param array the array holding the elements
+     * @param i the index of the first element
+     * @param j the index of the second element
+     * @param k the index of the third element
+     * @return the index of the median of the three elements
+     */
+    private int medianOfThree(int[] array, int i, int j, int k) {
+        this.comparisonCount++;
+        if (array[i] > array[j]) { // Make i the index of the smaller of the first two
+            int temp = i;
+            i = j;
+            j = temp;
+        }
+        this.comparisonCount++;
+        if (array[j] <= array[k]) {
+            return j;
+        }
+        this.comparisonCount++;
+        return (array[i] > array[k]) ? i : k;
+    }
+
+    /**
+     * Insertion sort, used by introsort for short areas where it is faster than partitioning.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     */
+    private void insertionSort(int[] array, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            int value = array[i];
+            int j = i - 1;
+            while (j >= start) { // Shift the larger elements up until the place for the value is found
+                this.comparisonCount++;
+                if (array[j] <= value) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**
+     * Heapsort, used by introsort when partitioning goes too deep.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     */
+    private void heapSort(int[] array, int start, int end) {
+        int n = end - start + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) { // Build a max heap out of the area
+            this.siftDown(array, start, i, n);
+        }
+        for (int size = n - 1; size > 0; size--) { // Move the largest element behind the shrinking heap
+            this.swap(array, start, start + size);
+            this.siftDown(array, start, 0, size);
+        }
+    }
+
+    /**
+     * Moves an element of a heap down until both of its children are smaller.
+     * @param array the array holding the heap
+     * @param start the index of the root of the heap in the array
+     * @param i the position of the element in the heap
+     * @param size the number of elements in the heap
+     */
+    private void siftDown(int[] array, int start, int i, int size) {
+        int value = array[start + i];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size) { // Pick the larger child
+                this.comparisonCount++;
+                if (array[start + child + 1] > array[start + child]) {
+                    child++;
+                }
+            }
+            this.comparisonCount++;
+            if (array[start + child] <= value) {
+                break;
+            }
+            array[start + i] = array[start + child];
+            i = child;
+        }
+        array[start + i] = value;
+    }
+
     /**
      * Method to return the number of comparisons after calling one of the implementations of quicksort.
      * @return the number of comparisons used in a run of quicksort
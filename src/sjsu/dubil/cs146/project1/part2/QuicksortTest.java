@@ -150,6 +150,275 @@ public class QuicksortTest {
         assertEquals(34, QS.getComparisonCount());
     }
 
+    /**
+     * Make sure select leaves the k-th smallest element at start + k, since the quicksorts use it there as the pivot.
+     */
+    @Test
+    public void testSelectLeavesElementInPlace() {
+        int[] testArray = new int[200];
+        for (int i = 0; i < testArray.length; i++) {
+            testArray[i] = (int) (Math.random() * 50);
+        }
+        int[] correctArray = Arrays.copyOf(testArray, testArray.length);
+        Arrays.sort(correctArray, 20, 180);
+
+        int selected = QS.select(testArray, 20, 179, 70);
+        assertEquals(correctArray[90], selected);
+        assertEquals(correctArray[90], testArray[90]);
+    }
+
+    /**
+     * Make sure both implementations sort correctly with the three-way and dual-pivot partitioning, on small and
+     * large arrays with and without many duplicates.
+     */
+    @Test
+    public void testOtherPartitionings() {
+        int[] lengths = {0, 1, 2, 3, 7, 10, 100, 1000};
+        int[] ranges = {2, 10, 1000000};
+        for (Quicksort.Partitioning partitioning : Quicksort.Partitioning.values()) {
+            Quicksort sorter = new Quicksort(partitioning);
+            for (int length : lengths) {
+                for (int range : ranges) {
+                    int[] testArray1 = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        testArray1[i] = (int) (Math.random() * range);
+                    }
+                    int[] testArray2 = Arrays.copyOf(testArray1, length);
+                    int[] correctArray = Arrays.copyOf(testArray1, length);
+                    Arrays.sort(correctArray);
+
+                    assertArrayEquals(partitioning + " QS1", correctArray, sorter.quickSort1(testArray1, 0, length - 1));
+                    assertArrayEquals(partitioning + " QS2", correctArray, sorter.quickSort2(testArray2, 0, length - 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Make sure the three-way and dual-pivot partitioning take a linear number of comparisons on an array where every
+     * element is equal, which takes Lomuto's partitioning n^2 / 2.
+     */
+    @Test
+    public void testAllEqualComparisonCount() {
+        int[] testArray = new int[1000];
+        Arrays.fill(testArray, 7);
+
+        Quicksort threeWay = new Quicksort(Quicksort.Partitioning.THREE_WAY);
+        threeWay.quickSort1(testArray, 0, testArray.length - 1);
+        assertEquals(2000, threeWay.getComparisonCount());
+
+        // One comparison of the two pivots, then two for each of the other 998 elements
+        Quicksort dualPivot = new Quicksort(Quicksort.Partitioning.DUAL_PIVOT);
+        dualPivot.quickSort1(testArray, 0, testArray.length - 1);
+        assertEquals(1997, dualPivot.getComparisonCount());
+
+        QS.quickSort1(testArray, 0, testArray.length - 1);
+        assertEquals(999 * 1000 / 2, QS.getComparisonCount());
+    }
+
+    /**
+     * Make sure introsort sorts correctly with every partitioning and a range of insertion sort cutoffs, on small and
+     * large arrays with and without many duplicates.
+     */
+    @Test
+    public void testIntroSort() {
+        int[] lengths = {0, 1, 2, 3, 7, 10, 17, 100, 1000};
+        int[] ranges = {2, 10, 1000000};
+        int[] cutoffs = {1, 16, 64};
+        for (Quicksort.Partitioning partitioning : Quicksort.Partitioning.values()) {
+            for (int cutoff : cutoffs) {
+                Quicksort sorter = new Quicksort(partitioning, cutoff);
+                for (int length : lengths) {
+                    for (int range : ranges) {
+                        int[] testArray = new int[length];
+                        for (int i = 0; i < length; i++) {
+                            testArray[i] = (int) (Math.random() * range);
+                        }
+                        int[] correctArray = Arrays.copyOf(testArray, length);
+                        Arrays.sort(correctArray);
+
+                        assertArrayEquals(partitioning + " cutoff " + cutoff, correctArray,
+                                sorter.introSort(testArray, 0, length - 1));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Make sure introsort handles the sorted and reverse sorted arrays of a million elements that overflow the stack in
+     * QS1, in fewer than 2 n log2(n) comparisons.
+     */
+    @Test
+    public void testIntroSortSortedAndReversed() {
+        int n = 1 << 20;
+        int[] sorted = new int[n];
+        int[] reversed = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+            reversed[i] = n - i;
+        }
+        int[] correctArray = Arrays.copyOf(reversed, n);
+        Arrays.sort(correctArray);
+
+        for (Quicksort.Partitioning partitioning : Quicksort.Partitioning.values()) {
+            Quicksort sorter = new Quicksort(partitioning);
+            int[] testArray = Arrays.copyOf(sorted, n);
+            assertArrayEquals(sorted, sorter.introSort(testArray, 0, n - 1));
+            assertTrue(partitioning + " took " + sorter.getComparisonCount(), sorter.getComparisonCount() < 2L * n * 20);
+            sorter.resetComparisonCount();
+
+            testArray = Arrays.copyOf(reversed, n);
+            assertArrayEquals(correctArray, sorter.introSort(testArray, 0, n - 1));
+            assertTrue(partitioning + " took " + sorter.getComparisonCount(), sorter.getComparisonCount() < 2L * n * 20);
+        }
+    }
+
+    /**
+     * Make sure the heapsort that introsort falls back to sorts correctly, by starting it with no levels of
+     * partitioning allowed.
+     */
+    @Test
+    public void testIntroSortHeapsortFallback() {
+        for (int length : new int[] {2, 17, 100, 1001}) {
+            int[] testArray = new int[length];
+            for (int i = 0; i < length; i++) {
+                testArray[i] = (int) (Math.random() * 50);
+            }
+            int[] correctArray = Arrays.copyOf(testArray, length);
+            Arrays.sort(correctArray, 1, length);
+
+            QS.introSort(testArray, 1, length - 1, 0);
+            assertArrayEquals(correctArray, testArray);
+        }
+    }
+
+    /**
+     * Make sure an insertion sort cutoff below 1 is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCutoff() {
+        new Quicksort(Quicksort.Partitioning.LOMUTO, 0);
+    }
+
+    /**
+     * Helper method for the tests, checks that an element is where it would be if the area were sorted, with no larger
+     * elements before it and no smaller ones after it.
+     * @param correctArray a sorted copy of the array
+     * @param array the array after the selection
+     * @param start the index marking the start of the area of the selection
+     * @param end the index marking the end of the area of the selection
+     * @param index the index of the selected element
+     */
+    private void assertSelected(int[] correctArray, int[] array, int start, int end, int index) {
+        assertEquals(correctArray[index], array[index]);
+        for (int i = start; i < index; i++) {
+            assertTrue(array[i] <= array[index]);
+        }
+        for (int i = index + 1; i <= end; i++) {
+            assertTrue(array[i] >= array[index]);
+        }
+    }
+
+    /**
+     * Make sure introselect and Floyd-Rivest leave the k-th smallest element at start + k, for arrays short and long
+     * enough to use the sample, with and without many duplicates.
+     */
+    @Test
+    public void testSelectIndex() {
+        int[] lengths = {1, 2, 10, 100, 5000};
+        int[] ranges = {2, 100, 1000000};
+        for (int length : lengths) {
+            for (int range : ranges) {
+                int[] testArray = new int[length + 20];
+                for (int i = 0; i < testArray.length; i++) {
+                    testArray[i] = (int) (Math.random() * range);
+                }
+                int[] correctArray = Arrays.copyOf(testArray, testArray.length);
+                Arrays.sort(correctArray, 10, length + 10);
+
+                for (int k : new int[] {0, length / 10, length / 2, length - 1}) {
+                    int[] introArray = Arrays.copyOf(testArray, testArray.length);
+                    assertEquals(10 + k, QS.selectIndex(introArray, 10, length + 9, k));
+                    assertSelected(correctArray, introArray, 10, length + 9, 10 + k);
+
+                    int[] floydRivestArray = Arrays.copyOf(testArray, testArray.length);
+                    assertEquals(10 + k, QS.selectIndexFloydRivest(floydRivestArray, 10, length + 9, k));
+                    assertSelected(correctArray, floydRivestArray, 10, length + 9, 10 + k);
+                }
+            }
+        }
+    }
+
+    /**
+     * Make sure Floyd-Rivest finds the median of distinct elements in about 1.5 n comparisons, and introselect in a
+     * linear number of them.
+     */
+    @Test
+    public void testSelectComparisonCount() {
+        int n = 100000;
+        int[] testArray = new int[n];
+        for (int i = 0; i < n; i++) {
+            testArray[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) { // Shuffle
+            int j = (int) (Math.random() * (i + 1));
+            int temp = testArray[i];
+            testArray[i] = testArray[j];
+            testArray[j] = temp;
+        }
+
+        QS.selectIndexFloydRivest(Arrays.copyOf(testArray, n), 0, n - 1, n / 2);
+        long floydRivest = QS.getComparisonCount();
+        assertTrue("Floyd-Rivest took " + floydRivest, floydRivest < 2L * n);
+        QS.resetComparisonCount();
+
+        QS.selectIndex(Arrays.copyOf(testArray, n), 0, n - 1, n / 2);
+        assertTrue("Introselect took " + QS.getComparisonCount(), QS.getComparisonCount() < 6L * n);
+    }
+
+    /**
+     * Make sure several order statistics found at once are all in place, in whatever order they are asked for.
+     */
+    @Test
+    public void testSelectIndices() {
+        int[] testArray = new int[10000];
+        for (int i = 0; i < testArray.length; i++) {
+            testArray[i] = (int) (Math.random() * 3000);
+        }
+        int[] correctArray = Arrays.copyOf(testArray, testArray.length);
+        Arrays.sort(correctArray);
+
+        int[] ks = {9990, 0, 5000, 9000, 5000, 9999, 1};
+        int[] indices = QS.selectIndices(testArray, 0, testArray.length - 1, ks);
+        for (int i = 0; i < ks.length; i++) {
+            assertEquals(ks[i], indices[i]);
+            assertSelected(correctArray, testArray, 0, testArray.length - 1, indices[i]);
+        }
+    }
+
+    /**
+     * Make sure the percentiles of 1 to 1000 are found with the nearest-rank definition.
+     */
+    @Test
+    public void testSelectQuantiles() {
+        int[] testArray = new int[1000];
+        for (int i = 0; i < testArray.length; i++) {
+            testArray[i] = testArray.length - i;
+        }
+
+        int[] percentiles = QS.selectQuantiles(testArray, 0, testArray.length - 1, 0.5, 0.9, 0.99, 0.999, 0.0, 1.0);
+        assertArrayEquals(new int[] {500, 900, 990, 999, 1, 1000}, percentiles);
+    }
+
+    /**
+     * Make sure an order outside of the area is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidOrder() {
+        QS.selectIndex(new int[10], 0, 9, 10);
+    }
+
     /**
      * Test to measure the timing for randomly-filled large arrays with the first implementation of quicksort, which
      * uses the last element of the array as a pivot for partitioning.
@@ -0,0 +1,209 @@
+package sjsu.dubil.cs146.project1.part2;
+
+/**
+ * Class that implements two radix sorts for int arrays, which never compare two elements and so take no log n factor.
+ * The LSD sort makes a stable counting pass for each 11-bit digit from the lowest one, moving the elements back and
+ * forth between the array and a scratch buffer that is kept for the next sort. The MSD sort is American flag sort,
+ * which needs no buffer: the elements are permuted into their buckets for the top 8-bit digit in place, then every
+ * bucket is sorted on the next digit. Both sort on the distance of each element from the smallest one, read as an
+ * unsigned number, which orders negative numbers before positive ones and leaves no more digits than the range of the
+ * elements needs.
+ */
+public class RadixSort {
+    private static final int LSD_BITS = 11; // three passes cover 32 bits
+    private static final int LSD_RADIX = 1 << LSD_BITS;
+    private static final int MSD_BITS = 8;
+    private static final int MSD_RADIX = 1 << MSD_BITS;
+    private static final int INSERTION_CUTOFF = 64; // buckets this small are finished with insertion sort by MSD
+
+    private int[] scratch = new int[0]; // grown to the longest area sorted so far
+
+    /**
+     * LSD radix sort. The keys are the distances of the elements from the smallest one, which keeps the order of
+     * negative and positive numbers alike, and only as many passes are made as there are 11-bit digits in the largest
+     * key. A pass is also skipped when every key has the same digit in its position.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the sorted array
+     */
+    public int[] lsdSort(int[] array, int start, int end) {
+        int n = end - start + 1;
+        if (n < 2) {
+            return array;
+        }
+        int min = min(array, start, end);
+        int bits = keyBits(array, start, end, min);
+        if (bits == 0) { // Every element is equal
+            return array;
+        }
+        if (this.scratch.length < n) {
+            this.scratch = new int[n];
+        }
+
+        // One pass counts the digits of every position, so the passes with a single digit can be skipped
+        int passes = (bits + LSD_BITS - 1) / LSD_BITS;
+        int[][] counts = new int[passes][LSD_RADIX];
+        for (int i = start; i <= end; i++) {
+            int key = array[i] - min;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(key >>> (pass * LSD_BITS)) & (LSD_RADIX - 1)]++;
+            }
+        }
+
+        int[] source = array;
+        int sourceOffset = start;
+        int[] target = this.scratch;
+        int targetOffset = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * LSD_BITS;
+            int[] count = counts[pass];
+            if (count[((array[start] - min) >>> shift) & (LSD_RADIX - 1)] == n) { // Nothing would move
+                continue;
+            }
+
+            int position = targetOffset; // Turn the counts into the index each bucket starts at
+            for (int d = 0; d < LSD_RADIX; d++) {
+                int bucketSize = count[d];
+                count[d] = position;
+                position += bucketSize;
+            }
+            for (int i = sourceOffset; i < sourceOffset + n; i++) {
+                int value = source[i];
+                target[count[((value - min) >>> shift) & (LSD_RADIX - 1)]++] = value;
+            }
+
+            int[] temp = source; // The target holds the elements now, so it is read by the next pass
+            source = target;
+            target = temp;
+            int tempOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tempOffset;
+        }
+
+        if (source != array) { // An odd number of passes left the elements in the scratch buffer
+            System.arraycopy(source, sourceOffset, array, start, n);
+        }
+        return array;
+    }
+
+    /**
+     * MSD radix sort in place, using American flag sort on each digit from the top.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the sorted array
+     */
+    public int[] msdSort(int[] array, int start, int end) {
+        if (start < end) {
+            int min = min(array, start, end);
+            int bits = keyBits(array, start, end, min);
+            if (bits > 0) { // Start from the highest digit that is not zero in every key
+                this.msdSort(array, start, end, min, Math.max(0, bits - MSD_BITS));
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Recursive part of the MSD sort, which sorts an area on one digit and then each bucket on the digits below it.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     * @param min the smallest element of the whole area being sorted, which the keys are measured from
+     * @param shift the position of the lowest bit of the digit
+     */
+    private void msdSort(int[] array, int start, int end, int min, int shift) {
+        if (end - start + 1 <= INSERTION_CUTOFF) {
+            insertionSort(array, start, end);
+            return;
+        }
+
+        int[] count = new int[MSD_RADIX];
+        for (int i = start; i <= end; i++) {
+            count[digit(array[i], min, shift)]++;
+        }
+        int[] next = new int[MSD_RADIX]; // Index of the next element of each bucket still to be put in place
+        int[] bucketEnd = new int[MSD_RADIX];
+        int position = start;
+        for (int d = 0; d < MSD_RADIX; d++) {
+            next[d] = position;
+            position += count[d];
+            bucketEnd[d] = position;
+        }
+
+        // Move every element to its bucket, following each cycle of displaced elements until it closes
+        for (int d = 0; d < MSD_RADIX; d++) {
+            while (next[d] < bucketEnd[d]) {
+                int value = array[next[d]];
+                int valueDigit = digit(value, min, shift);
+                while (valueDigit != d) { // Swap the element into its bucket and carry on with the one it displaces
+                    int temp = array[next[valueDigit]];
+                    array[next[valueDigit]++] = value;
+                    value = temp;
+                    valueDigit = digit(value, min, shift);
+                }
+                array[next[d]++] = value;
+            }
+        }
+
+        if (shift > 0) {
+            int bucketStart = start;
+            for (int d = 0; d < MSD_RADIX; d++) {
+                if (bucketEnd[d] - bucketStart > 1) {
+                    this.msdSort(array, bucketStart, bucketEnd[d] - 1, min, Math.max(0, shift - MSD_BITS));
+                }
+                bucketStart = bucketEnd[d];
+            }
+        }
+    }
+
+    /**
+     * @return the 8-bit digit at the given position of the key of a value, its distance from the smallest element
+     */
+    private static int digit(int value, int min, int shift) {
+        return ((value - min) >>> shift) & (MSD_RADIX - 1);
+    }
+
+    /**
+     * @return the smallest element of an area
+     */
+    private static int min(int[] array, int start, int end) {
+        int min = array[start];
+        for (int i = start + 1; i <= end; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Finds the number of bits in the largest key. The keys are the differences from the smallest element, which are
+     * less than 2^32 and fit in an int when read as unsigned numbers.
+     * @return the number of bits in the largest key, 0 if every element is equal
+     */
+    private static int keyBits(int[] array, int start, int end, int min) {
+        int max = array[start];
+        for (int i = start + 1; i <= end; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return Integer.SIZE - Integer.numberOfLeadingZeros(max - min);
+    }
+
+    /**
+     * Insertion sort, used for the buckets too small to be worth another digit.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     */
+    static void insertionSort(int[] array, int start, int end) {
+        for (int i = start + 1; i <= end; i++) {
+            int value = array[i];
+            int j = i - 1;
+            while (j >= start && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+}
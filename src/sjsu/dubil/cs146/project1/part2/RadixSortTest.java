@@ -0,0 +1,150 @@
+package sjsu.dubil.cs146.project1.part2;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Class to handle testing of the two radix sorts and the dispatcher that chooses between them and the comparison
+ * sorts.
+ */
+public class RadixSortTest {
+    private RadixSort radixSort;
+
+    @Before
+    public void before() throws Exception {
+        radixSort = new RadixSort();
+    }
+
+    /**
+     * Helper method for the tests, creates an array filled with random numbers.
+     * @param n the length of the array to be generated
+     * @param low the smallest number that can be generated
+     * @param high the largest number that can be generated
+     * @return an array of length n filled with random numbers from low to high
+     */
+    private int[] generateRandomNLengthArray(int n, int low, int high) {
+        int[] array = new int[n];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (int) (low + (long) (Math.random() * ((long) high - low + 1)));
+        }
+        return array;
+    }
+
+    /**
+     * Helper method for the tests, fills an array with the same random numbers every time it is given the same seed.
+     * @param array the array to be filled
+     * @param seed the seed of the random numbers
+     * @param range the number of different values, from 0 to range - 1
+     */
+    private void fillRandom(int[] array, long seed, int range) {
+        Random random = new Random(seed);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(range);
+        }
+    }
+
+    /**
+     * Make sure both radix sorts sort areas of arrays of every length and range, including negative numbers and both
+     * ends of the int range, without touching the rest of the array.
+     */
+    @Test
+    public void testRadixSorts() {
+        int[] lengths = {0, 1, 2, 50, 65, 1000, 100000};
+        int[][] ranges = {{0, 0}, {0, 1}, {-5, 5}, {0, 2047}, {0, 2048}, {-1000000, 1000000},
+                {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        for (int length : lengths) {
+            for (int[] range : ranges) {
+                int[] testArray = this.generateRandomNLengthArray(length + 6, range[0], range[1]);
+                testArray[0] = Integer.MIN_VALUE; // Outside of the area sorted, so must stay where it is
+                testArray[length + 5] = Integer.MIN_VALUE;
+                int[] correctArray = Arrays.copyOf(testArray, testArray.length);
+                Arrays.sort(correctArray, 3, length + 3);
+
+                String message = length + " elements from " + range[0] + " to " + range[1];
+                int[] lsdArray = Arrays.copyOf(testArray, testArray.length);
+                assertArrayEquals("LSD " + message, correctArray, radixSort.lsdSort(lsdArray, 3, length + 2));
+                int[] msdArray = Arrays.copyOf(testArray, testArray.length);
+                assertArrayEquals("MSD " + message, correctArray, radixSort.msdSort(msdArray, 3, length + 2));
+            }
+        }
+    }
+
+    /**
+     * Make sure arrays holding the extreme values together, whose range needs all 32 bits, are sorted.
+     */
+    @Test
+    public void testExtremeValues() {
+        int[] testArray = {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1, Integer.MAX_VALUE, Integer.MIN_VALUE + 1};
+        int[] correctArray = Arrays.copyOf(testArray, testArray.length);
+        Arrays.sort(correctArray);
+
+        assertArrayEquals(correctArray, radixSort.lsdSort(Arrays.copyOf(testArray, testArray.length), 0, 6));
+        assertArrayEquals(correctArray, radixSort.msdSort(Arrays.copyOf(testArray, testArray.length), 0, 6));
+    }
+
+    /**
+     * Make sure the dispatcher uses insertion sort for tiny areas, introsort for short ones with a wide range, and radix
+     * sort for long ones, and sorts correctly with each.
+     */
+    @Test
+    public void testDispatcher() {
+        SortDispatcher dispatcher = new SortDispatcher();
+        SortDispatcher inPlaceDispatcher = new SortDispatcher(true);
+
+        int[] tiny = this.generateRandomNLengthArray(20, -100, 100);
+        int[] shortWide = this.generateRandomNLengthArray(1000, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int[] shortNarrow = this.generateRandomNLengthArray(1000, 0, 255);
+        int[] longWide = this.generateRandomNLengthArray(1000000, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(SortDispatcher.Algorithm.INSERTION, dispatcher.choose(tiny, 0, tiny.length - 1));
+        assertEquals(SortDispatcher.Algorithm.QUICKSORT, dispatcher.choose(shortWide, 0, shortWide.length - 1));
+        assertEquals(SortDispatcher.Algorithm.LSD_RADIX, dispatcher.choose(shortNarrow, 0, shortNarrow.length - 1));
+        assertEquals(SortDispatcher.Algorithm.LSD_RADIX, dispatcher.choose(longWide, 0, longWide.length - 1));
+        assertEquals(SortDispatcher.Algorithm.MSD_RADIX, inPlaceDispatcher.choose(longWide, 0, longWide.length - 1));
+
+        for (int[] testArray : new int[][] {tiny, shortWide, shortNarrow, longWide}) {
+            int[] correctArray = Arrays.copyOf(testArray, testArray.length);
+            Arrays.sort(correctArray);
+            int[] inPlaceArray = Arrays.copyOf(testArray, testArray.length);
+
+            assertArrayEquals(correctArray, dispatcher.sort(testArray, 0, testArray.length - 1));
+            assertArrayEquals(correctArray, inPlaceDispatcher.sort(inPlaceArray, 0, inPlaceArray.length - 1));
+        }
+    }
+
+    /**
+     * Test to measure the timing of the radix sorts against the first implementation of quicksort, on the same kind
+     * of arrays as the quicksort timing tests. Each sort gets the same array, refilled from the same seed, so only one
+     * copy is held at a time next to the scratch buffer of the LSD sort.
+     */
+    @Test
+    public void testRadixSortTiming() {
+        for (int n : new int[] {10000000, 100000000}) {
+            long seed = System.nanoTime();
+            int[] array = new int[n];
+
+            this.fillRandom(array, seed, n / 10);
+            long begin = System.currentTimeMillis();
+            new Quicksort().quickSort1(array, 0, n - 1);
+            long end = System.currentTimeMillis();
+            System.out.println("Time (in ms) for QS1 to sort an array with " + n + " elements: " + (end - begin));
+
+            this.fillRandom(array, seed, n / 10);
+            begin = System.currentTimeMillis();
+            radixSort.lsdSort(array, 0, n - 1);
+            end = System.currentTimeMillis();
+            System.out.println("Time (in ms) for LSD radix sort to sort an array with " + n + " elements: "
+                    + (end - begin));
+
+            this.fillRandom(array, seed, n / 10);
+            begin = System.currentTimeMillis();
+            radixSort.msdSort(array, 0, n - 1);
+            end = System.currentTimeMillis();
+            System.out.println("Time (in ms) for MSD radix sort to sort an array with " + n + " elements: "
+                    + (end - begin));
+        }
+    }
+}
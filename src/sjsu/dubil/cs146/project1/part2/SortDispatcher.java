@@ -0,0 +1,96 @@
+package sjsu.dubil.cs146.project1.part2;
+
+/**
+ * Class that sorts int arrays with whichever algorithm suits them: insertion sort for a handful of elements, introsort
+ * for short arrays, and radix sort for long ones. The choice between introsort and radix sort is made from a sample of
+ * the keys, whose range gives the number of digits radix sort would need.
+ */
+public class SortDispatcher {
+    /**
+     * The algorithms an area can be sorted with.
+     */
+    public enum Algorithm {
+        INSERTION,
+        QUICKSORT,
+        LSD_RADIX,
+        MSD_RADIX
+    }
+
+    private static final int INSERTION_CUTOFF = 32;
+    private static final int SAMPLE_SIZE = 64;
+    private static final int RADIX_BITS = 11; // bits of a digit of the LSD sort
+    private static final int PASS_COST = 1 << RADIX_BITS; // work of one pass over the buckets, besides the elements
+
+    private final boolean inPlace;
+    private final RadixSort radixSort = new RadixSort();
+    private final Quicksort quicksort = new Quicksort(Quicksort.Partitioning.THREE_WAY);
+
+    /**
+     * Creates a dispatcher that uses LSD radix sort, which takes a scratch buffer as long as the array.
+     */
+    public SortDispatcher() {
+        this(false);
+    }
+
+    /**
+     * Creates a dispatcher.
+     * @param inPlace true to use the in-place MSD radix sort instead of LSD, for when there is no memory for a buffer
+     */
+    public SortDispatcher(boolean inPlace) {
+        this.inPlace = inPlace;
+    }
+
+    /**
+     * Chooses the algorithm for an area. Radix sort takes a pass of about 2n + 2^11 steps per 11-bit digit in the
+     * range of the sampled keys, and introsort about n log2(n) steps, so radix sort is chosen when its passes cost less.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array
+     * @param end the index signifying the end of the area in the array
+     * @return the algorithm the area would be sorted with
+     */
+    public Algorithm choose(int[] array, int start, int end) {
+        int n = end - start + 1;
+        if (n <= INSERTION_CUTOFF) {
+            return Algorithm.INSERTION;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long step = Math.max(1, n / SAMPLE_SIZE);
+        for (long i = start; i <= end; i += step) { // Evenly spread, so sorted input is sampled end to end
+            min = Math.min(min, array[(int) i]);
+            max = Math.max(max, array[(int) i]);
+        }
+        long range = (long) max - min;
+        int bits = 64 - Long.numberOfLeadingZeros(range); // Low bits that differ between the sampled keys
+        int passes = Math.max(1, (bits + RADIX_BITS - 1) / RADIX_BITS);
+
+        long radixCost = passes * (2L * n + PASS_COST);
+        long quicksortCost = (long) n * (31 - Integer.numberOfLeadingZeros(n));
+        if (radixCost >= quicksortCost) {
+            return Algorithm.QUICKSORT;
+        }
+        return this.inPlace ? Algorithm.MSD_RADIX : Algorithm.LSD_RADIX;
+    }
+
+    /**
+     * Sorts an area with the algorithm {@link #choose} picks for it.
+     * @param array the array to be sorted
+     * @param start the index signifying the start of the area in the array, should be 0 for whole array
+     * @param end the index signifying the end of the area in the array, should be length - 1 for whole array
+     * @return the sorted array
+     */
+    public int[] sort(int[] array, int start, int end) {
+        switch (this.choose(array, start, end)) {
+            case INSERTION:
+                RadixSort.insertionSort(array, start, end);
+                return array;
+            case QUICKSORT:
+                return this.quicksort.introSort(array, start, end);
+            case MSD_RADIX:
+                return this.radixSort.msdSort(array, start, end);
+            default:
+                return this.radixSort.lsdSort(array, start, end);
+        }
+    }
+}